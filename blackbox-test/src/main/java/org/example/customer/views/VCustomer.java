@@ -7,6 +7,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Json
+@Json.View("id, name, billingAddress(street), contacts(id, lastName)")
+@Json.View("(id, name, whenCreated)")
 public class VCustomer {
 
   Integer id;
@@ -0,0 +1,56 @@
+package org.example;
+
+import io.avaje.jsonb.Jsonb;
+import org.example.customer.Address;
+import org.example.customer.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrewarmTest {
+
+  @Test
+  void prewarm_types() {
+    Jsonb jsonb = Jsonb.builder()
+      .prewarmExecutor(Runnable::run)
+      .prewarm(Customer.class)
+      .build();
+
+    assertThat(jsonb.adapterClassNames()).contains(Customer.class.getName());
+    assertThat(jsonb.adapterClassNames()).doesNotContain(Address.class.getName());
+  }
+
+  @Test
+  void prewarm_recordedClassNames() {
+    Jsonb training = Jsonb.builder().serializeNulls(true).build();
+    training.type(Address.class).toJson(new Address());
+    List<String> recorded = training.adapterClassNames();
+    assertThat(recorded).contains(Address.class.getName());
+
+    Jsonb jsonb = Jsonb.builder()
+      .prewarmExecutor(Runnable::run)
+      .prewarm(recorded)
+      .prewarm(List.of("org.example.DoesNotExist"))
+      .build();
+
+    assertThat(jsonb.adapterClassNames()).containsAll(recorded);
+  }
+
+  @Test
+  void prewarmAll() {
+    AtomicInteger tasks = new AtomicInteger();
+    Jsonb jsonb = Jsonb.builder()
+      .prewarmExecutor(task -> {
+        tasks.incrementAndGet();
+        task.run();
+      })
+      .prewarmAll()
+      .build();
+
+    assertThat(tasks.get()).isGreaterThan(50);
+    assertThat(jsonb.adapterClassNames()).contains(Customer.class.getName(), Address.class.getName());
+  }
+}
@@ -0,0 +1,61 @@
+package org.example.customer;
+
+import io.avaje.json.stream.JsonStream;
+import io.avaje.jsonb.JsonType;
+import io.avaje.jsonb.Jsonb;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CborTest {
+
+  Jsonb jsonb = Jsonb.builder().adapter(JsonStream.builder().cbor(true).build()).build();
+
+  @Test
+  void customer_roundTrip() {
+    var customer = new Customer().id(42L).name("rob").status(Customer.Status.ACTIVE).whenCreated(Instant.now());
+    customer.contacts().add(new Contact(UUID.randomUUID(), "fo", "nar"));
+    customer.contacts().add(new Contact(UUID.randomUUID(), "ba", "zar"));
+
+    JsonType<Customer> type = jsonb.type(Customer.class);
+    byte[] content = type.toJsonBytes(customer);
+    assertThat(content.length).isLessThan(Jsonb.instance().toJsonBytes(customer).length);
+
+    Customer fromBytes = type.fromJson(content);
+    assertThat(fromBytes.id()).isEqualTo(42L);
+    assertThat(fromBytes.name()).isEqualTo("rob");
+    assertThat(fromBytes.status()).isEqualTo(Customer.Status.ACTIVE);
+    assertThat(fromBytes.whenCreated()).isEqualTo(customer.whenCreated());
+    assertThat(fromBytes.contacts()).isEqualTo(customer.contacts());
+
+    Customer fromStream = type.fromJson(new ByteArrayInputStream(content));
+    assertThat(fromStream.contacts()).isEqualTo(customer.contacts());
+  }
+
+  @Test
+  void binary_notBase64() {
+    byte[] bytes = new byte[100];
+    JsonType<SomeBinary> type = jsonb.type(SomeBinary.class);
+
+    byte[] content = type.toJsonBytes(new SomeBinary(12, bytes));
+    assertThat(content.length).isLessThan(120);
+    assertThat(type.fromJson(content).content()).isEqualTo(bytes);
+  }
+
+  @Test
+  void list_stream() {
+    JsonType<Customer> type = jsonb.type(Customer.class);
+    var customers = List.of(new Customer().id(1L).name("a"), new Customer().id(2L).name("b"));
+
+    byte[] content = type.list().toJsonBytes(customers);
+    assertThat(type.list().fromJson(content)).hasSize(2);
+    try (var stream = type.stream(jsonb.reader(content))) {
+      assertThat(stream.map(Customer::name).toList()).containsExactly("a", "b");
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package org.example.customer.views;
 
+import io.avaje.json.JsonAdapter;
+import io.avaje.json.JsonReader;
 import io.avaje.jsonb.JsonView;
 import io.avaje.jsonb.Jsonb;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -22,13 +25,36 @@ class ViewTest {
     assertThat(v0).isSameAs(v1);
   }
 
+  @Test
+  void jsonView_sameInstance_normalisedDsl() {
+    JsonView<VCustomer> v0 = jsonb.type(VCustomer.class).view("(id, name)");
+    JsonView<VCustomer> v1 = jsonb.type(VCustomer.class).view("id,name  ");
+    assertThat(v0).isSameAs(v1);
+  }
+
   @Test
   void jsonView_differentInstance_byDsl() {
     JsonView<VCustomer> v0 = jsonb.type(VCustomer.class).view("(id, name)");
-    JsonView<VCustomer> v1 = jsonb.type(VCustomer.class).view("(id, name  )");
+    JsonView<VCustomer> v1 = jsonb.type(VCustomer.class).view("(name, id)");
     assertThat(v0).isNotSameAs(v1);
   }
 
+  @Test
+  void viewCache_bounded() {
+    Jsonb small = Jsonb.builder().viewCacheSize(2).build();
+    small.type(VCustomer.class).view("(id)");
+    small.type(VCustomer.class).view("(name)");
+    small.type(VCustomer.class).view("(whenCreated)");
+    small.type(VCustomer.class).view("(whenCreated)");
+
+    Jsonb.ViewCacheStats stats = small.viewCacheStats();
+    assertThat(stats.maxSize()).isEqualTo(2);
+    assertThat(stats.size()).isEqualTo(2);
+    assertThat(stats.missCount()).isEqualTo(3);
+    assertThat(stats.hitCount()).isEqualTo(1);
+    assertThat(stats.evictionCount()).isEqualTo(1);
+  }
+
   @Test
   void jsonView_differentInstance_byType() {
     JsonView<?> v0 = jsonb.type(VCustomer.class).view("(id, name)");
@@ -68,4 +94,92 @@ class ViewTest {
     String asJson = customerJsonView.toJson(customers);
     assertThat(asJson).isEqualTo("[{\"id\":42,\"name\":\"rob\",\"contacts\":[{\"id\":7,\"firstName\":\"fo\",\"lastName\":\"nar\"},{\"id\":8,\"firstName\":\"ba\",\"lastName\":\"zar\"}]},{\"id\":43,\"name\":\"bob\"}]");
   }
+
+  @Test
+  void jsonView_generated() {
+    var adapter = new VCustomerJsonAdapter(jsonb);
+    assertThat(adapter.viewAdapter("id,name,billingAddress(street),contacts(id,lastName)")).isNotNull();
+    assertThat(adapter.viewAdapter("id,name,whenCreated")).isNotNull();
+    assertThat(adapter.viewAdapter("id,name")).isNull();
+
+    // reading delegates to the adapter of the type
+    @SuppressWarnings("unchecked")
+    var viewAdapter = (JsonAdapter<VCustomer>) adapter.viewAdapter("id,name,whenCreated");
+    try (JsonReader reader = jsonb.reader("{\"id\":42,\"name\":\"rob\",\"billingAddress\":{\"street\":\"s\"}}")) {
+      VCustomer read = viewAdapter.fromJson(reader);
+      assertThat(read.name()).isEqualTo("rob");
+      assertThat(read.billingAddress().street()).isEqualTo("s");
+    }
+
+    JsonView<VCustomer> customerJsonView = jsonb.type(VCustomer.class).view("id, name, billingAddress(street), contacts(id, lastName)");
+
+    VAddress billingAddress = new VAddress().street("my street").suburb("my suburb");
+    VCustomer customer = new VCustomer().id(42).name("rob").whenCreated(Instant.now()).billingAddress(billingAddress);
+    customer.contacts().add(new VContact(7L, "fo", "nar"));
+    customer.contacts().add(new VContact(8L, "ba", "zar"));
+
+    String asJson = customerJsonView.toJson(customer);
+    assertThat(asJson).isEqualTo("{\"id\":42,\"name\":\"rob\",\"billingAddress\":{\"street\":\"my street\"},\"contacts\":[{\"id\":7,\"lastName\":\"nar\"},{\"id\":8,\"lastName\":\"zar\"}]}");
+
+    VCustomer noAddress = new VCustomer().id(43).name("bob");
+    assertThat(customerJsonView.toJson(noAddress)).isEqualTo("{\"id\":43,\"name\":\"bob\"}");
+  }
+
+  @Test
+  void jsonView_generated_scalarsOnly() {
+    JsonView<VCustomer> view = jsonb.type(VCustomer.class).view("(id, name, whenCreated)");
+    VCustomer customer = new VCustomer().id(42).name("rob").whenCreated(Instant.parse("2024-01-02T03:04:05Z"));
+    assertThat(view.toJson(customer)).isEqualTo("{\"id\":42,\"name\":\"rob\",\"whenCreated\":\"2024-01-02T03:04:05Z\"}");
+  }
+
+  @Test
+  void fromJson_skipsPropertiesOutsideView() {
+    JsonView<VCustomer> view = jsonb.type(VCustomer.class).view("(id, billingAddress(street), contacts(lastName))");
+
+    String json = "{\"id\":42,\"name\":\"rob\",\"whenCreated\":\"2024-01-02T03:04:05Z\"," +
+      "\"billingAddress\":{\"street\":\"my street\",\"suburb\":\"my suburb\",\"extra\":{\"a\":[1,2]}}," +
+      "\"contacts\":[{\"id\":7,\"firstName\":\"fo\",\"lastName\":\"nar\"},{\"id\":8,\"lastName\":\"zar\"}]}";
+
+    VCustomer customer = view.fromJson(json);
+    assertThat(customer.id()).isEqualTo(42);
+    assertThat(customer.name()).isNull();
+    assertThat(customer.whenCreated()).isNull();
+    assertThat(customer.billingAddress().street()).isEqualTo("my street");
+    assertThat(customer.billingAddress().suburb()).isNull();
+    assertThat(customer.contacts()).hasSize(2);
+    assertThat(customer.contacts().get(0).id()).isNull();
+    assertThat(customer.contacts().get(0).firstName()).isNull();
+    assertThat(customer.contacts().get(0).lastName()).isEqualTo("nar");
+    assertThat(customer.contacts().get(1).lastName()).isEqualTo("zar");
+
+    VCustomer fromBytes = view.fromJson(json.getBytes(StandardCharsets.UTF_8));
+    assertThat(fromBytes.billingAddress().street()).isEqualTo("my street");
+    assertThat(fromBytes.name()).isNull();
+  }
+
+  @Test
+  void fromJson_generatedView_wildcardNested() {
+    JsonView<VCustomer> generated = jsonb.type(VCustomer.class).view("(id, name, whenCreated)");
+    VCustomer customer = generated.fromJson("{\"id\":42,\"billingAddress\":{\"street\":\"s\"},\"name\":\"rob\"}");
+    assertThat(customer.id()).isEqualTo(42);
+    assertThat(customer.name()).isEqualTo("rob");
+    assertThat(customer.billingAddress()).isNull();
+
+    JsonView<VCustomer> all = jsonb.type(VCustomer.class).view("(name, billingAddress(*))");
+    VCustomer other = all.fromJson("{\"id\":42,\"billingAddress\":{\"street\":\"s\",\"city\":\"c\"},\"name\":\"rob\"}");
+    assertThat(other.id()).isNull();
+    assertThat(other.billingAddress().street()).isEqualTo("s");
+    assertThat(other.billingAddress().city()).isEqualTo("c");
+  }
+
+  @Test
+  void fromJson_list() {
+    JsonView<List<VCustomer>> view = jsonb.type(VCustomer.class).list().view("(id, contacts(id))");
+    List<VCustomer> customers = view.fromJson("[{\"id\":1,\"name\":\"a\",\"contacts\":[{\"id\":7,\"lastName\":\"x\"}]},{\"id\":2,\"name\":\"b\"}]");
+    assertThat(customers).hasSize(2);
+    assertThat(customers.get(0).name()).isNull();
+    assertThat(customers.get(0).contacts().get(0).id()).isEqualTo(7L);
+    assertThat(customers.get(0).contacts().get(0).lastName()).isNull();
+    assertThat(customers.get(1).id()).isEqualTo(2);
+  }
 }
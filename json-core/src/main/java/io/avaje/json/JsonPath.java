@@ -0,0 +1,349 @@
+package io.avaje.json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A pre-compiled path used to find values in json content.
+ * <p>
+ * The path is parsed once and can then be evaluated many times against a
+ * {@code Map<String,Object>} or a {@code JsonNode} without any further parsing
+ * or String allocation.
+ * <p>
+ * Supported syntax:
+ * <ul>
+ *   <li>{@code name} - a property of an object</li>
+ *   <li>{@code a.b.c} - nested properties using dot notation</li>
+ *   <li>{@code a[3]} - the element at the given index of an array</li>
+ *   <li>{@code a['b.c']} - a property with a name that contains a dot</li>
+ *   <li>{@code *} or {@code [*]} - wildcard matching all children of an object or array</li>
+ * </ul>
+ *
+ * <pre>{@code
+ *
+ *   static final JsonPath CITY = JsonPath.compile("customer.addresses[0].city");
+ *
+ *   Map<String, Object> map = jsonMapper.fromJsonObject(json);
+ *   Object city = CITY.find(map);
+ *
+ * }</pre>
+ */
+public final class JsonPath {
+
+  /**
+   * The index value used for a segment that is a property name.
+   */
+  private static final int NAME = -1;
+
+  /**
+   * The index value used for a wildcard segment.
+   */
+  private static final int WILDCARD = -2;
+
+  private final String path;
+  private final String[] names;
+  private final int[] indexes;
+  private final boolean wildcard;
+
+  private JsonPath(String path, String[] names, int[] indexes) {
+    this.path = path;
+    this.names = names;
+    this.indexes = indexes;
+    this.wildcard = Arrays.stream(indexes).anyMatch(i -> i == WILDCARD);
+  }
+
+  /**
+   * Compile the given path expression.
+   *
+   * @param path The path expression like {@code "a.b[3].c"}
+   * @return The compiled path
+   * @throws IllegalArgumentException When the path is not a valid path expression
+   */
+  public static JsonPath compile(String path) {
+    return new Parser(path).parse();
+  }
+
+  /**
+   * Return the number of segments in the path.
+   */
+  public int size() {
+    return indexes.length;
+  }
+
+  /**
+   * Return true if the path contains a wildcard segment and can match many values.
+   */
+  public boolean hasWildcard() {
+    return wildcard;
+  }
+
+  /**
+   * Return true if the segment at the given position is a property name.
+   */
+  public boolean isName(int segment) {
+    return indexes[segment] == NAME;
+  }
+
+  /**
+   * Return true if the segment at the given position is an array index.
+   */
+  public boolean isIndex(int segment) {
+    return indexes[segment] >= 0;
+  }
+
+  /**
+   * Return true if the segment at the given position is a wildcard.
+   */
+  public boolean isWildcard(int segment) {
+    return indexes[segment] == WILDCARD;
+  }
+
+  /**
+   * Return the property name of the segment at the given position (or null when not a name segment).
+   */
+  public String name(int segment) {
+    return names[segment];
+  }
+
+  /**
+   * Return the array index of the segment at the given position (or -1 when not an index segment).
+   */
+  public int index(int segment) {
+    final int index = indexes[segment];
+    return index >= 0 ? index : -1;
+  }
+
+  /**
+   * Return the first value matching this path from a tree of Map and List values
+   * (as returned by {@code JsonMapper.fromJsonObject()}).
+   *
+   * @param root The Map or List to search
+   * @return The matching value or null when there is no match
+   */
+  public Object find(Object root) {
+    return find(root, 0);
+  }
+
+  /**
+   * Return all the values matching this path from a tree of Map and List values.
+   * <p>
+   * This is typically used with paths that contain wildcards.
+   *
+   * @param root The Map or List to search
+   * @return All the matching values (not null)
+   */
+  public List<Object> findAll(Object root) {
+    if (!wildcard) {
+      final Object value = find(root, 0);
+      return value == null ? Collections.emptyList() : Collections.singletonList(value);
+    }
+    final var result = new ArrayList<>();
+    findAll(root, 0, result);
+    return result;
+  }
+
+  private Object find(Object node, int segment) {
+    final int last = indexes.length;
+    while (segment < last) {
+      if (node == null) {
+        return null;
+      }
+      final int index = indexes[segment];
+      if (index == NAME) {
+        node = node instanceof Map ? ((Map<?, ?>) node).get(names[segment]) : null;
+      } else if (index >= 0) {
+        node = elementAt(node, index);
+      } else {
+        for (Object child : children(node)) {
+          final Object match = find(child, segment + 1);
+          if (match != null) {
+            return match;
+          }
+        }
+        return null;
+      }
+      segment++;
+    }
+    return node;
+  }
+
+  private void findAll(Object node, int segment, List<Object> result) {
+    final int last = indexes.length;
+    while (segment < last) {
+      if (node == null) {
+        return;
+      }
+      final int index = indexes[segment];
+      if (index == NAME) {
+        node = node instanceof Map ? ((Map<?, ?>) node).get(names[segment]) : null;
+      } else if (index >= 0) {
+        node = elementAt(node, index);
+      } else {
+        for (Object child : children(node)) {
+          findAll(child, segment + 1, result);
+        }
+        return;
+      }
+      segment++;
+    }
+    if (node != null) {
+      result.add(node);
+    }
+  }
+
+  private static Object elementAt(Object node, int index) {
+    if (node instanceof List) {
+      final List<?> list = (List<?>) node;
+      return index < list.size() ? list.get(index) : null;
+    }
+    return null;
+  }
+
+  private static Collection<?> children(Object node) {
+    if (node instanceof Map) {
+      return ((Map<?, ?>) node).values();
+    }
+    if (node instanceof List) {
+      return (List<?>) node;
+    }
+    return Collections.emptyList();
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (this == object) return true;
+    if (!(object instanceof JsonPath)) return false;
+    final JsonPath that = (JsonPath) object;
+    return Arrays.equals(indexes, that.indexes) && Arrays.equals(names, that.names);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(names) + Arrays.hashCode(indexes);
+  }
+
+  @Override
+  public String toString() {
+    return path;
+  }
+
+  /**
+   * Parse the path expression into segments.
+   */
+  private static final class Parser {
+
+    private final String path;
+    private final List<String> names = new ArrayList<>();
+    private final List<Integer> indexes = new ArrayList<>();
+    private int pos;
+
+    Parser(String path) {
+      this.path = path;
+    }
+
+    JsonPath parse() {
+      final int len = path.length();
+      if (len == 0) {
+        throw invalid("empty path");
+      }
+      boolean expectName = path.charAt(0) != '[';
+      while (pos < len) {
+        final char ch = path.charAt(pos);
+        if (ch == '[') {
+          pos++;
+          bracketSegment();
+          expectName = false;
+        } else if (ch == '.') {
+          if (expectName) {
+            throw invalid("empty segment at position " + pos);
+          }
+          pos++;
+          expectName = true;
+          if (pos == len) {
+            throw invalid("path ends with '.'");
+          }
+        } else if (expectName) {
+          nameSegment();
+          expectName = false;
+        } else {
+          throw invalid("unexpected '" + ch + "' at position " + pos);
+        }
+      }
+      final int size = indexes.size();
+      final int[] idx = new int[size];
+      for (int i = 0; i < size; i++) {
+        idx[i] = indexes.get(i);
+      }
+      return new JsonPath(path, names.toArray(new String[0]), idx);
+    }
+
+    private void nameSegment() {
+      final int start = pos;
+      final int len = path.length();
+      while (pos < len) {
+        final char ch = path.charAt(pos);
+        if (ch == '.' || ch == '[') {
+          break;
+        }
+        pos++;
+      }
+      final String name = path.substring(start, pos);
+      if ("*".equals(name)) {
+        add(null, WILDCARD);
+      } else {
+        add(name, NAME);
+      }
+    }
+
+    private void bracketSegment() {
+      final int close = path.indexOf(']', pos);
+      if (close == -1) {
+        throw invalid("missing ']' for '[' at position " + (pos - 1));
+      }
+      final char first = close > pos ? path.charAt(pos) : ']';
+      if (first == '\'' || first == '"') {
+        final int endQuote = path.indexOf(first, pos + 1);
+        if (endQuote == -1 || endQuote + 1 >= path.length() || path.charAt(endQuote + 1) != ']') {
+          throw invalid("unterminated quoted name at position " + pos);
+        }
+        add(path.substring(pos + 1, endQuote), NAME);
+        pos = endQuote + 2;
+        return;
+      }
+      if (close == pos + 1 && first == '*') {
+        add(null, WILDCARD);
+        pos = close + 1;
+        return;
+      }
+      if (close == pos) {
+        throw invalid("empty index at position " + pos);
+      }
+      int index = 0;
+      for (int i = pos; i < close; i++) {
+        final char ch = path.charAt(i);
+        if (ch < '0' || ch > '9') {
+          throw invalid("invalid index at position " + i);
+        }
+        index = index * 10 + (ch - '0');
+        if (index < 0) {
+          throw invalid("index overflow at position " + i);
+        }
+      }
+      add(null, index);
+      pos = close + 1;
+    }
+
+    private void add(String name, int index) {
+      names.add(name);
+      indexes.add(index);
+    }
+
+    private IllegalArgumentException invalid(String reason) {
+      return new IllegalArgumentException("Invalid path [" + path + "] " + reason);
+    }
+  }
+}
@@ -15,6 +15,8 @@
  */
 package io.avaje.json;
 
+import io.avaje.json.core.JsonNumbers;
+
 import java.io.Closeable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -133,6 +135,20 @@ public interface JsonReader extends Closeable {
    */
   BigDecimal readDecimal();
 
+  /**
+   * Read and return the next number using the most precise type for the content.
+   * <p>
+   * Integer content is returned as a Long (or BigInteger when it does not fit in a long).
+   * Content with a fraction or exponent is returned as a Double when it has no more than
+   * 15 significant digits, otherwise as a BigDecimal such that no precision is lost.
+   * <p>
+   * The default implementation classifies the BigDecimal value. Implementations with access
+   * to the number content classify the content instead (by the presence of a fraction or exponent).
+   */
+  default Number readNumber() {
+    return JsonNumbers.of(readDecimal());
+  }
+
   /**
    * Read and return the next value as a BigInteger.
    */
@@ -114,6 +114,24 @@ public interface JsonWriter extends Closeable, Flushable {
    */
   void endArray();
 
+  /**
+   * Write the beginning of a stream of values.
+   * <p>
+   * By default, the stream is written as an array. A binary format can instead write the
+   * values of a top level stream one after the other such that the content is not held
+   * until the stream ends. {@link JsonReader#beginStream()} reads both.
+   */
+  default void beginStream() {
+    beginArray();
+  }
+
+  /**
+   * Write the end of a stream of values.
+   */
+  default void endStream() {
+    endArray();
+  }
+
   /**
    * Write empty array.
    */
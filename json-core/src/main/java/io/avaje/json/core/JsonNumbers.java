@@ -0,0 +1,104 @@
+package io.avaje.json.core;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Determines the Java type of a json number from its content such that all the
+ * JsonReader implementations return the same type for the same json.
+ * <p>
+ * Content with a fraction or exponent ({@code .}, {@code e} or {@code E}) is a Double
+ * when it has no more than 15 significant digits and 2 exponent digits, otherwise a
+ * BigDecimal. Other content is a Long or a BigInteger when it does not fit in a long.
+ */
+public final class JsonNumbers {
+
+  /** Integer content that fits in a long. */
+  public static final int LONG = 0;
+  /** Integer content that may not fit in a long. */
+  public static final int BIG_INTEGER = 1;
+  /** Content with a fraction or exponent that a double represents without loss. */
+  public static final int DOUBLE = 2;
+  /** Content with a fraction or exponent that needs a BigDecimal. */
+  public static final int DECIMAL = 3;
+
+  private JsonNumbers() {
+  }
+
+  /**
+   * Return the type of the number content, one of LONG, BIG_INTEGER, DOUBLE or DECIMAL.
+   */
+  public static int classify(CharSequence content) {
+    final int length = content.length();
+    int digits = 0;
+    int exponentDigits = 0;
+    boolean leadingZero = true;
+    boolean decimal = false;
+    boolean exponent = false;
+    for (int i = 0; i < length; i++) {
+      final char c = content.charAt(i);
+      if (c >= '0' && c <= '9') {
+        if (exponent) {
+          exponentDigits++;
+        } else if (!leadingZero || c != '0') {
+          leadingZero = false;
+          digits++;
+        }
+      } else if (c == '.') {
+        decimal = true;
+      } else if (c == 'e' || c == 'E') {
+        decimal = true;
+        exponent = true;
+      }
+    }
+    if (!decimal) {
+      return digits <= 18 ? LONG : BIG_INTEGER;
+    }
+    return digits <= 15 && exponentDigits <= 2 ? DOUBLE : DECIMAL;
+  }
+
+  /**
+   * Return the number for the given content.
+   *
+   * @throws NumberFormatException When the content is not a valid number
+   */
+  public static Number of(String content) {
+    final String trimmed = content.trim();
+    switch (classify(trimmed)) {
+      case LONG:
+        return Long.parseLong(trimmed);
+      case BIG_INTEGER:
+        return narrow(new BigInteger(trimmed));
+      case DOUBLE:
+        return Double.parseDouble(trimmed);
+      default:
+        return new BigDecimal(trimmed);
+    }
+  }
+
+  /**
+   * Return the BigDecimal using the type its string form classifies as.
+   * <p>
+   * This is used when the original content is no longer available. An exponent that
+   * cancels out the fraction (like {@code 1.0e1}) is then indistinguishable from an integer.
+   */
+  public static Number of(BigDecimal value) {
+    switch (classify(value.toString())) {
+      case LONG:
+        return value.longValueExact();
+      case BIG_INTEGER:
+        return narrow(value.toBigIntegerExact());
+      case DOUBLE:
+        return value.doubleValue();
+      default:
+        return value;
+    }
+  }
+
+  /**
+   * Return the integer as a Long when it fits otherwise as the BigInteger.
+   */
+  public static Number narrow(BigInteger value) {
+    return value.bitLength() < 64 ? (Number) value.longValue() : value;
+  }
+}
@@ -1,10 +1,12 @@
 package io.avaje.json.mapper;
 
 import io.avaje.json.JsonAdapter;
+import io.avaje.json.JsonPath;
 import io.avaje.json.JsonReader;
 import io.avaje.json.JsonWriter;
 import io.avaje.json.PropertyNames;
 import io.avaje.json.core.CoreTypes;
+import io.avaje.json.stream.JsonPathExtractor;
 import io.avaje.json.stream.JsonStream;
 
 import java.util.List;
@@ -14,12 +16,14 @@ import java.util.function.Function;
 final class DJsonMapper implements JsonMapper {
 
   private final JsonStream jsonStream;
+  private final JsonAdapter<Object> objectAdapter;
   private final Type<Object> objectType;
   private final Type<Map<String,Object>> mapType;
   private final Type<List<Object>> listType;
 
   DJsonMapper(JsonStream jsonStream, CoreTypes.CoreAdapters adapters) {
     this.jsonStream = jsonStream;
+    this.objectAdapter = adapters.objectAdapter();
     this.objectType = new DTypeMapper<>(adapters.objectAdapter(), jsonStream);
     this.mapType = new DTypeMapper<>(adapters.mapAdapter(), jsonStream);
     this.listType = new DTypeMapper<>(adapters.listAdapter(), jsonStream);
@@ -30,6 +34,11 @@ final class DJsonMapper implements JsonMapper {
     return jsonStream.properties(names);
   }
 
+  @Override
+  public JsonPathExtractor<Object> extractor(JsonPath... paths) {
+    return JsonPathExtractor.of(jsonStream, objectAdapter, paths);
+  }
+
   @Override
   public <T> Type<T> type(JsonAdapter<T> myAdapter) {
     return new DTypeMapper<>(myAdapter, jsonStream);
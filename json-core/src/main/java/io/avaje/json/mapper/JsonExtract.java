@@ -1,5 +1,7 @@
 package io.avaje.json.mapper;
 
+import io.avaje.json.JsonPath;
+
 import java.util.Map;
 import java.util.Optional;
 
@@ -28,7 +30,17 @@ import java.util.Optional;
  *     .orElseThrow();
  *
  * }</pre>
+ * <p>
+ * When the same paths are extracted many times, or for array indexes and wildcards,
+ * use a pre-compiled {@link JsonPath} with the Map.
+ * <p>
+ * <pre>{@code
  *
+ *   static final JsonPath FIRST_CITY = JsonPath.compile("addresses[0].city");
+ *
+ *   Object city = FIRST_CITY.find(mapFromJson);
+ *
+ * }</pre>
  */
 public interface JsonExtract {
 
@@ -1,9 +1,11 @@
 package io.avaje.json.mapper;
 
 import io.avaje.json.JsonAdapter;
+import io.avaje.json.JsonPath;
 import io.avaje.json.JsonReader;
 import io.avaje.json.JsonWriter;
 import io.avaje.json.PropertyNames;
+import io.avaje.json.stream.JsonPathExtractor;
 import io.avaje.json.stream.JsonStream;
 
 import java.io.InputStream;
@@ -132,6 +134,29 @@ public interface JsonMapper {
    */
   PropertyNames properties(String... names);
 
+  /**
+   * Return an extractor that reads the values for the given paths directly from
+   * json content without reading the rest of the content into Maps and Lists.
+   * <p>
+   * Matched values are read as the basic Java types (String, Long, Double, Boolean,
+   * Map and List).
+   *
+   * <pre>{@code
+   *
+   *   static final JsonPath TENANT = JsonPath.compile("tenantId");
+   *   static final JsonPath EVENT_TYPE = JsonPath.compile("event.type");
+   *
+   *   JsonPathExtractor<Object> extractor = jsonMapper.extractor(TENANT, EVENT_TYPE);
+   *
+   *   var matches = extractor.extract(json);
+   *   String tenantId = (String) matches.get(TENANT);
+   *
+   * }</pre>
+   *
+   * @param paths The paths to extract
+   */
+  JsonPathExtractor<Object> extractor(JsonPath... paths);
+
   /**
    * Return a Type specific mapper for the given JsonAdapter.
    *
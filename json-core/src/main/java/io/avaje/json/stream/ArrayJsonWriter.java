@@ -0,0 +1,18 @@
+package io.avaje.json.stream;
+
+import io.avaje.json.JsonWriter;
+
+/**
+ * JsonWriter that writes json directly into a given byte array.
+ */
+public interface ArrayJsonWriter extends JsonWriter {
+
+  /**
+   * Return the number of bytes written into the array.
+   * <p>
+   * When the content did not fit this returns the negative of the number of bytes
+   * required such that the caller can retry with a larger array. In this case the
+   * content of the array after the offset is undefined.
+   */
+  int result();
+}
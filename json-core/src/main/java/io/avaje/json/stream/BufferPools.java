@@ -0,0 +1,123 @@
+package io.avaje.json.stream;
+
+import io.avaje.json.stream.core.RecyclerPools;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Controls the shared pools of parser and generator buffers.
+ * <p>
+ * The pools are sized based on the number of available processors and hold buffers
+ * per thread. With checkpoint and restore (e.g. CRaC) the pools should be drained
+ * before the checkpoint (such that stale buffers are not part of the image) and
+ * resized after restore (as the number of processors can differ).
+ *
+ * <pre>{@code
+ *
+ *   // register with CRaC (org.crac or jdk.crac) when available
+ *   BufferPools.registerCheckpointHooks();
+ *
+ *   // or explicitly from a CRaC Resource
+ *   public void beforeCheckpoint(Context<? extends Resource> context) {
+ *     BufferPools.beforeCheckpoint();
+ *   }
+ *
+ *   public void afterRestore(Context<? extends Resource> context) {
+ *     BufferPools.afterRestore();
+ *   }
+ *
+ * }</pre>
+ */
+public final class BufferPools {
+
+  /** The registered CRaC resource, held strongly as CRaC only holds a weak reference. */
+  private static Object resource;
+
+  private BufferPools() {
+  }
+
+  /**
+   * Drop the pooled buffers, typically prior to a checkpoint.
+   */
+  public static void beforeCheckpoint() {
+    RecyclerPools.drain();
+  }
+
+  /**
+   * Resize the pools based on the current number of available processors, typically
+   * after restore.
+   */
+  public static void afterRestore() {
+    RecyclerPools.resize(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Drop the pooled buffers and resize the lock free pool to use the given number of stripes.
+   */
+  public static void resize(int stripes) {
+    RecyclerPools.resize(stripes);
+  }
+
+  /**
+   * Return the number of stripes used by the lock free pool.
+   */
+  public static int stripes() {
+    return RecyclerPools.stripes();
+  }
+
+  /**
+   * Register {@link #beforeCheckpoint()} and {@link #afterRestore()} with the global
+   * CRaC context when CRaC ({@code org.crac} or {@code jdk.crac}) is available.
+   *
+   * @return true if the hooks were registered
+   */
+  public static synchronized boolean registerCheckpointHooks() {
+    if (resource != null) {
+      return true;
+    }
+    return register("org.crac") || register("jdk.crac");
+  }
+
+  private static boolean register(String cracPackage) {
+    try {
+      final ClassLoader classLoader = BufferPools.class.getClassLoader();
+      final Class<?> resourceType = Class.forName(cracPackage + ".Resource", false, classLoader);
+      final Class<?> contextType = Class.forName(cracPackage + ".Context", false, classLoader);
+      final Object context = Class.forName(cracPackage + ".Core", true, classLoader)
+        .getMethod("getGlobalContext")
+        .invoke(null);
+
+      final Object proxy = Proxy.newProxyInstance(classLoader, new Class<?>[]{resourceType}, new Hooks());
+      contextType.getMethod("register", resourceType).invoke(context, proxy);
+      resource = proxy;
+      return true;
+    } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+      return false;
+    }
+  }
+
+  private static final class Hooks implements InvocationHandler {
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+      switch (method.getName()) {
+        case "beforeCheckpoint":
+          beforeCheckpoint();
+          return null;
+        case "afterRestore":
+          afterRestore();
+          return null;
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "equals":
+          return proxy == args[0];
+        case "toString":
+          return "BufferPools";
+        default:
+          return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package io.avaje.json.stream;
+
+/**
+ * ArrayJsonWriter for JsonStream implementations that can not write directly into the array.
+ */
+final class DArrayJsonWriter extends DelegateJsonWriter implements ArrayJsonWriter {
+
+  private final BytesJsonWriter bytesWriter;
+  private final byte[] dest;
+  private final int offset;
+
+  DArrayJsonWriter(BytesJsonWriter delegate, byte[] dest, int offset) {
+    super(delegate);
+    this.bytesWriter = delegate;
+    this.dest = dest;
+    this.offset = offset;
+  }
+
+  @Override
+  public int result() {
+    final byte[] content = bytesWriter.result();
+    if (content.length > dest.length - offset) {
+      return -content.length;
+    }
+    System.arraycopy(content, 0, dest, offset, content.length);
+    return content.length;
+  }
+}
@@ -0,0 +1,195 @@
+package io.avaje.json.stream;
+
+import io.avaje.json.JsonAdapter;
+import io.avaje.json.JsonDataException;
+import io.avaje.json.JsonReader;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Default implementation of JsonAsyncReader.
+ * <p>
+ * The content is scanned tracking the depth and string state to find the end of
+ * each top level value. Completed values are read using a JsonReader from the
+ * JsonStream over the bytes of that value.
+ */
+final class DJsonAsyncReader implements JsonAsyncReader {
+
+  private final JsonStream jsonStream;
+  private final boolean arrayElements;
+  private final int maxValueSize;
+  private final ArrayDeque<byte[]> values = new ArrayDeque<>();
+
+  private byte[] value = new byte[256];
+  private int length;
+  private int depth;
+  private boolean inString;
+  private boolean escape;
+  private boolean first = true;
+  private boolean wrapped;
+  private boolean end;
+
+  DJsonAsyncReader(JsonStream jsonStream, boolean arrayElements, int maxValueSize) {
+    this.jsonStream = jsonStream;
+    this.arrayElements = arrayElements;
+    this.maxValueSize = maxValueSize;
+  }
+
+  @Override
+  public Status feed(byte[] content) {
+    return feed(content, 0, content.length);
+  }
+
+  @Override
+  public Status feed(ByteBuffer content) {
+    if (content.hasArray()) {
+      final int offset = content.arrayOffset() + content.position();
+      final int length = content.remaining();
+      content.position(content.limit());
+      return feed(content.array(), offset, length);
+    }
+    final byte[] bytes = new byte[content.remaining()];
+    content.get(bytes);
+    return feed(bytes, 0, bytes.length);
+  }
+
+  @Override
+  public Status feed(byte[] content, int offset, int length) {
+    if (end) {
+      throw new IllegalStateException("endOfInput() has already been called");
+    }
+    final int limit = offset + length;
+    for (int i = offset; i < limit; i++) {
+      final byte b = content[i];
+      if (inString) {
+        append(b);
+        if (escape) {
+          escape = false;
+        } else if (b == '\\') {
+          escape = true;
+        } else if (b == '"') {
+          inString = false;
+          if (depth == 0) {
+            complete();
+          }
+        }
+        continue;
+      }
+      switch (b) {
+        case ' ':
+        case '\t':
+        case '\r':
+        case '\n':
+          if (depth > 0) {
+            append(b);
+          } else {
+            complete();
+          }
+          continue;
+        case ',':
+          if (depth > 0) {
+            append(b);
+          } else if (wrapped) {
+            complete();
+          } else {
+            throw new JsonDataException("Unexpected ',' between top level values");
+          }
+          break;
+        case '[':
+          if (first && arrayElements) {
+            wrapped = true;
+          } else {
+            append(b);
+            depth++;
+          }
+          break;
+        case '{':
+          append(b);
+          depth++;
+          break;
+        case ']':
+        case '}':
+          if (depth == 0) {
+            if (!wrapped || b != ']') {
+              throw new JsonDataException("Unexpected '" + (char) b + "' in json content");
+            }
+            complete();
+            wrapped = false;
+          } else {
+            append(b);
+            if (--depth == 0) {
+              complete();
+            }
+          }
+          break;
+        case '"':
+          append(b);
+          inString = true;
+          break;
+        default:
+          append(b);
+      }
+      first = false;
+    }
+    return status();
+  }
+
+  @Override
+  public Status endOfInput() {
+    if (depth > 0 || inString || wrapped) {
+      throw new JsonDataException("Incomplete json content at end of input");
+    }
+    complete();
+    end = true;
+    return status();
+  }
+
+  @Override
+  public Status status() {
+    if (!values.isEmpty()) {
+      return Status.VALUE_AVAILABLE;
+    }
+    return end ? Status.END_OF_INPUT : Status.NEED_MORE_INPUT;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return !values.isEmpty();
+  }
+
+  @Override
+  public <T> T next(JsonAdapter<T> adapter) {
+    try (JsonReader reader = nextReader()) {
+      return adapter.fromJson(reader);
+    }
+  }
+
+  @Override
+  public JsonReader nextReader() {
+    final byte[] next = values.poll();
+    if (next == null) {
+      throw new NoSuchElementException("No complete json value available, status is " + status());
+    }
+    return jsonStream.reader(next);
+  }
+
+  private void complete() {
+    if (length > 0) {
+      values.add(Arrays.copyOf(value, length));
+      length = 0;
+    }
+  }
+
+  private void append(byte b) {
+    if (maxValueSize >= 0 && length >= maxValueSize) {
+      throw new JsonDataException("Exceeded the max size of a json value : " + maxValueSize);
+    }
+    if (length == value.length) {
+      value = Arrays.copyOf(value, length * 2);
+    }
+    value[length++] = b;
+  }
+}
@@ -0,0 +1,296 @@
+package io.avaje.json.stream;
+
+import io.avaje.json.JsonAdapter;
+import io.avaje.json.JsonPath;
+import io.avaje.json.JsonReader;
+import io.avaje.json.PropertyNames;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Default implementation of JsonPathExtractor.
+ * <p>
+ * The active paths at each depth are tracked as a bit mask (hence at most 64 paths).
+ */
+final class DJsonPathExtractor<V> implements JsonPathExtractor<V> {
+
+  private final JsonStream jsonStream;
+  private final JsonAdapter<V> valueAdapter;
+  private final JsonPath[] paths;
+  private final List<JsonPath> pathList;
+  /** Mask of the paths that end at the given depth. */
+  private final long[] terminalAt;
+  /** Names used at the given depth, used to avoid allocating Strings for matching keys. */
+  private final PropertyNames[] namesAt;
+  /** Mask of all the paths when none contain wildcards (such that extraction can complete early). */
+  private final long completeMask;
+
+  DJsonPathExtractor(JsonStream jsonStream, JsonAdapter<V> valueAdapter, JsonPath... paths) {
+    if (paths.length == 0 || paths.length > 64) {
+      throw new IllegalArgumentException("Expecting between 1 and 64 paths but got " + paths.length);
+    }
+    this.jsonStream = jsonStream;
+    this.valueAdapter = valueAdapter;
+    this.paths = paths.clone();
+    this.pathList = Collections.unmodifiableList(Arrays.asList(this.paths));
+    int maxDepth = 0;
+    boolean wildcard = false;
+    for (int i = 0; i < paths.length; i++) {
+      maxDepth = Math.max(maxDepth, paths[i].size());
+      wildcard |= paths[i].hasWildcard();
+      for (int j = 0; j < paths.length; j++) {
+        if (i != j && isPrefix(paths[i], paths[j])) {
+          throw new IllegalArgumentException("Path " + paths[i] + " overlaps with path " + paths[j]);
+        }
+      }
+    }
+    this.completeMask = wildcard ? 0 : allMask(paths.length);
+    this.terminalAt = new long[maxDepth + 1];
+    this.namesAt = new PropertyNames[maxDepth];
+    for (int i = 0; i < paths.length; i++) {
+      terminalAt[paths[i].size()] |= 1L << i;
+    }
+    for (int depth = 0; depth < maxDepth; depth++) {
+      final Set<String> names = new LinkedHashSet<>();
+      for (JsonPath path : paths) {
+        if (depth < path.size() && path.isName(depth)) {
+          names.add(path.name(depth));
+        }
+      }
+      if (!names.isEmpty()) {
+        namesAt[depth] = jsonStream.properties(names.toArray(new String[0]));
+      }
+    }
+  }
+
+  /**
+   * Return true if the shorter path can match a value that contains matches for the longer path.
+   */
+  private static boolean isPrefix(JsonPath shorter, JsonPath longer) {
+    if (shorter.size() >= longer.size()) {
+      return false;
+    }
+    for (int i = 0; i < shorter.size(); i++) {
+      if (shorter.isWildcard(i) || longer.isWildcard(i)) {
+        continue;
+      }
+      if (shorter.isName(i) ? !shorter.name(i).equals(longer.name(i)) : shorter.index(i) != longer.index(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public List<JsonPath> paths() {
+    return pathList;
+  }
+
+  @Override
+  public Matches<V> extract(String json) {
+    try (JsonReader reader = jsonStream.reader(json)) {
+      return extract(reader);
+    }
+  }
+
+  @Override
+  public Matches<V> extract(byte[] json) {
+    try (JsonReader reader = jsonStream.reader(json)) {
+      return extract(reader);
+    }
+  }
+
+  @Override
+  public Matches<V> extract(InputStream inputStream) {
+    try (JsonReader reader = jsonStream.reader(inputStream)) {
+      return extract(reader);
+    }
+  }
+
+  @Override
+  public Matches<V> extract(JsonReader reader) {
+    final var matches = new DMatches<V>(paths, completeMask);
+    walk(reader, 0, allMask(paths.length), matches);
+    return matches;
+  }
+
+  private static long allMask(int size) {
+    return size == 64 ? -1L : (1L << size) - 1;
+  }
+
+  /**
+   * Walk the value at the current position returning true when all the paths have been matched.
+   */
+  private boolean walk(JsonReader reader, int depth, long mask, DMatches<V> matches) {
+    if ((mask & terminalAt[depth]) != 0) {
+      // paths can not overlap so all the paths in the mask end here
+      return matches.add(mask, valueAdapter.fromJson(reader));
+    }
+    switch (reader.currentToken()) {
+      case BEGIN_OBJECT:
+        return walkObject(reader, depth, mask, matches);
+      case BEGIN_ARRAY:
+        return walkArray(reader, depth, mask, matches);
+      default:
+        reader.skipValue();
+        return false;
+    }
+  }
+
+  private boolean walkObject(JsonReader reader, int depth, long mask, DMatches<V> matches) {
+    final PropertyNames names = namesAt[depth];
+    if (names == null) {
+      reader.beginObject();
+    } else {
+      reader.beginObject(names);
+    }
+    while (reader.hasNextField()) {
+      final long childMask = matchName(mask, depth, reader.nextField());
+      if (childMask == 0) {
+        reader.skipValue();
+      } else if (walk(reader, depth + 1, childMask, matches)) {
+        return true;
+      }
+    }
+    reader.endObject();
+    return false;
+  }
+
+  private boolean walkArray(JsonReader reader, int depth, long mask, DMatches<V> matches) {
+    reader.beginArray();
+    int index = 0;
+    while (reader.hasNextElement()) {
+      final long childMask = matchIndex(mask, depth, index++);
+      if (childMask == 0) {
+        reader.skipValue();
+      } else if (walk(reader, depth + 1, childMask, matches)) {
+        return true;
+      }
+    }
+    reader.endArray();
+    return false;
+  }
+
+  private long matchName(long mask, int depth, String field) {
+    long result = 0;
+    for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+      final int i = Long.numberOfTrailingZeros(remaining);
+      final JsonPath path = paths[i];
+      if (path.isWildcard(depth) || (path.isName(depth) && field.equals(path.name(depth)))) {
+        result |= 1L << i;
+      }
+    }
+    return result;
+  }
+
+  private long matchIndex(long mask, int depth, int index) {
+    long result = 0;
+    for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+      final int i = Long.numberOfTrailingZeros(remaining);
+      final JsonPath path = paths[i];
+      if (path.isWildcard(depth) || path.index(depth) == index) {
+        result |= 1L << i;
+      }
+    }
+    return result;
+  }
+
+  private static final class DMatches<V> implements Matches<V> {
+
+    private final JsonPath[] paths;
+    private final long completeMask;
+    private final Object[] values;
+    private final List<V>[] all;
+    private long found;
+
+    @SuppressWarnings("unchecked")
+    DMatches(JsonPath[] paths, long completeMask) {
+      this.paths = paths;
+      this.completeMask = completeMask;
+      this.values = new Object[paths.length];
+      this.all = new List[paths.length];
+    }
+
+    /**
+     * Add the value for the paths in the mask returning true when all the paths are matched.
+     */
+    boolean add(long mask, V value) {
+      for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+        final int i = Long.numberOfTrailingZeros(remaining);
+        if ((found & (1L << i)) == 0) {
+          values[i] = value;
+        }
+        if (paths[i].hasWildcard()) {
+          if (all[i] == null) {
+            all[i] = new ArrayList<>();
+          }
+          all[i].add(value);
+        }
+      }
+      found |= mask;
+      return completeMask != 0 && found == completeMask;
+    }
+
+    private int position(JsonPath path) {
+      for (int i = 0; i < paths.length; i++) {
+        if (paths[i] == path || paths[i].equals(path)) {
+          return i;
+        }
+      }
+      throw new IllegalArgumentException("Path " + path + " is not one of the extracted paths");
+    }
+
+    @Override
+    public boolean found(int pathPosition) {
+      return (found & (1L << pathPosition)) != 0;
+    }
+
+    @Override
+    public boolean found(JsonPath path) {
+      return found(position(path));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(int pathPosition) {
+      return (V) values[pathPosition];
+    }
+
+    @Override
+    public V get(JsonPath path) {
+      return get(position(path));
+    }
+
+    @Override
+    public List<V> getAll(int pathPosition) {
+      final List<V> list = all[pathPosition];
+      if (list != null) {
+        return list;
+      }
+      return found(pathPosition) ? Collections.singletonList(get(pathPosition)) : Collections.emptyList();
+    }
+
+    @Override
+    public List<V> getAll(JsonPath path) {
+      return getAll(position(path));
+    }
+
+    @Override
+    public String toString() {
+      final var sb = new StringBuilder("{");
+      for (int i = 0; i < paths.length; i++) {
+        if (i > 0) {
+          sb.append(", ");
+        }
+        sb.append(paths[i]).append('=').append(all[i] != null ? all[i] : values[i]);
+      }
+      return sb.append('}').toString();
+    }
+  }
+}
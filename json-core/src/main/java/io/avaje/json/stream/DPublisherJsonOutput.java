@@ -0,0 +1,251 @@
+package io.avaje.json.stream;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.Flow;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Default implementation of PublisherJsonOutput.
+ * <p>
+ * Signals to the subscriber are serialised via the emitting flag such that
+ * request() being called from within onNext() does not recurse.
+ * <p>
+ * A producer waiting for space is signalled on every terminal transition (close,
+ * error, cancel or an invalid request) such that it fails rather than waits forever.
+ */
+final class DPublisherJsonOutput implements PublisherJsonOutput {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition space = lock.newCondition();
+  private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+  private final int maxPending;
+
+  private Flow.Subscriber<? super ByteBuffer> subscriber;
+  private long demand;
+  private boolean emitting;
+  private boolean closed;
+  private boolean done;
+  private boolean cancelled;
+  private Throwable error;
+
+  DPublisherJsonOutput(int maxPending) {
+    this.maxPending = maxPending;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+    lock.lock();
+    try {
+      if (this.subscriber != null) {
+        subscriber.onSubscribe(new NoSubscription());
+        subscriber.onError(new IllegalStateException("Only a single subscriber is supported"));
+        return;
+      }
+      this.subscriber = subscriber;
+    } finally {
+      lock.unlock();
+    }
+    subscriber.onSubscribe(new Subscription());
+    drain();
+  }
+
+  @Override
+  public void write(byte[] content, int offset, int length) throws IOException {
+    if (length > 0) {
+      publish(ByteBuffer.wrap(Arrays.copyOfRange(content, offset, offset + length)));
+    }
+  }
+
+  @Override
+  public byte[] writeAndSwap(byte[] buffer, int length) throws IOException {
+    publish(ByteBuffer.wrap(buffer, 0, length));
+    return new byte[buffer.length];
+  }
+
+  private void publish(ByteBuffer chunk) throws IOException {
+    lock.lock();
+    try {
+      checkActive();
+      pending.add(chunk);
+    } finally {
+      lock.unlock();
+    }
+    drain();
+    lock.lock();
+    try {
+      while (pending.size() >= maxPending) {
+        checkActive();
+        space.await();
+      }
+      checkActive();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted waiting on subscriber demand");
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void checkActive() throws IOException {
+    if (cancelled) {
+      throw new IOException("Subscriber cancelled");
+    }
+    if (error != null) {
+      throw new IOException("Output failed", error);
+    }
+    if (closed) {
+      throw new IOException("Output closed");
+    }
+  }
+
+  @Override
+  public void flush() {
+    drain();
+  }
+
+  @Override
+  public void close() {
+    lock.lock();
+    try {
+      closed = true;
+      space.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  @Override
+  public void error(Throwable error) {
+    lock.lock();
+    try {
+      if (this.error == null && !closed) {
+        this.error = error;
+        closed = true;
+        pending.clear();
+        space.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+    drain();
+  }
+
+  @Override
+  public OutputStream unwrapOutputStream() {
+    return new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        DPublisherJsonOutput.this.write(new byte[]{(byte) b}, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        DPublisherJsonOutput.this.write(b, off, len);
+      }
+
+      @Override
+      public void close() {
+        DPublisherJsonOutput.this.close();
+      }
+    };
+  }
+
+  /**
+   * Send the pending chunks that have demand and the terminal signal when complete.
+   */
+  private void drain() {
+    lock.lock();
+    try {
+      if (emitting || subscriber == null) {
+        return;
+      }
+      emitting = true;
+      while (!done && !cancelled) {
+        if (demand > 0 && !pending.isEmpty()) {
+          final ByteBuffer chunk = pending.poll();
+          demand--;
+          space.signalAll();
+          lock.unlock();
+          try {
+            subscriber.onNext(chunk);
+          } finally {
+            lock.lock();
+          }
+        } else if (closed && pending.isEmpty()) {
+          done = true;
+          final Throwable failure = error;
+          lock.unlock();
+          try {
+            if (failure != null) {
+              subscriber.onError(failure);
+            } else {
+              subscriber.onComplete();
+            }
+          } finally {
+            lock.lock();
+          }
+        } else {
+          break;
+        }
+      }
+      emitting = false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private final class Subscription implements Flow.Subscription {
+
+    @Override
+    public void request(long n) {
+      lock.lock();
+      try {
+        if (n <= 0) {
+          if (!done) {
+            error = new IllegalArgumentException("Requested " + n + " but must be positive");
+            closed = true;
+            pending.clear();
+            space.signalAll();
+          }
+        } else {
+          demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        }
+      } finally {
+        lock.unlock();
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      lock.lock();
+      try {
+        cancelled = true;
+        pending.clear();
+        space.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  private static final class NoSubscription implements Flow.Subscription {
+
+    @Override
+    public void request(long n) {
+      // do nothing
+    }
+
+    @Override
+    public void cancel() {
+      // do nothing
+    }
+  }
+}
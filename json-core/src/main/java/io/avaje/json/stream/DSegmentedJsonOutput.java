@@ -0,0 +1,163 @@
+package io.avaje.json.stream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Default implementation of SegmentedJsonOutput.
+ * <p>
+ * Full generator buffers are taken as segments via writeAndSwap(). Content written
+ * via write() (like the last partial buffer) is copied into a tail segment.
+ */
+final class DSegmentedJsonOutput implements SegmentedJsonOutput {
+
+  private static final int MIN_TAIL = 512;
+
+  private final List<byte[]> segments = new ArrayList<>();
+  private final ArrayDeque<byte[]> free = new ArrayDeque<>();
+  private int[] lengths = new int[16];
+  private long size;
+  /** True when the last segment is a tail segment that can take more copied content. */
+  private boolean tail;
+
+  @Override
+  public byte[] writeAndSwap(byte[] buffer, int length) {
+    add(buffer, length);
+    tail = false;
+    return segment(buffer.length);
+  }
+
+  @Override
+  public void write(byte[] content, int offset, int length) {
+    while (length > 0) {
+      final int last = segments.size() - 1;
+      if (tail) {
+        final byte[] segment = segments.get(last);
+        final int used = lengths[last];
+        final int count = Math.min(segment.length - used, length);
+        if (count > 0) {
+          System.arraycopy(content, offset, segment, used, count);
+          lengths[last] = used + count;
+          size += count;
+          offset += count;
+          length -= count;
+          continue;
+        }
+      }
+      add(segment(Math.max(length, MIN_TAIL)), 0);
+      tail = true;
+    }
+  }
+
+  private void add(byte[] segment, int length) {
+    final int index = segments.size();
+    if (index == lengths.length) {
+      lengths = Arrays.copyOf(lengths, index * 2);
+    }
+    segments.add(segment);
+    lengths[index] = length;
+    size += length;
+  }
+
+  /**
+   * Return a free segment of at least the given size or allocate a new one.
+   */
+  private byte[] segment(int minSize) {
+    final byte[] segment = free.peek();
+    if (segment != null && segment.length >= minSize) {
+      return free.poll();
+    }
+    return new byte[minSize];
+  }
+
+  @Override
+  public long size() {
+    return size;
+  }
+
+  @Override
+  public ByteBuffer[] buffers() {
+    final ByteBuffer[] buffers = new ByteBuffer[segments.size()];
+    for (int i = 0; i < buffers.length; i++) {
+      buffers[i] = ByteBuffer.wrap(segments.get(i), 0, lengths[i]);
+    }
+    return buffers;
+  }
+
+  @Override
+  public long writeTo(GatheringByteChannel channel) throws IOException {
+    final ByteBuffer[] buffers = buffers();
+    long total = 0;
+    while (total < size) {
+      total += channel.write(buffers);
+    }
+    return total;
+  }
+
+  @Override
+  public InputStream inputStream() {
+    final List<InputStream> streams = new ArrayList<>(segments.size());
+    for (int i = 0; i < segments.size(); i++) {
+      streams.add(new ByteArrayInputStream(segments.get(i), 0, lengths[i]));
+    }
+    return new SequenceInputStream(Collections.enumeration(streams));
+  }
+
+  @Override
+  public byte[] toByteArray() {
+    if (size > Integer.MAX_VALUE - 8) {
+      throw new IllegalStateException("Content too large for a byte array " + size);
+    }
+    final byte[] result = new byte[(int) size];
+    int pos = 0;
+    for (int i = 0; i < segments.size(); i++) {
+      final int length = lengths[i];
+      System.arraycopy(segments.get(i), 0, result, pos, length);
+      pos += length;
+    }
+    return result;
+  }
+
+  @Override
+  public void reset() {
+    free.addAll(segments);
+    segments.clear();
+    size = 0;
+    tail = false;
+  }
+
+  @Override
+  public void flush() {
+    // do nothing
+  }
+
+  @Override
+  public void close() {
+    // do nothing, content is held until reset
+  }
+
+  @Override
+  public OutputStream unwrapOutputStream() {
+    return new OutputStream() {
+      @Override
+      public void write(int b) {
+        DSegmentedJsonOutput.this.write(new byte[]{(byte) b}, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) {
+        DSegmentedJsonOutput.this.write(b, off, len);
+      }
+    };
+  }
+}
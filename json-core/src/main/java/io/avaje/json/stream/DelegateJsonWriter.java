@@ -62,6 +62,16 @@ public abstract class DelegateJsonWriter implements JsonWriter {
     delegate.endArray();
   }
 
+  @Override
+  public final void beginStream() {
+    delegate.beginStream();
+  }
+
+  @Override
+  public final void endStream() {
+    delegate.endStream();
+  }
+
   @Override
   public final void emptyArray() {
     delegate.emptyArray();
@@ -0,0 +1,139 @@
+package io.avaje.json.stream;
+
+import io.avaje.json.JsonAdapter;
+import io.avaje.json.JsonReader;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Non-blocking reader that is fed json content as it arrives.
+ * <p>
+ * Rather than pulling from an InputStream (and blocking a thread while waiting for
+ * content) the content is pushed as it becomes available, typically from an event
+ * loop in Netty, Vert.x etc. The content is split into complete top level json values
+ * (optionally the elements of a top level array) and each complete value is then read
+ * using an adapter (including generated adapters).
+ * <p>
+ * Only the bytes of the value being read and the completed values not yet read are
+ * held, and the size of a single value can be limited via {@link #of(JsonStream, boolean, int)}.
+ * A JsonAsyncReader is NOT thread safe.
+ *
+ * <pre>{@code
+ *
+ *   JsonAsyncReader asyncReader = jsonStream.asyncReader();
+ *
+ *   // on each chunk of content
+ *   if (asyncReader.feed(chunk) == JsonAsyncReader.Status.VALUE_AVAILABLE) {
+ *     while (asyncReader.hasNext()) {
+ *       Customer customer = asyncReader.next(customerAdapter);
+ *       ...
+ *     }
+ *   }
+ *
+ *   // when the content is complete
+ *   asyncReader.endOfInput();
+ *   while (asyncReader.hasNext()) {
+ *     ...
+ *   }
+ *
+ * }</pre>
+ */
+public interface JsonAsyncReader {
+
+  /**
+   * Create a JsonAsyncReader.
+   * <p>
+   * Typically, this is obtained via {@link JsonStream#asyncReader()} rather than using this directly.
+   *
+   * @param jsonStream    The JsonStream used to read the complete values
+   * @param arrayElements When true the elements of a top level array are returned as the values
+   */
+  static JsonAsyncReader of(JsonStream jsonStream, boolean arrayElements) {
+    return new DJsonAsyncReader(jsonStream, arrayElements, -1);
+  }
+
+  /**
+   * Create a JsonAsyncReader with a limit on the size of each value.
+   * <p>
+   * Feeding content fails with a JsonDataException when a single value exceeds the
+   * limit, such that a client can not make the reader buffer unbounded content.
+   *
+   * @param jsonStream    The JsonStream used to read the complete values
+   * @param arrayElements When true the elements of a top level array are returned as the values
+   * @param maxValueSize  The maximum number of bytes buffered for a single value, -1 for unlimited
+   */
+  static JsonAsyncReader of(JsonStream jsonStream, boolean arrayElements, int maxValueSize) {
+    return new DJsonAsyncReader(jsonStream, arrayElements, maxValueSize);
+  }
+
+  /**
+   * The status after feeding content.
+   */
+  enum Status {
+
+    /**
+     * There is no complete value available, more content is needed.
+     */
+    NEED_MORE_INPUT,
+
+    /**
+     * There are one or more complete values available to read.
+     */
+    VALUE_AVAILABLE,
+
+    /**
+     * The end of input has been reached and all the values have been read.
+     */
+    END_OF_INPUT
+  }
+
+  /**
+   * Feed the content returning the resulting status.
+   *
+   * @throws io.avaje.json.JsonDataException When the content is invalid or a value exceeds the max value size
+   */
+  Status feed(byte[] content);
+
+  /**
+   * Feed the content returning the resulting status.
+   */
+  Status feed(byte[] content, int offset, int length);
+
+  /**
+   * Feed the remaining content of the buffer returning the resulting status.
+   */
+  Status feed(ByteBuffer content);
+
+  /**
+   * Mark the end of the input.
+   * <p>
+   * A trailing top level scalar value (like a number) becomes available.
+   *
+   * @throws io.avaje.json.JsonDataException When the content ends with an incomplete value
+   */
+  Status endOfInput();
+
+  /**
+   * Return the current status.
+   */
+  Status status();
+
+  /**
+   * Return true if there is a complete value available to read.
+   */
+  boolean hasNext();
+
+  /**
+   * Read and return the next complete value using the given adapter.
+   *
+   * @throws java.util.NoSuchElementException When there is no complete value available
+   */
+  <T> T next(JsonAdapter<T> adapter);
+
+  /**
+   * Return a JsonReader for the next complete value.
+   *
+   * @throws java.util.NoSuchElementException When there is no complete value available
+   */
+  JsonReader nextReader();
+}
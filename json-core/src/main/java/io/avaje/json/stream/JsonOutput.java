@@ -56,6 +56,19 @@ public interface JsonOutput extends Closeable {
     write(content, offset, length);
   }
 
+  /**
+   * Write the full buffer of content handing over ownership of the buffer.
+   * <p>
+   * Return the buffer that the generator uses for the following content. An
+   * implementation that holds onto the content (like a publisher of chunks) returns
+   * a new buffer of the same size such that the content does not need to be copied.
+   * By default, the content is written and the same buffer is returned.
+   */
+  default byte[] writeAndSwap(byte[] buffer, int length) throws IOException {
+    write(buffer, 0, length);
+    return buffer;
+  }
+
   /**
    * Flush the underlying OutputStream.
    */
@@ -0,0 +1,122 @@
+package io.avaje.json.stream;
+
+import io.avaje.json.JsonAdapter;
+import io.avaje.json.JsonPath;
+import io.avaje.json.JsonReader;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Extracts the values for a set of compiled paths directly from json content
+ * without building a tree for the whole document.
+ * <p>
+ * The content is read as a stream of tokens. Any subtree that can not contain a
+ * match is skipped via {@link JsonReader#skipValue()} and only the matched values are
+ * read (using the value adapter). When all the paths (that do not contain wildcards)
+ * have been matched the remaining content is not read at all.
+ * <p>
+ * A JsonPathExtractor is immutable and thread safe.
+ *
+ * <pre>{@code
+ *
+ *   static final JsonPath TENANT = JsonPath.compile("tenantId");
+ *   static final JsonPath EVENT_TYPE = JsonPath.compile("event.type");
+ *
+ *   static final JsonPathExtractor<Object> extractor = jsonMapper.extractor(TENANT, EVENT_TYPE);
+ *
+ *   JsonPathExtractor.Matches<Object> matches = extractor.extract(payload);
+ *   String tenantId = (String) matches.get(TENANT);
+ *   String eventType = (String) matches.get(EVENT_TYPE);
+ *
+ * }</pre>
+ *
+ * @param <V> The type of the extracted values
+ */
+public interface JsonPathExtractor<V> {
+
+  /**
+   * Create a JsonPathExtractor for the given paths.
+   * <p>
+   * Typically, this is obtained via {@code JsonMapper.extractor()} or
+   * {@code JsonNodeMapper.extractor()} rather than using this directly.
+   *
+   * @param jsonStream   The JsonStream used to create readers for json content
+   * @param valueAdapter The adapter used to read the matched values
+   * @param paths        The paths to extract (at most 64 paths)
+   * @throws IllegalArgumentException When one path is a prefix of another path
+   */
+  static <V> JsonPathExtractor<V> of(JsonStream jsonStream, JsonAdapter<V> valueAdapter, JsonPath... paths) {
+    return new DJsonPathExtractor<>(jsonStream, valueAdapter, paths);
+  }
+
+  /**
+   * Return the paths being extracted.
+   */
+  List<JsonPath> paths();
+
+  /**
+   * Extract the matching values from the reader.
+   * <p>
+   * Once all the paths are matched the reader is NOT read any further, so the
+   * reader is expected to be closed rather than being used to read more content.
+   */
+  Matches<V> extract(JsonReader reader);
+
+  /**
+   * Extract the matching values from the json content.
+   */
+  Matches<V> extract(String json);
+
+  /**
+   * Extract the matching values from the json content.
+   */
+  Matches<V> extract(byte[] json);
+
+  /**
+   * Extract the matching values from the json content.
+   */
+  Matches<V> extract(InputStream inputStream);
+
+  /**
+   * The values matched by the extraction.
+   *
+   * @param <V> The type of the extracted values
+   */
+  interface Matches<V> {
+
+    /**
+     * Return true if the path at the given position was matched.
+     */
+    boolean found(int pathPosition);
+
+    /**
+     * Return true if the given path was matched.
+     */
+    boolean found(JsonPath path);
+
+    /**
+     * Return the first matched value for the path at the given position (or null if not matched).
+     */
+    V get(int pathPosition);
+
+    /**
+     * Return the first matched value for the given path (or null if not matched).
+     */
+    V get(JsonPath path);
+
+    /**
+     * Return all the matched values for the path at the given position.
+     * <p>
+     * This is expected to be used with paths that contain wildcards.
+     */
+    List<V> getAll(int pathPosition);
+
+    /**
+     * Return all the matched values for the given path.
+     * <p>
+     * This is expected to be used with paths that contain wildcards.
+     */
+    List<V> getAll(JsonPath path);
+  }
+}
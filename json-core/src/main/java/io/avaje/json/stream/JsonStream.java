@@ -32,6 +32,35 @@ public interface JsonStream {
    */
   JsonReader reader(InputStream inputStream);
 
+  /**
+   * Return a non-blocking JsonAsyncReader that is fed content as it arrives.
+   * <p>
+   * Each complete top level value is available to read. This suits newline delimited
+   * json or a stream of concatenated values.
+   */
+  default JsonAsyncReader asyncReader() {
+    return JsonAsyncReader.of(this, false);
+  }
+
+  /**
+   * Return a non-blocking JsonAsyncReader that is fed content as it arrives.
+   *
+   * @param arrayElements When true the elements of a top level array are returned as the values
+   */
+  default JsonAsyncReader asyncReader(boolean arrayElements) {
+    return JsonAsyncReader.of(this, arrayElements);
+  }
+
+  /**
+   * Return a non-blocking JsonAsyncReader that is fed content as it arrives.
+   *
+   * @param arrayElements When true the elements of a top level array are returned as the values
+   * @param maxValueSize  The maximum number of bytes buffered for a single value, -1 for unlimited
+   */
+  default JsonAsyncReader asyncReader(boolean arrayElements, int maxValueSize) {
+    return JsonAsyncReader.of(this, arrayElements, maxValueSize);
+  }
+
   /**
    * Return the JsonWriter given writer to use.
    */
@@ -57,6 +86,17 @@ public interface JsonStream {
    */
   BytesJsonWriter bufferedWriterAsBytes();
 
+  /**
+   * Return a JsonWriter that writes json directly into the given array starting at the offset.
+   * <p>
+   * This avoids the final copy into a new exact size array (as with {@link #bufferedWriterAsBytes()}).
+   * Use {@link ArrayJsonWriter#result()} before closing the writer to get the number of
+   * bytes written or detect that the content did not fit.
+   */
+  default ArrayJsonWriter writer(byte[] dest, int offset) {
+    return new DArrayJsonWriter(bufferedWriterAsBytes(), dest, offset);
+  }
+
   /**
    * Return PropertyNames given the names of properties.
    * <p>
@@ -94,6 +134,12 @@ public interface JsonStream {
     /** Determines how byte buffers are recycled */
     Builder bufferRecycling(BufferRecycleStrategy strategy);
 
+    /** Set to true to read and write CBOR (RFC 8949) rather than json. Defaults to false. */
+    Builder cbor(boolean cbor);
+
+    /** Set to true to read and write MessagePack rather than json. Defaults to false. */
+    Builder msgpack(boolean msgpack);
+
     /** Build and return the JsonStream. */
     JsonStream build();
   }
@@ -0,0 +1,62 @@
+package io.avaje.json.stream;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+
+/**
+ * JsonOutput that publishes the json content as chunks to a {@link Flow.Subscriber}.
+ * <p>
+ * Each full generator buffer is handed to the subscriber as a ByteBuffer (without
+ * copying) and the generator continues with a new buffer. Chunks are only sent when
+ * the subscriber has requested them. When the number of chunks waiting on demand
+ * reaches the max pending, the thread writing the json waits, so a slow client does
+ * not result in the whole response being held in memory. Writing is expected to be
+ * done on a virtual thread or a worker thread and not on an event loop thread.
+ * <p>
+ * The subscriber owns the ByteBuffers it is given. Only a single subscriber is supported.
+ *
+ * <pre>{@code
+ *
+ *   PublisherJsonOutput output = PublisherJsonOutput.of();
+ *   response.send(output);  // subscribe to the chunks
+ *
+ *   executor.execute(() -> {
+ *     try {
+ *       customerType.stream().toJson(customerStream, output);
+ *     } catch (Exception e) {
+ *       output.error(e);
+ *     }
+ *   });
+ *
+ * }</pre>
+ */
+public interface PublisherJsonOutput extends JsonOutput, Flow.Publisher<ByteBuffer> {
+
+  /**
+   * Create with a max of 4 chunks pending demand.
+   */
+  static PublisherJsonOutput of() {
+    return of(4);
+  }
+
+  /**
+   * Create with the given max number of chunks pending demand.
+   */
+  static PublisherJsonOutput of(int maxPending) {
+    if (maxPending < 1) {
+      throw new IllegalArgumentException("maxPending must be at least 1 but was " + maxPending);
+    }
+    return new DPublisherJsonOutput(maxPending);
+  }
+
+  /**
+   * Complete the content. The subscriber is completed once the remaining chunks are sent.
+   */
+  @Override
+  void close();
+
+  /**
+   * Signal an error to the subscriber (when writing the json content failed).
+   */
+  void error(Throwable error);
+}
@@ -0,0 +1,76 @@
+package io.avaje.json.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * JsonOutput that holds the content in memory as a chain of fixed size segments.
+ * <p>
+ * Each full generator buffer becomes a segment (handed over without copying) and the
+ * generator continues with another segment. Unlike writing to a single growing buffer
+ * there is no copying on resize and no large contiguous allocation for large content.
+ * The content is then used via {@link #buffers()} for gathering writes, or via
+ * {@link #inputStream()}.
+ * <p>
+ * After the content has been used, {@link #reset()} allows the instance and its
+ * segments to be reused for the next content. Not thread safe.
+ *
+ * <pre>{@code
+ *
+ *   SegmentedJsonOutput output = SegmentedJsonOutput.of();
+ *   jsonb.toJson(largeValue, output);
+ *
+ *   output.writeTo(socketChannel);
+ *   output.reset();
+ *
+ * }</pre>
+ */
+public interface SegmentedJsonOutput extends JsonOutput {
+
+  /**
+   * Create a SegmentedJsonOutput.
+   */
+  static SegmentedJsonOutput of() {
+    return new DSegmentedJsonOutput();
+  }
+
+  /**
+   * Return the total number of bytes of content.
+   */
+  long size();
+
+  /**
+   * Return the content as ByteBuffers (one per segment) for use with gathering writes.
+   * <p>
+   * The buffers wrap the segments and are only valid until {@link #reset()}.
+   */
+  ByteBuffer[] buffers();
+
+  /**
+   * Write all the content to the channel using gathering writes returning the bytes written.
+   */
+  long writeTo(GatheringByteChannel channel) throws IOException;
+
+  /**
+   * Return an InputStream to read the content.
+   */
+  InputStream inputStream();
+
+  /**
+   * Return the content as a single byte array.
+   */
+  byte[] toByteArray();
+
+  /**
+   * Clear the content keeping the segments for reuse.
+   */
+  void reset();
+
+  /**
+   * Does nothing, the content is held until {@link #reset()}.
+   */
+  @Override
+  void close();
+}
@@ -0,0 +1,84 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.JsonReader;
+import io.avaje.json.JsonWriter;
+import io.avaje.json.stream.*;
+
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Base JsonStream for the binary formats (CBOR and MessagePack).
+ * <p>
+ * With a binary format the content is read and written as bytes or streams, the String
+ * and Reader/Writer based methods are not supported.
+ */
+abstract class BinaryJsonStream implements JsonStream {
+
+  final boolean serializeNulls;
+  final boolean serializeEmpty;
+  final boolean failOnUnknown;
+  final boolean failOnNullPrimitives;
+  final BufferRecycler recycle;
+  private final String format;
+
+  BinaryJsonStream(
+      String format,
+      boolean serializeNulls,
+      boolean serializeEmpty,
+      boolean failOnUnknown,
+      boolean failOnNullPrimitives,
+      BufferRecycleStrategy recycle) {
+    this.format = format;
+    this.serializeNulls = serializeNulls;
+    this.serializeEmpty = serializeEmpty;
+    this.failOnUnknown = failOnUnknown;
+    this.failOnNullPrimitives = failOnNullPrimitives;
+    this.recycle = CoreJsonStream.init2Recycler(recycle);
+  }
+
+  private UnsupportedOperationException binaryFormat() {
+    return new UnsupportedOperationException(format + " is a binary format, read and write using bytes or streams");
+  }
+
+  @Override
+  public final JsonReader reader(String json) {
+    throw binaryFormat();
+  }
+
+  @Override
+  public final JsonReader reader(Reader reader) {
+    throw binaryFormat();
+  }
+
+  @Override
+  public final JsonAsyncReader asyncReader() {
+    return asyncReader(false);
+  }
+
+  @Override
+  public final JsonAsyncReader asyncReader(boolean arrayElements) {
+    return asyncReader(arrayElements, -1);
+  }
+
+  @Override
+  public final JsonAsyncReader asyncReader(boolean arrayElements, int maxValueSize) {
+    throw new UnsupportedOperationException("asyncReader is not supported for " + format);
+  }
+
+  @Override
+  public final JsonWriter writer(Writer writer) {
+    throw binaryFormat();
+  }
+
+  @Override
+  public final JsonWriter writer(OutputStream outputStream) {
+    return writer(JsonOutput.ofStream(outputStream));
+  }
+
+  @Override
+  public final BufferedJsonWriter bufferedWriter() {
+    throw binaryFormat();
+  }
+}
@@ -0,0 +1,71 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.PropertyNames;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Provides the property names pre-encoded as binary format text (header and UTF-8 bytes)
+ * such that names are written with a single copy and matched when reading without decoding.
+ */
+final class BinaryNames implements PropertyNames {
+
+  static final BinaryNames EMPTY = new BinaryNames(new String[0], null);
+
+  private final String[] names;
+  private final byte[][] keys;
+  private final int[] lengths;
+
+  private BinaryNames(String[] names, BinaryWriteAdapter.TextHeader header) {
+    this.names = names;
+    this.keys = new byte[names.length][];
+    this.lengths = new int[names.length];
+    for (int i = 0; i < names.length; i++) {
+      final byte[] utf8 = names[i].getBytes(StandardCharsets.UTF_8);
+      final byte[] buffer = new byte[BinaryWriteAdapter.MAX_HEADER + utf8.length];
+      final int headerLength = header.write(buffer, 0, utf8.length);
+      System.arraycopy(utf8, 0, buffer, headerLength, utf8.length);
+      keys[i] = Arrays.copyOf(buffer, headerLength + utf8.length);
+      lengths[i] = utf8.length;
+    }
+  }
+
+  /**
+   * Create given the text header of the format and the names.
+   */
+  static BinaryNames of(BinaryWriteAdapter.TextHeader header, String... names) {
+    return new BinaryNames(names, header);
+  }
+
+  int size() {
+    return names.length;
+  }
+
+  /**
+   * Return the encoded key (header and UTF-8 bytes) for the given position.
+   */
+  byte[] key(int pos) {
+    return keys[pos];
+  }
+
+  /**
+   * Return the name for the given position.
+   */
+  String name(int pos) {
+    return names[pos];
+  }
+
+  /**
+   * Return true if the UTF-8 content of the name matches the given bytes.
+   */
+  boolean matches(int pos, byte[] buffer, int offset, int length) {
+    final byte[] key = keys[pos];
+    return lengths[pos] == length && Arrays.equals(key, key.length - length, key.length, buffer, offset, offset + length);
+  }
+
+  @Override
+  public String toString() {
+    return String.join(",", names);
+  }
+}
@@ -0,0 +1,421 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.JsonDataException;
+import io.avaje.json.JsonEofException;
+import io.avaje.json.JsonIoException;
+import io.avaje.json.JsonReader;
+import io.avaje.json.JsonWriter;
+import io.avaje.json.PropertyNames;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Base JsonReader for the binary formats (CBOR and MessagePack).
+ * <p>
+ * Content given as bytes is read in place. Content from an InputStream is read into a
+ * buffer that is refilled (and grown for large strings) as needed, with large binary
+ * values read from the InputStream directly into the returned byte[]. This also tracks
+ * the remaining elements and expected names of the open arrays and maps.
+ */
+abstract class BinaryReadAdapter implements JsonReader {
+
+  final InputStream in;
+  final boolean failOnUnknown;
+  final boolean failOnNullPrimitives;
+  byte[] buffer;
+  int pos;
+  int limit;
+  /** Offset of the buffer start in the content, for reporting the location. */
+  private long consumed;
+
+  /** Remaining elements of each open array or map. */
+  long[] remaining = new long[16];
+  private BinaryNames[] names = new BinaryNames[16];
+  private int[] expected = new int[16];
+  int depth = -1;
+  private boolean streamArray;
+
+  BinaryReadAdapter(byte[] buffer, int limit, InputStream in, boolean failOnUnknown, boolean failOnNullPrimitives) {
+    this.buffer = buffer;
+    this.limit = limit;
+    this.in = in;
+    this.failOnUnknown = failOnUnknown;
+    this.failOnNullPrimitives = failOnNullPrimitives;
+  }
+
+  /**
+   * Return true if the initial byte starts an array.
+   */
+  abstract boolean isArray(int initial);
+
+  /**
+   * Read the start of a map and push it with the given names.
+   */
+  abstract void beginMap(BinaryNames objectNames);
+
+  @Override
+  public final <T> T unwrap(Class<T> type) {
+    return type.cast(this);
+  }
+
+  @Override
+  public final void close() {
+    if (in != null) {
+      try {
+        in.close();
+      } catch (IOException e) {
+        throw new JsonIoException(e);
+      }
+    }
+  }
+
+  @Override
+  public final void unmappedField(String fieldName) {
+    if (failOnUnknown) {
+      throw new IllegalStateException("Unknown property " + fieldName + " at " + location());
+    }
+  }
+
+  @Override
+  public final String location() {
+    return "offset " + (consumed + pos);
+  }
+
+  @Override
+  public final JsonReader streamArray(boolean streamArray) {
+    this.streamArray = streamArray;
+    return this;
+  }
+
+  /**
+   * Read the beginning of an array or a sequence of values (one after the other).
+   */
+  @Override
+  public final void beginStream() {
+    streamArray = !atEnd() && isArray(peek());
+    if (streamArray) {
+      beginArray();
+    }
+  }
+
+  @Override
+  public final boolean hasNextStreamElement() {
+    return streamArray ? hasNextElement() : !atEnd();
+  }
+
+  @Override
+  public final void endStream() {
+    if (streamArray) {
+      endArray();
+    }
+  }
+
+  @Override
+  public final void endArray() {
+    end();
+  }
+
+  @Override
+  public final boolean hasNextElement() {
+    return hasNext();
+  }
+
+  @Override
+  public final void beginObject(PropertyNames names) {
+    beginMap((BinaryNames) names);
+  }
+
+  @Override
+  public final void beginObject() {
+    beginMap(null);
+  }
+
+  @Override
+  public final void endObject() {
+    end();
+  }
+
+  @Override
+  public final boolean hasNextField() {
+    return hasNext();
+  }
+
+  /**
+   * Return the known name when the next key matches one (the expected next one first).
+   */
+  final String matchName(int length) {
+    final BinaryNames objectNames = names[depth];
+    if (objectNames == null) {
+      return null;
+    }
+    require(length);
+    final int count = objectNames.size();
+    final int start = expected[depth];
+    for (int i = 0; i < count; i++) {
+      final int index = (start + i) % count;
+      if (objectNames.matches(index, buffer, pos, length)) {
+        expected[depth] = index + 1;
+        pos += length;
+        return objectNames.name(index);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public final int readInt() {
+    if (failOnNullPrimitives && isNullValue()) throw new JsonDataException("Read NULL value for int");
+    final long value = readLong();
+    if ((int) value != value) {
+      throw new JsonDataException("Value " + value + " out of range for int at " + location());
+    }
+    return (int) value;
+  }
+
+  @Override
+  public final BigDecimal readDecimal() {
+    final Number number = readNumber();
+    if (number instanceof BigDecimal) {
+      return (BigDecimal) number;
+    } else if (number instanceof BigInteger) {
+      return new BigDecimal((BigInteger) number);
+    } else if (number instanceof Double) {
+      return BigDecimal.valueOf(number.doubleValue());
+    }
+    return BigDecimal.valueOf(number.longValue());
+  }
+
+  @Override
+  public final BigInteger readBigInteger() {
+    final Number number = readNumber();
+    if (number instanceof BigInteger) {
+      return (BigInteger) number;
+    } else if (number instanceof Long) {
+      return BigInteger.valueOf(number.longValue());
+    } else if (number instanceof BigDecimal) {
+      return ((BigDecimal) number).toBigInteger();
+    }
+    return BigDecimal.valueOf(number.doubleValue()).toBigInteger();
+  }
+
+  static BigInteger unsigned(long value) {
+    return BigInteger.valueOf(value >>> 1).shiftLeft(1).or(BigInteger.valueOf(value & 1));
+  }
+
+  /**
+   * Read the value converting it to json content.
+   */
+  @Override
+  public final String readRaw() {
+    final JGenerator generator = new JGenerator(512);
+    generator.prepare(null);
+    final JsonWriteAdapter writer = new JsonWriteAdapter(generator, BufferRecycler.nonRecyclingPool(), true, true);
+    copy(writer);
+    return generator.toString();
+  }
+
+  private void copy(JsonWriter writer) {
+    switch (currentToken()) {
+      case BEGIN_ARRAY:
+        beginArray();
+        writer.beginArray();
+        while (hasNextElement()) {
+          copy(writer);
+        }
+        endArray();
+        writer.endArray();
+        break;
+      case BEGIN_OBJECT:
+        beginObject();
+        writer.beginObject();
+        while (hasNextField()) {
+          writer.name(nextField());
+          copy(writer);
+        }
+        endObject();
+        writer.endObject();
+        break;
+      case STRING:
+        writer.value(readString());
+        break;
+      case BOOLEAN:
+        writer.value(readBoolean());
+        break;
+      case NULL:
+        isNullValue();
+        writer.nullValue();
+        break;
+      default:
+        final Number number = readNumber();
+        if (number instanceof Long) {
+          writer.value(number.longValue());
+        } else if (number instanceof Double) {
+          writer.value(number.doubleValue());
+        } else if (number instanceof BigInteger) {
+          writer.value((BigInteger) number);
+        } else {
+          writer.value((BigDecimal) number);
+        }
+    }
+  }
+
+  /**
+   * Push an array or map with the number of elements (or entries).
+   */
+  final void push(long count, BinaryNames objectNames) {
+    if (++depth == remaining.length) {
+      remaining = Arrays.copyOf(remaining, depth * 2);
+      names = Arrays.copyOf(names, depth * 2);
+      expected = Arrays.copyOf(expected, depth * 2);
+    }
+    remaining[depth] = count;
+    names[depth] = objectNames;
+    expected[depth] = 0;
+  }
+
+  boolean hasNext() {
+    final long count = remaining[depth];
+    if (count > 0) {
+      remaining[depth] = count - 1;
+      return true;
+    }
+    return false;
+  }
+
+  void end() {
+    if (remaining[depth] != 0) {
+      throw new JsonDataException("Expected end of array or map at " + location());
+    }
+    names[depth--] = null;
+  }
+
+  final JsonDataException unexpected(String expected, int initial) {
+    return new JsonDataException("Expected " + expected + " but got initial byte 0x" + Integer.toHexString(initial) + " at " + location());
+  }
+
+  /**
+   * Return the length checking that it is valid for a byte[].
+   */
+  final int checkLength(long length) {
+    if (length < 0 || length > Integer.MAX_VALUE - 8) {
+      throw new JsonDataException("Invalid length " + length + " at " + location());
+    }
+    return (int) length;
+  }
+
+  final String text(int length) {
+    require(length);
+    final String value = new String(buffer, pos, length, StandardCharsets.UTF_8);
+    pos += length;
+    return value;
+  }
+
+  /**
+   * Read binary content of the given length.
+   * <p>
+   * With an InputStream the bytes that are not already buffered are read directly into
+   * the returned byte[].
+   */
+  final byte[] binary(int length) {
+    final int available = limit - pos;
+    if (in == null || available >= length) {
+      require(length);
+      final byte[] value = Arrays.copyOfRange(buffer, pos, pos + length);
+      pos += length;
+      return value;
+    }
+    final byte[] value = new byte[length];
+    System.arraycopy(buffer, pos, value, 0, available);
+    consumed += limit;
+    pos = 0;
+    limit = 0;
+    try {
+      final int read = in.readNBytes(value, available, length - available);
+      consumed += read;
+      if (read < length - available) {
+        throw new JsonEofException("Unexpected end of content at " + location());
+      }
+    } catch (IOException e) {
+      throw new JsonIoException(e);
+    }
+    return value;
+  }
+
+  final int readUint16() {
+    require(2);
+    return ((buffer[pos++] & 0xFF) << 8) | (buffer[pos++] & 0xFF);
+  }
+
+  final int readInt32() {
+    require(4);
+    return ((buffer[pos++] & 0xFF) << 24)
+      | ((buffer[pos++] & 0xFF) << 16)
+      | ((buffer[pos++] & 0xFF) << 8)
+      | (buffer[pos++] & 0xFF);
+  }
+
+  final long readInt64() {
+    return ((long) readInt32() << 32) | (readInt32() & 0xFFFFFFFFL);
+  }
+
+  final int next() {
+    require(1);
+    return buffer[pos++] & 0xFF;
+  }
+
+  final int peek() {
+    require(1);
+    return buffer[pos] & 0xFF;
+  }
+
+  final void skip(int length) {
+    require(length);
+    pos += length;
+  }
+
+  final boolean atEnd() {
+    return pos == limit && !fill(1);
+  }
+
+  final void require(int length) {
+    if (limit - pos < length && !fill(length)) {
+      throw new JsonEofException("Unexpected end of content at " + location());
+    }
+  }
+
+  /**
+   * Read more content from the InputStream such that at least length bytes are available.
+   */
+  private boolean fill(int length) {
+    if (in == null) {
+      return false;
+    }
+    final int available = limit - pos;
+    if (pos > 0) {
+      System.arraycopy(buffer, pos, buffer, 0, available);
+      consumed += pos;
+      pos = 0;
+      limit = available;
+    }
+    if (length > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(length, buffer.length * 2));
+    }
+    try {
+      while (limit < length) {
+        final int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+          return false;
+        }
+        limit += read;
+      }
+      return true;
+    } catch (IOException e) {
+      throw new JsonIoException(e);
+    }
+  }
+}
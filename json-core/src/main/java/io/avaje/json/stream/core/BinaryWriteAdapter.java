@@ -0,0 +1,571 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.JsonReader;
+import io.avaje.json.JsonWriter;
+import io.avaje.json.PropertyNames;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base JsonWriter for the binary formats (CBOR and MessagePack).
+ * <p>
+ * This handles the names, nulls, empty collections, raw json and java values. The
+ * format specific encoding of the containers and values is left to the subclass with
+ * the content written into the buffer of a pooled generator.
+ */
+abstract class BinaryWriteAdapter implements JsonWriter {
+
+  /** Maximum length of the text header of the supported formats. */
+  static final int MAX_HEADER = 9;
+
+  /**
+   * Writes the header of a text value.
+   */
+  interface TextHeader {
+
+    /**
+     * Write the header for the given UTF-8 length returning the new position.
+     */
+    int write(byte[] buffer, int pos, int length);
+  }
+
+  final JGenerator generator;
+  private final BufferRecycler recycler;
+  private final TextHeader textHeader;
+  private boolean serializeEmpty;
+  private boolean serializeNulls;
+  private String deferredName;
+  private final ArrayDeque<BinaryNames> nameStack = new ArrayDeque<>();
+  private BinaryNames currentNames;
+  private boolean allNames;
+  private int namePos = -1;
+
+  BinaryWriteAdapter(JGenerator generator, BufferRecycler recycler, TextHeader textHeader, boolean serializeNulls, boolean serializeEmpty) {
+    this.generator = generator;
+    this.recycler = recycler;
+    this.textHeader = textHeader;
+    this.serializeNulls = serializeNulls;
+    this.serializeEmpty = serializeEmpty;
+  }
+
+  static int writeShort(byte[] buffer, int pos, int value) {
+    buffer[pos++] = (byte) (value >> 8);
+    buffer[pos++] = (byte) value;
+    return pos;
+  }
+
+  static int writeInt(byte[] buffer, int pos, int value) {
+    buffer[pos++] = (byte) (value >> 24);
+    buffer[pos++] = (byte) (value >> 16);
+    buffer[pos++] = (byte) (value >> 8);
+    buffer[pos++] = (byte) value;
+    return pos;
+  }
+
+  static int writeLong(byte[] buffer, int pos, long value) {
+    pos = writeInt(buffer, pos, (int) (value >> 32));
+    return writeInt(buffer, pos, (int) value);
+  }
+
+  /**
+   * Write the pending name, returning true if there was one.
+   */
+  final boolean writeName() {
+    if (namePos > -1) {
+      writeBytes(currentNames.key(namePos));
+      namePos = -1;
+      return true;
+    } else if (deferredName != null) {
+      writeText(deferredName);
+      deferredName = null;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Write the pending name (and whatever else the format needs) before a value.
+   */
+  abstract void beforeValue();
+
+  abstract void writeStartArray();
+
+  abstract void writeEndArray();
+
+  abstract void writeStartObject();
+
+  abstract void writeEndObject();
+
+  abstract void writeEmptyArray();
+
+  abstract void writeNull();
+
+  abstract void writeBoolean(boolean value);
+
+  abstract void writeLong(long value);
+
+  abstract void writeDouble(double value);
+
+  abstract void writeBigInteger(BigInteger value);
+
+  abstract void writeDecimal(BigDecimal value);
+
+  abstract void writeBinary(byte[] value);
+
+  @Override
+  public <T> T unwrap(Class<T> type) {
+    return type.cast(generator);
+  }
+
+  @Override
+  public void markIncomplete() {
+    generator.markIncomplete();
+  }
+
+  @Override
+  public void close() {
+    generator.close();
+    recycler.recycle(generator);
+  }
+
+  @Override
+  public void flush() {
+    generator.flush();
+  }
+
+  @Override
+  public final void pretty(boolean pretty) {
+    // not applicable to a binary format
+  }
+
+  @Override
+  public final void serializeNulls(boolean serializeNulls) {
+    this.serializeNulls = serializeNulls;
+  }
+
+  @Override
+  public final boolean serializeNulls() {
+    return serializeNulls;
+  }
+
+  @Override
+  public final boolean serializeEmpty() {
+    return serializeEmpty;
+  }
+
+  @Override
+  public final void serializeEmpty(boolean serializeEmpty) {
+    this.serializeEmpty = serializeEmpty;
+  }
+
+  @Override
+  public String path() {
+    return "offset " + generator.position();
+  }
+
+  @Override
+  public final void beginArray() {
+    beforeValue();
+    writeStartArray();
+  }
+
+  @Override
+  public final void endArray() {
+    writeEndArray();
+  }
+
+  @Override
+  public final void beginObject() {
+    beforeValue();
+    writeStartObject();
+    if (currentNames != null && !allNames) {
+      nameStack.addFirst(currentNames);
+      currentNames = BinaryNames.EMPTY;
+    }
+  }
+
+  @Override
+  public final void beginObject(PropertyNames names) {
+    beforeValue();
+    writeStartObject();
+    if (currentNames != null) {
+      nameStack.addFirst(currentNames);
+    }
+    currentNames = (BinaryNames) names;
+  }
+
+  @Override
+  public final void endObject() {
+    writeEndObject();
+    if (!allNames) {
+      currentNames = nameStack.pollFirst();
+    }
+  }
+
+  @Override
+  public final void name(String name) {
+    deferredName = name;
+  }
+
+  @Override
+  public final void allNames(PropertyNames names) {
+    allNames = true;
+    currentNames = (BinaryNames) names;
+  }
+
+  @Override
+  public final void name(int position) {
+    this.namePos = position;
+  }
+
+  @Override
+  public final void emptyArray() {
+    if (serializeEmpty) {
+      beforeValue();
+      writeEmptyArray();
+    } else if (namePos >= 0) {
+      namePos = -1;
+    } else if (deferredName != null) {
+      deferredName = null;
+    }
+  }
+
+  @Override
+  public final void nullValue() {
+    if (serializeNulls) {
+      beforeValue();
+      writeNull();
+    } else if (namePos >= 0) {
+      namePos = -1;
+    } else if (deferredName != null) {
+      deferredName = null;
+    }
+  }
+
+  @Override
+  public final void value(String value) {
+    if (value == null) {
+      nullValue();
+    } else {
+      beforeValue();
+      writeText(value);
+    }
+  }
+
+  @Override
+  public final void value(boolean value) {
+    beforeValue();
+    writeBoolean(value);
+  }
+
+  @Override
+  public final void value(int value) {
+    beforeValue();
+    writeLong(value);
+  }
+
+  @Override
+  public final void value(long value) {
+    beforeValue();
+    writeLong(value);
+  }
+
+  @Override
+  public final void value(double value) {
+    beforeValue();
+    writeDouble(value);
+  }
+
+  @Override
+  public final void value(Boolean value) {
+    if (value == null) {
+      nullValue();
+    } else {
+      value(value.booleanValue());
+    }
+  }
+
+  @Override
+  public final void value(Integer value) {
+    if (value == null) {
+      nullValue();
+    } else {
+      value(value.intValue());
+    }
+  }
+
+  @Override
+  public final void value(Long value) {
+    if (value == null) {
+      nullValue();
+    } else {
+      value(value.longValue());
+    }
+  }
+
+  @Override
+  public final void value(Double value) {
+    if (value == null) {
+      nullValue();
+    } else {
+      value(value.doubleValue());
+    }
+  }
+
+  @Override
+  public final void value(BigDecimal value) {
+    if (value == null) {
+      nullValue();
+    } else {
+      beforeValue();
+      writeDecimal(value);
+    }
+  }
+
+  @Override
+  public final void value(BigInteger value) {
+    if (value == null) {
+      nullValue();
+    } else {
+      beforeValue();
+      writeBigInteger(value);
+    }
+  }
+
+  @Override
+  public final void value(byte[] value) {
+    if (value == null) {
+      nullValue();
+    } else {
+      beforeValue();
+      writeBinary(value);
+    }
+  }
+
+  /**
+   * Convert the raw json content into the binary format.
+   */
+  @Override
+  public final void rawValue(String value) {
+    if (value == null) {
+      nullValue();
+    } else {
+      final byte[] json = value.getBytes(StandardCharsets.UTF_8);
+      // not using the pool as a pooled parser can be in use by the caller
+      final JsonParser parser = BufferRecycler.nonRecyclingPool().parser(json);
+      try (JsonReader reader = new JsonReadAdapter(parser, BufferRecycler.nonRecyclingPool(), false, false)) {
+        copy(reader);
+      }
+    }
+  }
+
+  private void copy(JsonReader reader) {
+    switch (reader.currentToken()) {
+      case BEGIN_ARRAY:
+        reader.beginArray();
+        beginArray();
+        while (reader.hasNextElement()) {
+          copy(reader);
+        }
+        reader.endArray();
+        endArray();
+        break;
+      case BEGIN_OBJECT:
+        reader.beginObject();
+        beginObject();
+        while (reader.hasNextField()) {
+          name(reader.nextField());
+          copy(reader);
+        }
+        reader.endObject();
+        endObject();
+        break;
+      case STRING:
+        value(reader.readString());
+        break;
+      case BOOLEAN:
+        value(reader.readBoolean());
+        break;
+      case NULL:
+        reader.isNullValue();
+        beforeValue();
+        writeNull();
+        break;
+      default:
+        final Number number = reader.readNumber();
+        if (number instanceof Long) {
+          value(number.longValue());
+        } else if (number instanceof Double) {
+          value(number.doubleValue());
+        } else if (number instanceof BigInteger) {
+          value((BigInteger) number);
+        } else {
+          value((BigDecimal) number);
+        }
+    }
+  }
+
+  @Override
+  public final void rawChunkStart() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public final void rawChunk(char value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public final void rawChunk(String value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public final void rawChunkEncode(String value) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public final void rawChunkEnd() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void writeNewLine() {
+    // binary values are self delimiting
+  }
+
+  @Override
+  public final void jsonValue(Object value) {
+    if (value instanceof Map<?, ?>) {
+      writeMap((Map<?, ?>) value);
+    } else if (value instanceof Collection<?>) {
+      writeCollection((Collection<?>) value);
+    } else if (value instanceof String) {
+      value((String) value);
+    } else if (value instanceof Boolean) {
+      value(((Boolean) value).booleanValue());
+    } else if (value instanceof Integer) {
+      value(((Integer) value).intValue());
+    } else if (value instanceof Long) {
+      value(((Long) value).longValue());
+    } else if (value instanceof Double) {
+      value(((Double) value).doubleValue());
+    } else if (value instanceof BigDecimal) {
+      value((BigDecimal) value);
+    } else if (value instanceof BigInteger) {
+      value((BigInteger) value);
+    } else if (value instanceof byte[]) {
+      value((byte[]) value);
+    } else if (value == null) {
+      nullValue();
+    } else {
+      throw new IllegalArgumentException("Unsupported type: " + value.getClass().getName());
+    }
+  }
+
+  private void writeCollection(Collection<?> value) {
+    beginArray();
+    for (Object element : value) {
+      jsonValue(element);
+    }
+    endArray();
+  }
+
+  private void writeMap(Map<?, ?> value) {
+    beginObject();
+    for (Map.Entry<?, ?> entry : value.entrySet()) {
+      Object key = entry.getKey();
+      if (!(key instanceof String)) {
+        throw new IllegalArgumentException(
+          key == null ? "Map keys must be non-null" : "Map keys must be of type String: " + key.getClass().getName());
+      }
+      name(((String) key));
+      jsonValue(entry.getValue());
+    }
+    endObject();
+  }
+
+  /**
+   * Return the generator buffer with space for length more bytes at the generator position.
+   */
+  byte[] ensureCapacity(int length) {
+    return generator.ensureCapacity(length);
+  }
+
+  final void writeByte(byte value) {
+    final byte[] buffer = ensureCapacity(1);
+    buffer[generator.position()] = value;
+    generator.advance(1);
+  }
+
+  final void writeBytes(byte[] value) {
+    writeBytes(value, 0, value.length);
+  }
+
+  final void writeBytes(byte[] value, int offset, int length) {
+    final byte[] buffer = ensureCapacity(length);
+    System.arraycopy(value, offset, buffer, generator.position(), length);
+    generator.advance(length);
+  }
+
+  final void writeText(String value) {
+    final int length = utf8Length(value);
+    final byte[] buffer = ensureCapacity(MAX_HEADER + length);
+    int pos = textHeader.write(buffer, generator.position(), length);
+    final int count = value.length();
+    for (int i = 0; i < count; i++) {
+      final char c = value.charAt(i);
+      if (c < 0x80) {
+        buffer[pos++] = (byte) c;
+      } else if (c < 0x800) {
+        buffer[pos++] = (byte) (0xC0 | (c >> 6));
+        buffer[pos++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        if (Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(value.charAt(i + 1))) {
+          final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+          buffer[pos++] = (byte) (0xF0 | (codePoint >> 18));
+          buffer[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+          buffer[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+          buffer[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+          // malformed surrogate replaced as per String.getBytes()
+          buffer[pos++] = '?';
+        }
+      } else {
+        buffer[pos++] = (byte) (0xE0 | (c >> 12));
+        buffer[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        buffer[pos++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    generator.advance(pos - generator.position());
+  }
+
+  private static int utf8Length(String value) {
+    final int count = value.length();
+    int length = count;
+    for (int i = 0; i < count; i++) {
+      final char c = value.charAt(i);
+      if (c >= 0x80) {
+        if (c < 0x800) {
+          length++;
+        } else if (Character.isSurrogate(c)) {
+          if (Character.isHighSurrogate(c) && i + 1 < count && Character.isLowSurrogate(value.charAt(i + 1))) {
+            // 4 bytes for the pair of chars
+            length += 2;
+            i++;
+          }
+        } else {
+          length += 2;
+        }
+      }
+    }
+    return length;
+  }
+}
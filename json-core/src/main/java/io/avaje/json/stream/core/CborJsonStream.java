@@ -0,0 +1,62 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.JsonReader;
+import io.avaje.json.JsonWriter;
+import io.avaje.json.PropertyNames;
+import io.avaje.json.stream.*;
+
+import java.io.InputStream;
+
+/**
+ * JsonStream implementation that reads and writes CBOR (RFC 8949) rather than json.
+ * <p>
+ * Writing uses the pooled generator buffers of the buffer recycle strategy.
+ */
+final class CborJsonStream extends BinaryJsonStream {
+
+  CborJsonStream(
+      boolean serializeNulls,
+      boolean serializeEmpty,
+      boolean failOnUnknown,
+      boolean failOnNullPrimitives,
+      BufferRecycleStrategy recycle) {
+    super("CBOR", serializeNulls, serializeEmpty, failOnUnknown, failOnNullPrimitives, recycle);
+  }
+
+  @Override
+  public PropertyNames properties(String... names) {
+    return BinaryNames.of(CborWriteAdapter::textHeader, names);
+  }
+
+  @Override
+  public JsonReader reader(byte[] content) {
+    return new CborReadAdapter(content, failOnUnknown, failOnNullPrimitives);
+  }
+
+  @Override
+  public JsonReader reader(InputStream inputStream) {
+    return new CborReadAdapter(inputStream, Recyclers.PARSER_BUFFER_SIZE, failOnUnknown, failOnNullPrimitives);
+  }
+
+  @Override
+  public JsonWriter writer(JsonOutput output) {
+    return wrap(recycle.generator(output));
+  }
+
+  @Override
+  public BytesJsonWriter bufferedWriterAsBytes() {
+    JsonGenerator generator = recycle.generator();
+    return new CoreJsonStream.BytesWriter(wrap(generator), generator);
+  }
+
+  @Override
+  public ArrayJsonWriter writer(byte[] dest, int offset) {
+    JsonGenerator generator = recycle.generator();
+    generator.writeInto(dest, offset);
+    return new CoreJsonStream.ArrayWriter(wrap(generator), generator);
+  }
+
+  private CborWriteAdapter wrap(JsonGenerator generator) {
+    return new CborWriteAdapter((JGenerator) generator, recycle, serializeNulls, serializeEmpty);
+  }
+}
@@ -0,0 +1,469 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.JsonDataException;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * JsonReader that reads CBOR (RFC 8949).
+ * <p>
+ * Content given as bytes is read in place. Content from an InputStream is read into a
+ * buffer that is refilled (and grown for large strings) as needed. Both definite and
+ * indefinite length arrays, maps and strings are supported.
+ */
+final class CborReadAdapter extends BinaryReadAdapter {
+
+  private static final int MAJOR_UINT = 0;
+  private static final int MAJOR_NEGATIVE = 1;
+  private static final int MAJOR_BYTES = 2;
+  private static final int MAJOR_TEXT = 3;
+  private static final int MAJOR_ARRAY = 4;
+  private static final int MAJOR_MAP = 5;
+  private static final int MAJOR_TAG = 6;
+  private static final int MAJOR_SIMPLE = 7;
+
+  private static final int FALSE = 0xF4;
+  private static final int TRUE = 0xF5;
+  private static final int NULL = 0xF6;
+  private static final int UNDEFINED = 0xF7;
+  private static final int FLOAT16 = 0xF9;
+  private static final int FLOAT32 = 0xFA;
+  private static final int FLOAT64 = 0xFB;
+  private static final int BREAK = 0xFF;
+  private static final long INDEFINITE = -1;
+
+  CborReadAdapter(byte[] content, boolean failOnUnknown, boolean failOnNullPrimitives) {
+    this(content, content.length, null, failOnUnknown, failOnNullPrimitives);
+  }
+
+  CborReadAdapter(InputStream in, int bufferSize, boolean failOnUnknown, boolean failOnNullPrimitives) {
+    this(new byte[bufferSize], 0, in, failOnUnknown, failOnNullPrimitives);
+  }
+
+  private CborReadAdapter(byte[] buffer, int limit, InputStream in, boolean failOnUnknown, boolean failOnNullPrimitives) {
+    super(buffer, limit, in, failOnUnknown, failOnNullPrimitives);
+  }
+
+  @Override
+  boolean isArray(int initial) {
+    return initial >> 5 == MAJOR_ARRAY;
+  }
+
+  @Override
+  public void beginArray() {
+    final int initial = nextSkipTags();
+    if (initial >> 5 != MAJOR_ARRAY) {
+      throw unexpected("array", initial);
+    }
+    push(argument(initial), null);
+  }
+
+  @Override
+  void beginMap(BinaryNames objectNames) {
+    final int initial = nextSkipTags();
+    if (initial >> 5 != MAJOR_MAP) {
+      throw unexpected("map", initial);
+    }
+    push(argument(initial), objectNames);
+  }
+
+  @Override
+  public String nextField() {
+    final int initial = next();
+    final int major = initial >> 5;
+    if (major == MAJOR_TEXT && (initial & 0x1F) != 31) {
+      final int length = length(initial);
+      final String known = matchName(length);
+      return known != null ? known : text(length);
+    }
+    if (major == MAJOR_TEXT) {
+      return new String(chunks(MAJOR_TEXT), StandardCharsets.UTF_8);
+    }
+    if (major == MAJOR_UINT || major == MAJOR_NEGATIVE) {
+      // integer map keys
+      final long value = argument(initial);
+      return Long.toString(major == MAJOR_UINT ? value : ~value);
+    }
+    throw unexpected("text map key", initial);
+  }
+
+  @Override
+  public boolean isNullValue() {
+    if (atEnd()) {
+      return false;
+    }
+    final int initial = peek();
+    if (initial == NULL || initial == UNDEFINED) {
+      pos++;
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean readBoolean() {
+    if (failOnNullPrimitives && isNullValue()) throw new JsonDataException("Read NULL value for boolean");
+    final int initial = nextSkipTags();
+    switch (initial) {
+      case TRUE:
+        return true;
+      case FALSE:
+      case NULL:
+      case UNDEFINED:
+        return false;
+      default:
+        throw unexpected("boolean", initial);
+    }
+  }
+
+  @Override
+  public long readLong() {
+    if (failOnNullPrimitives && isNullValue()) throw new JsonDataException("Read NULL value for long");
+    final int initial = next();
+    switch (initial >> 5) {
+      case MAJOR_UINT: {
+        final long value = argument(initial);
+        if (value < 0) {
+          throw new JsonDataException("Value out of range for long at " + location());
+        }
+        return value;
+      }
+      case MAJOR_NEGATIVE: {
+        final long value = argument(initial);
+        if (value < 0) {
+          throw new JsonDataException("Value out of range for long at " + location());
+        }
+        return ~value;
+      }
+      case MAJOR_SIMPLE:
+        if (initial == NULL || initial == UNDEFINED) {
+          return 0L;
+        }
+        return (long) floatValue(initial);
+      default:
+        // tagged bignum or decimal fraction
+        pos--;
+        return readNumber().longValue();
+    }
+  }
+
+  @Override
+  public double readDouble() {
+    if (failOnNullPrimitives && isNullValue()) throw new JsonDataException("Read NULL value for double");
+    final int initial = next();
+    switch (initial >> 5) {
+      case MAJOR_UINT:
+        return (double) argument(initial);
+      case MAJOR_NEGATIVE:
+        return (double) ~argument(initial);
+      case MAJOR_SIMPLE:
+        if (initial == NULL || initial == UNDEFINED) {
+          return 0D;
+        }
+        return floatValue(initial);
+      default:
+        // tagged bignum or decimal fraction
+        pos--;
+        return readNumber().doubleValue();
+    }
+  }
+
+  /**
+   * Read the number as Long, BigInteger (bignum), Double or BigDecimal (decimal fraction).
+   */
+  @Override
+  public Number readNumber() {
+    final int initial = next();
+    switch (initial >> 5) {
+      case MAJOR_UINT: {
+        final long value = argument(initial);
+        return value >= 0 ? (Number) value : unsigned(value);
+      }
+      case MAJOR_NEGATIVE: {
+        final long value = argument(initial);
+        return value >= 0 ? (Number) ~value : unsigned(value).not();
+      }
+      case MAJOR_SIMPLE:
+        return floatValue(initial);
+      case MAJOR_TAG:
+        return taggedNumber(argument(initial));
+      default:
+        throw unexpected("number", initial);
+    }
+  }
+
+  private Number taggedNumber(long tag) {
+    if (tag == CborWriteAdapter.TAG_POSITIVE_BIGNUM) {
+      return new BigInteger(1, readBinary());
+    } else if (tag == CborWriteAdapter.TAG_NEGATIVE_BIGNUM) {
+      return new BigInteger(1, readBinary()).not();
+    } else if (tag == CborWriteAdapter.TAG_DECIMAL_FRACTION) {
+      final int initial = next();
+      if (initial >> 5 != MAJOR_ARRAY || argument(initial) != 2) {
+        throw unexpected("decimal fraction", initial);
+      }
+      final long exponent = readLong();
+      return new BigDecimal(readBigInteger(), Math.toIntExact(-exponent));
+    }
+    // ignore other tags
+    return readNumber();
+  }
+
+  private double floatValue(int initial) {
+    switch (initial) {
+      case FLOAT16:
+        return halfToDouble(readUint16());
+      case FLOAT32:
+        return Float.intBitsToFloat(readInt32());
+      case FLOAT64:
+        return Double.longBitsToDouble(readInt64());
+      default:
+        throw unexpected("number", initial);
+    }
+  }
+
+  private static double halfToDouble(int half) {
+    final int exponent = (half >> 10) & 0x1F;
+    final int mantissa = half & 0x3FF;
+    final double value;
+    if (exponent == 0) {
+      value = Math.scalb((double) mantissa, -24);
+    } else if (exponent != 31) {
+      value = Math.scalb((double) (mantissa + 1024), exponent - 25);
+    } else {
+      value = mantissa == 0 ? Double.POSITIVE_INFINITY : Double.NaN;
+    }
+    return (half & 0x8000) != 0 ? -value : value;
+  }
+
+  /**
+   * Read a text string. A byte string is returned as base64 (as binary is in json).
+   */
+  @Override
+  public String readString() {
+    final int initial = nextSkipTags();
+    switch (initial >> 5) {
+      case MAJOR_TEXT:
+        if ((initial & 0x1F) == 31) {
+          return new String(chunks(MAJOR_TEXT), StandardCharsets.UTF_8);
+        }
+        return text(length(initial));
+      case MAJOR_BYTES:
+        pos--;
+        return Base64.getEncoder().encodeToString(readBinary());
+      default:
+        if (initial == NULL || initial == UNDEFINED) {
+          return null;
+        }
+        throw unexpected("text string", initial);
+    }
+  }
+
+  /**
+   * Read a byte string. A text string is decoded as base64 (as binary is in json).
+   */
+  @Override
+  public byte[] readBinary() {
+    final int initial = nextSkipTags();
+    switch (initial >> 5) {
+      case MAJOR_BYTES:
+        if ((initial & 0x1F) == 31) {
+          return chunks(MAJOR_BYTES);
+        }
+        return binary(length(initial));
+      case MAJOR_TEXT:
+        pos--;
+        return Base64.getDecoder().decode(readString());
+      default:
+        throw unexpected("byte string", initial);
+    }
+  }
+
+  @Override
+  public Token currentToken() {
+    int initial = peek();
+    while (initial >> 5 == MAJOR_TAG) {
+      final int tagLength = tagLength(initial);
+      require(tagLength);
+      final long tag = tagLength == 1 ? initial & 0x1F : bigEndian(pos + 1, tagLength - 1);
+      if (tag == CborWriteAdapter.TAG_POSITIVE_BIGNUM
+        || tag == CborWriteAdapter.TAG_NEGATIVE_BIGNUM
+        || tag == CborWriteAdapter.TAG_DECIMAL_FRACTION) {
+        // leave the tag to be read as a number
+        return Token.NUMBER;
+      }
+      // ignore other tags
+      pos += tagLength;
+      initial = peek();
+    }
+    switch (initial >> 5) {
+      case MAJOR_UINT:
+      case MAJOR_NEGATIVE:
+        return Token.NUMBER;
+      case MAJOR_BYTES:
+      case MAJOR_TEXT:
+        return Token.STRING;
+      case MAJOR_ARRAY:
+        return Token.BEGIN_ARRAY;
+      case MAJOR_MAP:
+        return Token.BEGIN_OBJECT;
+      default:
+        switch (initial) {
+          case TRUE:
+          case FALSE:
+            return Token.BOOLEAN;
+          case NULL:
+          case UNDEFINED:
+            return Token.NULL;
+          case FLOAT16:
+          case FLOAT32:
+          case FLOAT64:
+            return Token.NUMBER;
+          default:
+            throw unexpected("value", initial);
+        }
+    }
+  }
+
+  private static int tagLength(int initial) {
+    final int info = initial & 0x1F;
+    return info < 24 ? 1 : 1 + (1 << (info - 24));
+  }
+
+  private long bigEndian(int offset, int length) {
+    long value = 0;
+    for (int i = 0; i < length; i++) {
+      value = (value << 8) | (buffer[offset + i] & 0xFF);
+    }
+    return value;
+  }
+
+  @Override
+  public void skipValue() {
+    final int initial = next();
+    final int info = initial & 0x1F;
+    switch (initial >> 5) {
+      case MAJOR_UINT:
+      case MAJOR_NEGATIVE:
+      case MAJOR_SIMPLE:
+        if (info >= 24 && info < 28) {
+          skip(1 << (info - 24));
+        }
+        break;
+      case MAJOR_BYTES:
+      case MAJOR_TEXT:
+        if (info == 31) {
+          while (peek() != BREAK) {
+            skipValue();
+          }
+          pos++;
+        } else {
+          skip(length(initial));
+        }
+        break;
+      case MAJOR_ARRAY:
+      case MAJOR_MAP:
+        final long count = argument(initial);
+        final int perEntry = initial >> 5 == MAJOR_MAP ? 2 : 1;
+        if (count == INDEFINITE) {
+          while (peek() != BREAK) {
+            skipValue();
+          }
+          pos++;
+        } else {
+          for (long i = 0; i < count * perEntry; i++) {
+            skipValue();
+          }
+        }
+        break;
+      default:
+        argument(initial);
+        skipValue();
+    }
+  }
+
+  @Override
+  boolean hasNext() {
+    if (remaining[depth] == INDEFINITE) {
+      return peek() != BREAK;
+    }
+    return super.hasNext();
+  }
+
+  @Override
+  void end() {
+    if (remaining[depth] == INDEFINITE) {
+      if (next() != BREAK) {
+        throw new JsonDataException("Expected end of array or map at " + location());
+      }
+      remaining[depth] = 0;
+    }
+    super.end();
+  }
+
+  /**
+   * Read the chunks of an indefinite length byte or text string.
+   */
+  private byte[] chunks(int major) {
+    byte[] value = new byte[0];
+    int initial;
+    while ((initial = next()) != BREAK) {
+      if (initial >> 5 != major || (initial & 0x1F) == 31) {
+        throw unexpected("definite length string chunk", initial);
+      }
+      final int length = length(initial);
+      require(length);
+      final int prior = value.length;
+      value = Arrays.copyOf(value, prior + length);
+      System.arraycopy(buffer, pos, value, prior, length);
+      pos += length;
+    }
+    return value;
+  }
+
+  private int length(int initial) {
+    return checkLength(argument(initial));
+  }
+
+  /**
+   * Read the argument of the initial byte, returning INDEFINITE for indefinite length.
+   */
+  private long argument(int initial) {
+    final int info = initial & 0x1F;
+    if (info < 24) {
+      return info;
+    }
+    switch (info) {
+      case 24:
+        require(1);
+        return buffer[pos++] & 0xFF;
+      case 25:
+        return readUint16();
+      case 26:
+        return readInt32() & 0xFFFFFFFFL;
+      case 27:
+        return readInt64();
+      case 31:
+        return INDEFINITE;
+      default:
+        throw new JsonDataException("Invalid additional info " + info + " at " + location());
+    }
+  }
+
+  /**
+   * Return the next initial byte skipping over any tags.
+   */
+  private int nextSkipTags() {
+    int initial = next();
+    while (initial >> 5 == MAJOR_TAG) {
+      argument(initial);
+      initial = next();
+    }
+    return initial;
+  }
+}
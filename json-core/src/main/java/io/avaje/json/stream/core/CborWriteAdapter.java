@@ -0,0 +1,172 @@
+package io.avaje.json.stream.core;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * JsonWriter that writes CBOR (RFC 8949).
+ * <p>
+ * The content is written into the buffer of a pooled generator which takes care of
+ * enlarging or flushing to the target. Arrays and objects are written with indefinite
+ * length as the number of elements is not known up front.
+ */
+final class CborWriteAdapter extends BinaryWriteAdapter {
+
+  static final int MAJOR_UINT = 0x00;
+  static final int MAJOR_NEGATIVE = 0x20;
+  static final int MAJOR_BYTES = 0x40;
+  static final int MAJOR_TEXT = 0x60;
+  static final int MAJOR_ARRAY = 0x80;
+  static final int MAJOR_MAP = 0xA0;
+  static final int MAJOR_TAG = 0xC0;
+
+  static final int TAG_POSITIVE_BIGNUM = 2;
+  static final int TAG_NEGATIVE_BIGNUM = 3;
+  static final int TAG_DECIMAL_FRACTION = 4;
+
+  static final byte FALSE = (byte) 0xF4;
+  static final byte TRUE = (byte) 0xF5;
+  static final byte NULL = (byte) 0xF6;
+  static final byte FLOAT32 = (byte) 0xFA;
+  static final byte FLOAT64 = (byte) 0xFB;
+  static final byte BREAK = (byte) 0xFF;
+  static final byte ARRAY_START = (byte) 0x9F;
+  static final byte MAP_START = (byte) 0xBF;
+
+  CborWriteAdapter(JGenerator generator, BufferRecycler recycler, boolean serializeNulls, boolean serializeEmpty) {
+    super(generator, recycler, CborWriteAdapter::textHeader, serializeNulls, serializeEmpty);
+  }
+
+  /**
+   * Write the header for the major type and argument returning the new position.
+   */
+  static int header(byte[] buffer, int pos, int major, long value) {
+    if (value < 24) {
+      buffer[pos++] = (byte) (major | value);
+    } else if (value < 0x100) {
+      buffer[pos++] = (byte) (major | 24);
+      buffer[pos++] = (byte) value;
+    } else if (value < 0x10000) {
+      buffer[pos++] = (byte) (major | 25);
+      pos = writeShort(buffer, pos, (int) value);
+    } else if (value < 0x100000000L) {
+      buffer[pos++] = (byte) (major | 26);
+      pos = writeInt(buffer, pos, (int) value);
+    } else {
+      buffer[pos++] = (byte) (major | 27);
+      pos = writeLong(buffer, pos, value);
+    }
+    return pos;
+  }
+
+  /**
+   * Write the text string header returning the new position.
+   */
+  static int textHeader(byte[] buffer, int pos, int length) {
+    return header(buffer, pos, MAJOR_TEXT, length);
+  }
+
+  @Override
+  void beforeValue() {
+    writeName();
+  }
+
+  @Override
+  void writeStartArray() {
+    writeByte(ARRAY_START);
+  }
+
+  @Override
+  void writeEndArray() {
+    writeByte(BREAK);
+  }
+
+  @Override
+  void writeStartObject() {
+    writeByte(MAP_START);
+  }
+
+  @Override
+  void writeEndObject() {
+    writeByte(BREAK);
+  }
+
+  @Override
+  void writeEmptyArray() {
+    writeByte((byte) MAJOR_ARRAY);
+  }
+
+  @Override
+  void writeNull() {
+    writeByte(NULL);
+  }
+
+  @Override
+  void writeBoolean(boolean value) {
+    writeByte(value ? TRUE : FALSE);
+  }
+
+  @Override
+  void writeBinary(byte[] value) {
+    writeHeader(MAJOR_BYTES, value.length);
+    writeBytes(value);
+  }
+
+  private void writeHeader(int major, long value) {
+    final byte[] buffer = ensureCapacity(9);
+    final int start = generator.position();
+    generator.advance(header(buffer, start, major, value) - start);
+  }
+
+  @Override
+  void writeLong(long value) {
+    if (value >= 0) {
+      writeHeader(MAJOR_UINT, value);
+    } else {
+      writeHeader(MAJOR_NEGATIVE, ~value);
+    }
+  }
+
+  @Override
+  void writeDouble(double value) {
+    final float floatValue = (float) value;
+    if (floatValue == value || Double.isNaN(value)) {
+      // use single precision when no precision is lost
+      final byte[] buffer = ensureCapacity(5);
+      int pos = generator.position();
+      buffer[pos++] = FLOAT32;
+      writeInt(buffer, pos, Float.floatToIntBits(floatValue));
+      generator.advance(5);
+    } else {
+      final byte[] buffer = ensureCapacity(9);
+      int pos = generator.position();
+      buffer[pos++] = FLOAT64;
+      writeLong(buffer, pos, Double.doubleToLongBits(value));
+      generator.advance(9);
+    }
+  }
+
+  @Override
+  void writeBigInteger(BigInteger value) {
+    if (value.bitLength() < 64) {
+      writeLong(value.longValue());
+      return;
+    }
+    final boolean negative = value.signum() < 0;
+    writeHeader(MAJOR_TAG, negative ? TAG_NEGATIVE_BIGNUM : TAG_POSITIVE_BIGNUM);
+    final byte[] bytes = (negative ? value.not() : value).toByteArray();
+    // skip the sign byte
+    final int offset = bytes[0] == 0 ? 1 : 0;
+    final int length = bytes.length - offset;
+    writeHeader(MAJOR_BYTES, length);
+    writeBytes(bytes, offset, length);
+  }
+
+  @Override
+  void writeDecimal(BigDecimal value) {
+    writeHeader(MAJOR_TAG, TAG_DECIMAL_FRACTION);
+    writeHeader(MAJOR_ARRAY, 2);
+    writeLong(-(long) value.scale());
+    writeBigInteger(value.unscaledValue());
+  }
+}
@@ -31,7 +31,7 @@ final class CoreJsonStream implements JsonStream {
     this.recycle = init2Recycler(recycle);
   }
 
-  private static BufferRecycler init2Recycler(BufferRecycleStrategy recycle) {
+  static BufferRecycler init2Recycler(BufferRecycleStrategy recycle) {
     switch (recycle) {
       case NO_RECYCLING: return BufferRecycler.nonRecyclingPool();
       case LOCK_FREE: return BufferRecycler.lockFreePool();
@@ -111,6 +111,13 @@ final class CoreJsonStream implements JsonStream {
     return new BytesWriter(wrap(generator), generator);
   }
 
+  @Override
+  public ArrayJsonWriter writer(byte[] dest, int offset) {
+    JsonGenerator generator = recycle.generator();
+    generator.writeInto(dest, offset);
+    return new ArrayWriter(wrap(generator), generator);
+  }
+
   private JsonGenerator gen(JsonOutput output) {
     return recycle.generator(output);
   }
@@ -134,11 +141,11 @@ final class CoreJsonStream implements JsonStream {
     }
   }
 
-  private static class BytesWriter extends DelegateJsonWriter implements BytesJsonWriter {
+  static final class BytesWriter extends DelegateJsonWriter implements BytesJsonWriter {
 
     private final JsonGenerator generator;
 
-    public BytesWriter(JsonWriteAdapter delegate, JsonGenerator generator) {
+    BytesWriter(JsonWriter delegate, JsonGenerator generator) {
       super(delegate);
       this.generator = generator;
     }
@@ -148,4 +155,19 @@ final class CoreJsonStream implements JsonStream {
       return generator.toByteArray();
     }
   }
+
+  static final class ArrayWriter extends DelegateJsonWriter implements ArrayJsonWriter {
+
+    private final JsonGenerator generator;
+
+    ArrayWriter(JsonWriter delegate, JsonGenerator generator) {
+      super(delegate);
+      this.generator = generator;
+    }
+
+    @Override
+    public int result() {
+      return generator.writtenLength();
+    }
+  }
 }
@@ -91,41 +91,92 @@ final class HybridBufferRecycler implements BufferRecycler {
 
     private static final int CACHE_LINE_PADDING = 1 << CACHE_LINE_SHIFT;
 
-    private final XorShiftThreadProbe threadProbe;
-
-    private final AtomicReferenceArray<JNode> generatorStacks;
-    private final AtomicReferenceArray<PNode> parserStacks;
+    /** Replaced on drain or resize, buffers from prior stripes are dropped when recycled. */
+    private volatile Stripes stripes;
 
     private StripedLockFreePool(int stripesCount) {
-      final int size = roundToPowerOfTwo(stripesCount);
-      this.generatorStacks = new AtomicReferenceArray<>(size * CACHE_LINE_PADDING);
-      this.parserStacks = new AtomicReferenceArray<>(size * CACHE_LINE_PADDING);
-
-      int mask = (size - 1) << CACHE_LINE_SHIFT;
-      this.threadProbe = new XorShiftThreadProbe(mask);
+      this.stripes = new Stripes(stripesCount);
     }
 
     static StripedLockFreePool shared() {
       return INSTANCE;
     }
 
+    /**
+     * Drop all the pooled buffers keeping the number of stripes.
+     */
+    void drain() {
+      stripes = new Stripes(stripes.count);
+    }
+
+    /**
+     * Drop all the pooled buffers and use the given number of stripes.
+     */
+    void resize(int stripesCount) {
+      stripes = new Stripes(stripesCount);
+    }
+
+    int stripeCount() {
+      return stripes.count;
+    }
+
     @Override
     public JsonParser parser(byte[] bytes) {
-      return parser().process(bytes, bytes.length);
+      return stripes.parser().process(bytes, bytes.length);
     }
 
     @Override
     public JsonParser parser(InputStream in) {
-      return parser().process(in);
+      return stripes.parser().process(in);
     }
 
     @Override
     public JsonGenerator generator(JsonOutput target) {
+      return stripes.generator(target);
+    }
+
+    @Override
+    public void recycle(JsonGenerator recycler) {
+      var generator = (VThreadJGenerator) recycler;
+      final Stripes current = stripes;
+      if (generator.stripes == current) {
+        current.recycle(generator);
+      }
+    }
+
+    @Override
+    public void recycle(JsonParser recycler) {
+      var parser = (VThreadJParser) recycler;
+      final Stripes current = stripes;
+      if (parser.stripes == current) {
+        current.recycle(parser);
+      }
+    }
+  }
+
+  private static final class Stripes {
+
+    private final int count;
+    private final XorShiftThreadProbe threadProbe;
+    private final AtomicReferenceArray<JNode> generatorStacks;
+    private final AtomicReferenceArray<PNode> parserStacks;
+
+    Stripes(int stripesCount) {
+      final int size = roundToPowerOfTwo(stripesCount);
+      this.count = size;
+      this.generatorStacks = new AtomicReferenceArray<>(size * StripedLockFreePool.CACHE_LINE_PADDING);
+      this.parserStacks = new AtomicReferenceArray<>(size * StripedLockFreePool.CACHE_LINE_PADDING);
+
+      int mask = (size - 1) << StripedLockFreePool.CACHE_LINE_SHIFT;
+      this.threadProbe = new XorShiftThreadProbe(mask);
+    }
+
+    JsonGenerator generator(JsonOutput target) {
       final int index = threadProbe.index();
       var currentHead = generatorStacks.get(index);
       while (true) {
         if (currentHead == null) {
-          return new VThreadJGenerator(index).prepare(target);
+          return new VThreadJGenerator(this, index).prepare(target);
         }
 
         if (generatorStacks.compareAndSet(index, currentHead, currentHead.next)) {
@@ -137,13 +188,13 @@ final class HybridBufferRecycler implements BufferRecycler {
       }
     }
 
-    private JsonParser parser() {
+    JParser parser() {
       int index = threadProbe.index();
 
       var currentHead = parserStacks.get(index);
       while (true) {
         if (currentHead == null) {
-          return new VThreadJParser(index);
+          return new VThreadJParser(this, index);
         }
 
         if (parserStacks.compareAndSet(index, currentHead, currentHead.next)) {
@@ -155,9 +206,7 @@ final class HybridBufferRecycler implements BufferRecycler {
       }
     }
 
-    @Override
-    public void recycle(JsonGenerator recycler) {
-      var vThreadBufferRecycler = (VThreadJGenerator) recycler;
+    void recycle(VThreadJGenerator vThreadBufferRecycler) {
       var newHead = new JNode(vThreadBufferRecycler);
 
       var next = generatorStacks.get(vThreadBufferRecycler.slot);
@@ -172,9 +221,7 @@ final class HybridBufferRecycler implements BufferRecycler {
       }
     }
 
-    @Override
-    public void recycle(JsonParser recycler) {
-      var vThreadBufferRecycler = (VThreadJParser) recycler;
+    void recycle(VThreadJParser vThreadBufferRecycler) {
       var newHead = new PNode(vThreadBufferRecycler);
 
       var next = parserStacks.get(vThreadBufferRecycler.slot);
@@ -211,18 +258,21 @@ final class HybridBufferRecycler implements BufferRecycler {
   }
 
   private static final class VThreadJGenerator extends JGenerator {
+    private final Stripes stripes;
     private final int slot;
 
-    private VThreadJGenerator(int slot) {
+    private VThreadJGenerator(Stripes stripes, int slot) {
       super(Recyclers.GENERATOR_BUFFER_SIZE);
+      this.stripes = stripes;
       this.slot = slot;
     }
   }
 
   private static final class VThreadJParser extends JParser {
+    private final Stripes stripes;
     private final int slot;
 
-    private VThreadJParser(int slot) {
+    private VThreadJParser(Stripes stripes, int slot) {
       super(
         new char[Recyclers.PARSER_CHAR_BUFFER_SIZE],
         new byte[Recyclers.PARSER_BUFFER_SIZE],
@@ -232,6 +282,7 @@ final class HybridBufferRecycler implements BufferRecycler {
         JParser.UnknownNumberParsing.BIGDECIMAL,
         100,
         50_000);
+      this.stripes = stripes;
       this.slot = slot;
     }
   }
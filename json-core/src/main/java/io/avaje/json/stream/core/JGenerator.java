@@ -68,6 +68,10 @@ class JGenerator implements JsonGenerator {
   private JsonNames currentNames;
   private boolean allNames;
   private boolean incomplete;
+  /** The generator's own buffer while writing into a given array. */
+  private byte[] ownBuffer;
+  private byte[] intoDest;
+  private int intoOffset;
 
   JGenerator() {
     this(512);
@@ -97,10 +101,46 @@ class JGenerator implements JsonGenerator {
     return this;
   }
 
+  @Override
+  public void writeInto(byte[] dest, int offset) {
+    ownBuffer = buffer;
+    intoDest = dest;
+    intoOffset = offset;
+    buffer = dest;
+    position = offset;
+  }
+
+  @Override
+  public int writtenLength() {
+    final int length = position - intoOffset;
+    if (buffer != intoDest) {
+      if (position > intoDest.length) {
+        return -length;
+      }
+      // enlarged for padding but the content fits
+      System.arraycopy(buffer, intoOffset, intoDest, intoOffset, length);
+    }
+    return length;
+  }
+
   int position() {
     return position;
   }
 
+  /**
+   * Return the buffer holding the content up to the position.
+   */
+  byte[] buffer() {
+    return buffer;
+  }
+
+  /**
+   * Discard the content after it has been written elsewhere.
+   */
+  void reset() {
+    position = 0;
+  }
+
   byte[] ensureCapacity(final int free) {
     if (position + free >= buffer.length) {
       enlargeOrFlush(position, free);
@@ -115,7 +155,7 @@ class JGenerator implements JsonGenerator {
   private void enlargeOrFlush(final int size, final int padding) {
     if (target != null) {
       try {
-        target.write(buffer, 0, size);
+        buffer = target.writeAndSwap(buffer, size);
       } catch (IOException ex) {
         throw new JsonIoException("Unable to write to target stream.", ex);
       }
@@ -466,6 +506,12 @@ class JGenerator implements JsonGenerator {
 
   @Override
   public void close() {
+    if (ownBuffer != null) {
+      buffer = ownBuffer;
+      ownBuffer = null;
+      intoDest = null;
+      intoOffset = 0;
+    }
     if (incomplete) return;
     flush();
   }
@@ -539,6 +585,9 @@ class JGenerator implements JsonGenerator {
 
   @Override
   public void startArray() {
+    if (lastOp == OP_END) {
+      writeByte(COMMA);
+    }
     writeByte(ARRAY_START);
     lastOp = OP_START;
     if (pretty) {
@@ -571,9 +620,21 @@ class JGenerator implements JsonGenerator {
 
   @Override
   public void writeName(int namePos) {
-    prefixName();
-    writeAscii(currentNames.key(namePos));
-    writeColon();
+    if (pretty) {
+      prefixName();
+      writeAscii(currentNames.key(namePos));
+      writeColon();
+      return;
+    }
+    final byte[] prefix = currentNames.prefix(namePos);
+    final int offset = lastOp == OP_END ? 0 : 1;
+    final int len = prefix.length - offset;
+    if (position + len >= buffer.length) {
+      enlargeOrFlush(position, len);
+    }
+    System.arraycopy(prefix, offset, buffer, position, len);
+    position += len;
+    lastOp = OP_FIELD;
   }
 
   @Override
@@ -133,6 +133,7 @@ class JParser implements JsonParser {
     length = 0;
     readLimit = 0;
     nameStack.clear();
+    currentNames = null;
     stream = null;
   }
 
@@ -245,6 +246,13 @@ class JParser implements JsonParser {
     return available;
   }
 
+  /**
+   * Return true when reading from an InputStream (rather than a complete byte[]).
+   */
+  final boolean isStreaming() {
+    return stream != null;
+  }
+
   final boolean isEndOfStream() {
     if (stream == null) {
       return length == currentIndex;
@@ -398,6 +406,11 @@ class JParser implements JsonParser {
     return NumberParser.deserializeDecimal(this);
   }
 
+  @Override
+  public final Number readNumber() {
+    return NumberParser.deserializeNumber(this);
+  }
+
   @Override
   public final BigInteger readBigInteger() {
     return NumberParser.deserializeBigInt(this);
@@ -162,4 +162,15 @@ interface JsonGenerator extends Closeable, Flushable {
    * reference to stream will be released.
    */
   JsonGenerator prepare(JsonOutput targetStream);
+
+  /**
+   * Write into the given array starting at the offset (until closed).
+   */
+  void writeInto(byte[] dest, int offset);
+
+  /**
+   * Return the number of bytes written into the array, or the negative of the
+   * required number of bytes when the content did not fit.
+   */
+  int writtenLength();
 }
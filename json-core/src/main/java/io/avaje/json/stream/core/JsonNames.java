@@ -12,11 +12,22 @@ final class JsonNames implements PropertyNames {
 
   static final JsonNames EMPTY = new JsonNames(new byte[0][0], Collections.emptyMap());
   private final byte[][] nameArray;
+  /** The names as {@code ,"name":} such that a field prefix is written with a single copy. */
+  private final byte[][] prefixArray;
   private final Map<Integer, String> nameHash;
 
   JsonNames(byte[][] nameArray, Map<Integer, String> nameHash) {
     this.nameArray = nameArray;
     this.nameHash = nameHash;
+    this.prefixArray = new byte[nameArray.length][];
+    for (int i = 0; i < nameArray.length; i++) {
+      final byte[] key = nameArray[i];
+      final byte[] prefix = new byte[key.length + 2];
+      prefix[0] = ',';
+      System.arraycopy(key, 0, prefix, 1, key.length);
+      prefix[prefix.length - 1] = ':';
+      prefixArray[i] = prefix;
+    }
   }
 
   /**
@@ -44,6 +55,13 @@ final class JsonNames implements PropertyNames {
     return nameArray[namePos];
   }
 
+  /**
+   * Return the field prefix {@code ,"name":} (skip the first byte when no comma is needed).
+   */
+  byte[] prefix(int namePos) {
+    return prefixArray[namePos];
+  }
+
   String lookup(int hash) {
      return nameHash.get(hash);
   }
@@ -113,6 +113,11 @@ interface JsonParser extends Closeable {
    */
   BigDecimal readDecimal();
 
+  /**
+   * Read and return a number as Long, Double, BigInteger or BigDecimal based on the content.
+   */
+  Number readNumber();
+
   /**
    * Read and return a BigInteger value.
    */
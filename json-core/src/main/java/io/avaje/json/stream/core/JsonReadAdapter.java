@@ -118,6 +118,11 @@ final class JsonReadAdapter implements JsonReader {
     return reader.readDecimal();
   }
 
+  @Override
+  public Number readNumber() {
+    return reader.readNumber();
+  }
+
   @Override
   public BigInteger readBigInteger() {
     return reader.readBigInteger();
@@ -13,6 +13,8 @@ public final class JsonStreamBuilder implements JsonStream.Builder {
   private boolean serializeEmpty;
   private boolean failOnUnknown;
   private boolean failOnNullPrimitives;
+  private boolean cbor;
+  private boolean msgpack;
 
   /**
    * Set to true to serialize nulls. Defaults to false.
@@ -56,11 +58,41 @@ public final class JsonStreamBuilder implements JsonStream.Builder {
     return this;
   }
 
+  /**
+   * Set to true to read and write CBOR (RFC 8949) rather than json.
+   * <p>
+   * The same adapters are used with CBOR being a compact binary format. Content
+   * must then be read and written as bytes or streams (not as String).
+   */
+  @Override
+  public JsonStreamBuilder cbor(boolean cbor) {
+    this.cbor = cbor;
+    return this;
+  }
+
+  /**
+   * Set to true to read and write MessagePack rather than json.
+   * <p>
+   * Like CBOR the content must then be read and written as bytes or streams. A top level
+   * stream of values is written as MessagePack values one after the other.
+   */
+  @Override
+  public JsonStreamBuilder msgpack(boolean msgpack) {
+    this.msgpack = msgpack;
+    return this;
+  }
+
   /**
    * Build and return the JsonStream.
    */
   @Override
   public JsonStream build() {
+    if (cbor) {
+      return new CborJsonStream(serializeNulls, serializeEmpty, failOnUnknown, failOnNullPrimitives, strategy);
+    }
+    if (msgpack) {
+      return new MsgPackJsonStream(serializeNulls, serializeEmpty, failOnUnknown, failOnNullPrimitives, strategy);
+    }
     return new CoreJsonStream(serializeNulls, serializeEmpty, failOnUnknown, failOnNullPrimitives, strategy);
   }
 }
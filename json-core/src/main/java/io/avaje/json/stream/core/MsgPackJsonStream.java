@@ -0,0 +1,66 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.JsonReader;
+import io.avaje.json.JsonWriter;
+import io.avaje.json.PropertyNames;
+import io.avaje.json.stream.*;
+
+import java.io.InputStream;
+
+/**
+ * JsonStream implementation that reads and writes MessagePack rather than json.
+ * <p>
+ * Writing uses the pooled generator buffers of the buffer recycle strategy.
+ */
+final class MsgPackJsonStream extends BinaryJsonStream {
+
+  MsgPackJsonStream(
+      boolean serializeNulls,
+      boolean serializeEmpty,
+      boolean failOnUnknown,
+      boolean failOnNullPrimitives,
+      BufferRecycleStrategy recycle) {
+    super("MessagePack", serializeNulls, serializeEmpty, failOnUnknown, failOnNullPrimitives, recycle);
+  }
+
+  @Override
+  public PropertyNames properties(String... names) {
+    return BinaryNames.of(MsgPackWriteAdapter::strHeader, names);
+  }
+
+  @Override
+  public JsonReader reader(byte[] content) {
+    return new MsgPackReadAdapter(content, failOnUnknown, failOnNullPrimitives);
+  }
+
+  @Override
+  public JsonReader reader(InputStream inputStream) {
+    return new MsgPackReadAdapter(inputStream, Recyclers.PARSER_BUFFER_SIZE, failOnUnknown, failOnNullPrimitives);
+  }
+
+  /**
+   * Return a writer that holds the content in a pooled buffer until each top level value
+   * ends and then writes it to the output.
+   */
+  @Override
+  public JsonWriter writer(JsonOutput output) {
+    return wrap(recycle.generator(), output);
+  }
+
+  @Override
+  public BytesJsonWriter bufferedWriterAsBytes() {
+    JsonGenerator generator = recycle.generator();
+    return new CoreJsonStream.BytesWriter(wrap(generator, null), generator);
+  }
+
+  @Override
+  public ArrayJsonWriter writer(byte[] dest, int offset) {
+    JsonGenerator generator = recycle.generator();
+    generator.writeInto(dest, offset);
+    return new CoreJsonStream.ArrayWriter(wrap(generator, null), generator);
+  }
+
+  private MsgPackWriteAdapter wrap(JsonGenerator generator, JsonOutput output) {
+    return new MsgPackWriteAdapter((JGenerator) generator, output, recycle, serializeNulls, serializeEmpty);
+  }
+}
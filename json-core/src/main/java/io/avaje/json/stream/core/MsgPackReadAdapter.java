@@ -0,0 +1,362 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.JsonDataException;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Base64;
+
+import static io.avaje.json.stream.core.MsgPackWriteAdapter.*;
+
+/**
+ * JsonReader that reads MessagePack.
+ * <p>
+ * Values written one after the other are read as a stream. The timestamp extension type is
+ * read as an ISO-8601 instant string.
+ */
+final class MsgPackReadAdapter extends BinaryReadAdapter {
+
+  private static final int EXT8 = 0xC7;
+  private static final int EXT16 = 0xC8;
+  private static final int EXT32 = 0xC9;
+  private static final int FIXEXT1 = 0xD4;
+  private static final int FIXEXT16 = 0xD8;
+  private static final int TIMESTAMP_TYPE = -1;
+
+  MsgPackReadAdapter(byte[] content, boolean failOnUnknown, boolean failOnNullPrimitives) {
+    this(content, content.length, null, failOnUnknown, failOnNullPrimitives);
+  }
+
+  MsgPackReadAdapter(InputStream in, int bufferSize, boolean failOnUnknown, boolean failOnNullPrimitives) {
+    this(new byte[bufferSize], 0, in, failOnUnknown, failOnNullPrimitives);
+  }
+
+  private MsgPackReadAdapter(byte[] buffer, int limit, InputStream in, boolean failOnUnknown, boolean failOnNullPrimitives) {
+    super(buffer, limit, in, failOnUnknown, failOnNullPrimitives);
+  }
+
+  @Override
+  public void beginArray() {
+    final int type = next();
+    if (!isArray(type)) {
+      throw unexpected("array", type);
+    }
+    push(containerSize(type), null);
+  }
+
+  @Override
+  void beginMap(BinaryNames objectNames) {
+    final int type = next();
+    if (!isMap(type)) {
+      throw unexpected("map", type);
+    }
+    push(containerSize(type), objectNames);
+  }
+
+  @Override
+  public String nextField() {
+    final int type = next();
+    if (isStr(type)) {
+      final int length = strLength(type);
+      final String known = matchName(length);
+      return known != null ? known : text(length);
+    }
+    if (isInteger(type)) {
+      // integer map keys
+      return integer(type).toString();
+    }
+    throw unexpected("str map key", type);
+  }
+
+  @Override
+  public boolean isNullValue() {
+    if (!atEnd() && peek() == (NIL & 0xFF)) {
+      pos++;
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean readBoolean() {
+    if (failOnNullPrimitives && isNullValue()) throw new JsonDataException("Read NULL value for boolean");
+    final int type = next();
+    if (type == (TRUE & 0xFF)) {
+      return true;
+    } else if (type == (FALSE & 0xFF) || type == (NIL & 0xFF)) {
+      return false;
+    }
+    throw unexpected("boolean", type);
+  }
+
+  @Override
+  public long readLong() {
+    if (failOnNullPrimitives && isNullValue()) throw new JsonDataException("Read NULL value for long");
+    final int type = peek();
+    if (type < 0x80 || type >= 0xE0) {
+      // positive or negative fixint
+      pos++;
+      return (byte) type;
+    }
+    final Number number = readNumber();
+    if (number instanceof BigInteger) {
+      throw new JsonDataException("Value " + number + " out of range for long at " + location());
+    }
+    return number.longValue();
+  }
+
+  @Override
+  public double readDouble() {
+    if (failOnNullPrimitives && isNullValue()) throw new JsonDataException("Read NULL value for double");
+    return readNumber().doubleValue();
+  }
+
+  /**
+   * Read the number as Long (BigInteger for uint 64 values beyond long) or Double.
+   * <p>
+   * A str value is read as BigInteger or BigDecimal as these are written as str.
+   */
+  @Override
+  public Number readNumber() {
+    final int type = next();
+    if (isInteger(type)) {
+      return integer(type);
+    }
+    switch (type) {
+      case FLOAT32:
+        return (double) Float.intBitsToFloat(readInt32());
+      case FLOAT64:
+        return Double.longBitsToDouble(readInt64());
+      case NIL & 0xFF:
+        return 0L;
+      default:
+        if (isStr(type)) {
+          return parseNumber(text(strLength(type)));
+        }
+        throw unexpected("number", type);
+    }
+  }
+
+  private Number parseNumber(String value) {
+    try {
+      for (int i = 0; i < value.length(); i++) {
+        final char c = value.charAt(i);
+        if (c == '.' || c == 'e' || c == 'E') {
+          return new BigDecimal(value);
+        }
+      }
+      return new BigInteger(value);
+    } catch (NumberFormatException e) {
+      throw new JsonDataException("Invalid number " + value + " at " + location(), e);
+    }
+  }
+
+  private Number integer(int type) {
+    if (type < 0x80 || type >= 0xE0) {
+      return (long) (byte) type;
+    }
+    switch (type) {
+      case UINT8:
+        require(1);
+        return (long) (buffer[pos++] & 0xFF);
+      case UINT16:
+        return (long) readUint16();
+      case UINT32:
+        return readInt32() & 0xFFFFFFFFL;
+      case UINT64: {
+        final long value = readInt64();
+        return value >= 0 ? (Number) value : unsigned(value);
+      }
+      case INT8:
+        require(1);
+        return (long) buffer[pos++];
+      case INT16:
+        return (long) (short) readUint16();
+      case INT32:
+        return (long) readInt32();
+      default:
+        return readInt64();
+    }
+  }
+
+  /**
+   * Read a str value. A bin value is returned as base64 (as binary is in json) and a
+   * timestamp extension value as an ISO-8601 instant.
+   */
+  @Override
+  public String readString() {
+    final int type = next();
+    if (isStr(type)) {
+      return text(strLength(type));
+    } else if (type == (NIL & 0xFF)) {
+      return null;
+    } else if (isBin(type)) {
+      return Base64.getEncoder().encodeToString(binary(binLength(type)));
+    } else if (isExt(type)) {
+      final int length = extLength(type);
+      require(1);
+      final int extType = buffer[pos++];
+      if (extType == TIMESTAMP_TYPE) {
+        return timestamp(length).toString();
+      }
+      return Base64.getEncoder().encodeToString(binary(length));
+    }
+    throw unexpected("str", type);
+  }
+
+  private Instant timestamp(int length) {
+    switch (length) {
+      case 4:
+        return Instant.ofEpochSecond(readInt32() & 0xFFFFFFFFL);
+      case 8: {
+        final long value = readInt64();
+        return Instant.ofEpochSecond(value & 0x3FFFFFFFFL, value >>> 34);
+      }
+      case 12: {
+        final int nanos = readInt32();
+        return Instant.ofEpochSecond(readInt64(), nanos);
+      }
+      default:
+        throw new JsonDataException("Invalid timestamp length " + length + " at " + location());
+    }
+  }
+
+  /**
+   * Read a bin value. A str value is decoded as base64 (as binary is in json).
+   */
+  @Override
+  public byte[] readBinary() {
+    final int type = next();
+    if (isBin(type)) {
+      return binary(binLength(type));
+    } else if (isExt(type)) {
+      final int length = extLength(type);
+      skip(1);
+      return binary(length);
+    } else if (isStr(type)) {
+      return Base64.getDecoder().decode(text(strLength(type)));
+    }
+    throw unexpected("bin", type);
+  }
+
+  @Override
+  public Token currentToken() {
+    final int type = peek();
+    if (isInteger(type) || type == FLOAT32 || type == FLOAT64) {
+      return Token.NUMBER;
+    } else if (isStr(type) || isBin(type) || isExt(type)) {
+      return Token.STRING;
+    } else if (isArray(type)) {
+      return Token.BEGIN_ARRAY;
+    } else if (isMap(type)) {
+      return Token.BEGIN_OBJECT;
+    } else if (type == (TRUE & 0xFF) || type == (FALSE & 0xFF)) {
+      return Token.BOOLEAN;
+    } else if (type == (NIL & 0xFF)) {
+      return Token.NULL;
+    }
+    throw unexpected("value", type);
+  }
+
+  @Override
+  public void skipValue() {
+    final int type = next();
+    if (isArray(type) || isMap(type)) {
+      final long count = containerSize(type) * (isMap(type) ? 2 : 1);
+      for (long i = 0; i < count; i++) {
+        skipValue();
+      }
+    } else if (isStr(type)) {
+      skip(strLength(type));
+    } else if (isBin(type)) {
+      skip(binLength(type));
+    } else if (isExt(type)) {
+      skip(extLength(type) + 1);
+    } else if (isInteger(type)) {
+      integer(type);
+    } else if (type == FLOAT32) {
+      skip(4);
+    } else if (type == FLOAT64) {
+      skip(8);
+    } else if (type == 0xC1) {
+      throw unexpected("value", type);
+    }
+  }
+
+  private static boolean isInteger(int type) {
+    return type < 0x80 || type >= 0xE0 || (type >= UINT8 && type <= INT64);
+  }
+
+  private static boolean isStr(int type) {
+    return (type & 0xE0) == FIXSTR || (type >= STR8 && type <= STR32);
+  }
+
+  private static boolean isBin(int type) {
+    return type >= BIN8 && type <= BIN32;
+  }
+
+  private static boolean isExt(int type) {
+    return (type >= EXT8 && type <= EXT32) || (type >= FIXEXT1 && type <= FIXEXT16);
+  }
+
+  @Override
+  boolean isArray(int type) {
+    return (type & 0xF0) == FIXARRAY || type == ARRAY16 || type == ARRAY32;
+  }
+
+  private static boolean isMap(int type) {
+    return (type & 0xF0) == FIXMAP || type == MAP16 || type == MAP32;
+  }
+
+  private long containerSize(int type) {
+    if (type == ARRAY16 || type == MAP16) {
+      return readUint16();
+    } else if (type == ARRAY32 || type == MAP32) {
+      return readInt32() & 0xFFFFFFFFL;
+    }
+    return type & 0x0F;
+  }
+
+  private int strLength(int type) {
+    switch (type) {
+      case STR8:
+        require(1);
+        return buffer[pos++] & 0xFF;
+      case STR16:
+        return readUint16();
+      case STR32:
+        return checkLength(readInt32() & 0xFFFFFFFFL);
+      default:
+        return type & 0x1F;
+    }
+  }
+
+  private int binLength(int type) {
+    switch (type) {
+      case BIN8:
+        require(1);
+        return buffer[pos++] & 0xFF;
+      case BIN16:
+        return readUint16();
+      default:
+        return checkLength(readInt32() & 0xFFFFFFFFL);
+    }
+  }
+
+  private int extLength(int type) {
+    switch (type) {
+      case EXT8:
+        require(1);
+        return buffer[pos++] & 0xFF;
+      case EXT16:
+        return readUint16();
+      case EXT32:
+        return checkLength(readInt32() & 0xFFFFFFFFL);
+      default:
+        // fixext 1, 2, 4, 8 or 16
+        return 1 << (type - FIXEXT1);
+    }
+  }
+}
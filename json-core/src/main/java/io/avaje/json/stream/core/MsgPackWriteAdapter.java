@@ -0,0 +1,426 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.JsonIoException;
+import io.avaje.json.stream.JsonOutput;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * JsonWriter that writes MessagePack.
+ * <p>
+ * MessagePack arrays and maps have the number of elements in the header which is not known
+ * up front. A 5 byte header is reserved when an array or map begins and filled in when it
+ * ends, using the smallest header that fits. The unused header bytes are removed in a single
+ * pass when the top level value ends, such that the content of an open array or map is held
+ * in the pooled buffer and written to the output once a top level value ends with the buffer
+ * at least half full.
+ * <p>
+ * A top level stream is written as values one after the other (rather than an array) such
+ * that the content is written to the output as the stream is consumed.
+ * <p>
+ * When writing to an output, binary values of {@link #ZERO_COPY_MIN} bytes or more are not
+ * copied into the buffer but referenced and written directly to the output such that the
+ * byte[] must not be modified until then.
+ */
+final class MsgPackWriteAdapter extends BinaryWriteAdapter {
+
+  /** Minimum length of binary values that are referenced rather than copied. */
+  static final int ZERO_COPY_MIN = 256;
+  private static final int RESERVED = 5;
+
+  static final byte NIL = (byte) 0xC0;
+  static final byte FALSE = (byte) 0xC2;
+  static final byte TRUE = (byte) 0xC3;
+  static final int BIN8 = 0xC4;
+  static final int BIN16 = 0xC5;
+  static final int BIN32 = 0xC6;
+  static final int FLOAT32 = 0xCA;
+  static final int FLOAT64 = 0xCB;
+  static final int UINT8 = 0xCC;
+  static final int UINT16 = 0xCD;
+  static final int UINT32 = 0xCE;
+  static final int UINT64 = 0xCF;
+  static final int INT8 = 0xD0;
+  static final int INT16 = 0xD1;
+  static final int INT32 = 0xD2;
+  static final int INT64 = 0xD3;
+  static final int FIXSTR = 0xA0;
+  static final int STR8 = 0xD9;
+  static final int STR16 = 0xDA;
+  static final int STR32 = 0xDB;
+  static final int FIXARRAY = 0x90;
+  static final int ARRAY16 = 0xDC;
+  static final int ARRAY32 = 0xDD;
+  static final int FIXMAP = 0x80;
+  static final int MAP16 = 0xDE;
+  static final int MAP32 = 0xDF;
+
+  private final JsonOutput output;
+  private boolean incomplete;
+
+  /** Header offset, gap index and element count of each open array or map. */
+  private int[] headers = new int[16];
+  private int[] headerGaps = new int[16];
+  private int[] counts = new int[16];
+  private boolean[] maps = new boolean[16];
+  private int depth = -1;
+
+  /** Offset and length of the unused header bytes of the top level value, in offset order. */
+  private int[] gapOffsets = new int[16];
+  private int[] gapLengths = new int[16];
+  private int gapCount;
+
+  /** Referenced binary values and the buffer offset they are written at. */
+  private byte[][] inserts = new byte[4][];
+  private int[] insertOffsets = new int[4];
+  private int insertCount;
+
+  /**
+   * Create writing to the output or when null leaving the content in the generator.
+   */
+  MsgPackWriteAdapter(JGenerator generator, JsonOutput output, BufferRecycler recycler, boolean serializeNulls, boolean serializeEmpty) {
+    super(generator, recycler, MsgPackWriteAdapter::strHeader, serializeNulls, serializeEmpty);
+    this.output = output;
+  }
+
+  /**
+   * Write the str header for the given UTF-8 length returning the new position.
+   */
+  static int strHeader(byte[] buffer, int pos, int length) {
+    if (length < 32) {
+      buffer[pos++] = (byte) (FIXSTR | length);
+    } else if (length < 0x100) {
+      buffer[pos++] = (byte) STR8;
+      buffer[pos++] = (byte) length;
+    } else if (length < 0x10000) {
+      buffer[pos++] = (byte) STR16;
+      pos = writeShort(buffer, pos, length);
+    } else {
+      buffer[pos++] = (byte) STR32;
+      pos = writeInt(buffer, pos, length);
+    }
+    return pos;
+  }
+
+  @Override
+  public void markIncomplete() {
+    incomplete = true;
+    super.markIncomplete();
+  }
+
+  @Override
+  public void close() {
+    if (output != null && !incomplete) {
+      flush();
+    }
+    super.close();
+  }
+
+  /**
+   * Write the buffered content to the output. Content of an open array or map is held
+   * until the top level value ends as the headers are not yet known.
+   */
+  @Override
+  public void flush() {
+    if (output != null && depth < 0) {
+      try {
+        if (generator.position() > 0 || insertCount > 0) {
+          writeOut(true);
+        }
+        output.flush();
+      } catch (IOException e) {
+        throw new JsonIoException(e);
+      }
+    }
+  }
+
+  private void writeOut(boolean last) throws IOException {
+    final byte[] buffer = generator.buffer();
+    int start = 0;
+    for (int i = 0; i < insertCount; i++) {
+      final int end = insertOffsets[i];
+      output.write(buffer, start, end - start);
+      output.write(inserts[i], 0, inserts[i].length);
+      inserts[i] = null;
+      start = end;
+    }
+    insertCount = 0;
+    if (last) {
+      output.writeLast(buffer, start, generator.position() - start);
+    } else {
+      output.write(buffer, start, generator.position() - start);
+    }
+    generator.reset();
+  }
+
+  /**
+   * Return the buffer with space for length more bytes, writing the content to the output
+   * first when no array or map is open.
+   */
+  @Override
+  byte[] ensureCapacity(int length) {
+    if (output != null && depth < 0 && generator.buffer().length - generator.position() <= length) {
+      try {
+        writeOut(false);
+      } catch (IOException e) {
+        throw new JsonIoException(e);
+      }
+    }
+    return generator.ensureCapacity(length);
+  }
+
+  /**
+   * Write the values of a top level stream one after the other.
+   */
+  @Override
+  public void beginStream() {
+    if (depth >= 0) {
+      beginArray();
+    }
+  }
+
+  @Override
+  public void endStream() {
+    if (depth >= 0) {
+      endArray();
+    }
+  }
+
+  /**
+   * Write the deferred map key or count the array element.
+   */
+  @Override
+  void beforeValue() {
+    if (writeName() || depth >= 0 && !maps[depth]) {
+      counts[depth]++;
+    }
+  }
+
+  @Override
+  void writeStartArray() {
+    open(false);
+  }
+
+  @Override
+  void writeEndArray() {
+    close(FIXARRAY, ARRAY16, ARRAY32);
+  }
+
+  @Override
+  void writeStartObject() {
+    open(true);
+  }
+
+  @Override
+  void writeEndObject() {
+    close(FIXMAP, MAP16, MAP32);
+  }
+
+  private void open(boolean map) {
+    ensureCapacity(RESERVED);
+    if (++depth == headers.length) {
+      headers = Arrays.copyOf(headers, depth * 2);
+      headerGaps = Arrays.copyOf(headerGaps, depth * 2);
+      counts = Arrays.copyOf(counts, depth * 2);
+      maps = Arrays.copyOf(maps, depth * 2);
+    }
+    if (gapCount == gapOffsets.length) {
+      gapOffsets = Arrays.copyOf(gapOffsets, gapCount * 2);
+      gapLengths = Arrays.copyOf(gapLengths, gapCount * 2);
+    }
+    headers[depth] = generator.position();
+    headerGaps[depth] = gapCount++;
+    counts[depth] = 0;
+    maps[depth] = map;
+    generator.advance(RESERVED);
+  }
+
+  /**
+   * Fill in the reserved header of the array or map that has ended.
+   */
+  private void close(int fix, int header16, int header32) {
+    final byte[] buffer = generator.buffer();
+    final int start = headers[depth];
+    final int count = counts[depth];
+    final int end;
+    if (count < 16) {
+      buffer[start] = (byte) (fix | count);
+      end = start + 1;
+    } else if (count < 0x10000) {
+      buffer[start] = (byte) header16;
+      end = writeShort(buffer, start + 1, count);
+    } else {
+      buffer[start] = (byte) header32;
+      end = writeInt(buffer, start + 1, count);
+    }
+    final int gap = headerGaps[depth];
+    gapOffsets[gap] = end;
+    gapLengths[gap] = start + RESERVED - end;
+    if (--depth < 0) {
+      removeGaps();
+      if (output != null && generator.position() >= generator.buffer().length >> 1) {
+        try {
+          writeOut(false);
+        } catch (IOException e) {
+          throw new JsonIoException(e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Remove the unused header bytes of the top level value that has ended.
+   */
+  private void removeGaps() {
+    final byte[] buffer = generator.buffer();
+    final int position = generator.position();
+    int insert = 0;
+    while (insert < insertCount && insertOffsets[insert] < gapOffsets[0]) {
+      insert++;
+    }
+    int removed = 0;
+    for (int i = 0; i < gapCount; i++) {
+      removed += gapLengths[i];
+      final int from = gapOffsets[i] + gapLengths[i];
+      final int to = i + 1 < gapCount ? gapOffsets[i + 1] : position;
+      System.arraycopy(buffer, from, buffer, from - removed, to - from);
+      while (insert < insertCount && insertOffsets[insert] <= to) {
+        insertOffsets[insert++] -= removed;
+      }
+    }
+    gapCount = 0;
+    generator.advance(-removed);
+  }
+
+  @Override
+  void writeEmptyArray() {
+    writeByte((byte) FIXARRAY);
+  }
+
+  @Override
+  void writeNull() {
+    writeByte(NIL);
+  }
+
+  @Override
+  void writeBoolean(boolean value) {
+    writeByte(value ? TRUE : FALSE);
+  }
+
+  /**
+   * Write as a bin value, referencing rather than copying larger values when writing
+   * to an output.
+   */
+  @Override
+  void writeBinary(byte[] value) {
+    final int length = value.length;
+    final byte[] buffer = ensureCapacity(5);
+    int pos = generator.position();
+    if (length < 0x100) {
+      buffer[pos++] = (byte) BIN8;
+      buffer[pos++] = (byte) length;
+    } else if (length < 0x10000) {
+      buffer[pos++] = (byte) BIN16;
+      pos = writeShort(buffer, pos, length);
+    } else {
+      buffer[pos++] = (byte) BIN32;
+      pos = writeInt(buffer, pos, length);
+    }
+    generator.advance(pos - generator.position());
+    if (output == null || length < ZERO_COPY_MIN) {
+      writeBytes(value);
+    } else {
+      if (insertCount == inserts.length) {
+        inserts = Arrays.copyOf(inserts, insertCount * 2);
+        insertOffsets = Arrays.copyOf(insertOffsets, insertCount * 2);
+      }
+      inserts[insertCount] = value;
+      insertOffsets[insertCount++] = pos;
+    }
+  }
+
+  @Override
+  void writeLong(long value) {
+    final byte[] buffer = ensureCapacity(9);
+    int pos = generator.position();
+    if (value >= 0) {
+      if (value < 0x80) {
+        buffer[pos++] = (byte) value;
+      } else if (value < 0x100) {
+        buffer[pos++] = (byte) UINT8;
+        buffer[pos++] = (byte) value;
+      } else if (value < 0x10000) {
+        buffer[pos++] = (byte) UINT16;
+        pos = writeShort(buffer, pos, (int) value);
+      } else if (value < 0x100000000L) {
+        buffer[pos++] = (byte) UINT32;
+        pos = writeInt(buffer, pos, (int) value);
+      } else {
+        buffer[pos++] = (byte) UINT64;
+        pos = writeLong(buffer, pos, value);
+      }
+    } else if (value >= -32) {
+      // negative fixint
+      buffer[pos++] = (byte) value;
+    } else if (value >= Byte.MIN_VALUE) {
+      buffer[pos++] = (byte) INT8;
+      buffer[pos++] = (byte) value;
+    } else if (value >= Short.MIN_VALUE) {
+      buffer[pos++] = (byte) INT16;
+      pos = writeShort(buffer, pos, (int) value);
+    } else if (value >= Integer.MIN_VALUE) {
+      buffer[pos++] = (byte) INT32;
+      pos = writeInt(buffer, pos, (int) value);
+    } else {
+      buffer[pos++] = (byte) INT64;
+      pos = writeLong(buffer, pos, value);
+    }
+    generator.advance(pos - generator.position());
+  }
+
+  @Override
+  void writeDouble(double value) {
+    final byte[] buffer = ensureCapacity(9);
+    final int pos = generator.position();
+    final float floatValue = (float) value;
+    if (floatValue == value || Double.isNaN(value)) {
+      // use single precision when no precision is lost
+      buffer[pos] = (byte) FLOAT32;
+      writeInt(buffer, pos + 1, Float.floatToIntBits(floatValue));
+      generator.advance(5);
+    } else {
+      buffer[pos] = (byte) FLOAT64;
+      writeLong(buffer, pos + 1, Double.doubleToLongBits(value));
+      generator.advance(9);
+    }
+  }
+
+  /**
+   * Write as an int value when it fits in 64 bits and otherwise as a str value.
+   */
+  @Override
+  void writeBigInteger(BigInteger value) {
+    if (value.bitLength() < 64) {
+      writeLong(value.longValue());
+    } else if (value.signum() > 0 && value.bitLength() == 64) {
+      final byte[] buffer = ensureCapacity(9);
+      final int pos = generator.position();
+      buffer[pos] = (byte) UINT64;
+      writeLong(buffer, pos + 1, value.longValue());
+      generator.advance(9);
+    } else {
+      writeText(value.toString());
+    }
+  }
+
+  /**
+   * Write as a str value (MessagePack has no decimal type).
+   */
+  @Override
+  void writeDecimal(BigDecimal value) {
+    writeText(value.toString());
+  }
+}
@@ -1,5 +1,7 @@
 package io.avaje.json.stream.core;
 
+import io.avaje.json.core.JsonNumbers;
+
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
@@ -440,6 +442,64 @@ final class NumberParser {
     }
   }
 
+  /**
+   * Read a number detecting if it is integer or decimal content and the number of significant digits.
+   * <p>
+   * Integer content with up to 18 digits uses the fast long parsing and decimal content with
+   * up to 15 significant digits uses double parsing. Otherwise, the number is read as BigDecimal
+   * (and narrowed to Long or BigInteger for integer content) such that no precision is lost.
+   */
+  static Number deserializeNumber(final JParser reader) {
+    if (reader.currentToken() == '"') {
+      final int len = reader.parseString();
+      try {
+        return JsonNumbers.of(new String(reader.chars, 0, len));
+      } catch (NumberFormatException e) {
+        throw reader.newParseErrorAt("Error parsing number", len + 2);
+      }
+    }
+    final byte[] buf = reader.buffer;
+    final int length = reader.length();
+    int i = reader.getCurrentIndex() - 1;
+    if (buf[i] == '-') {
+      i++;
+    }
+    int digits = 0;
+    int exponentDigits = 0;
+    boolean leadingZero = true;
+    boolean decimal = false;
+    boolean exponent = false;
+    for (; i < length; i++) {
+      final byte b = buf[i];
+      if (b >= '0' && b <= '9') {
+        if (exponent) {
+          exponentDigits++;
+        } else if (!leadingZero || b != '0') {
+          leadingZero = false;
+          digits++;
+        }
+      } else if (b == '.') {
+        decimal = true;
+      } else if (b == 'e' || b == 'E') {
+        decimal = true;
+        exponent = true;
+      } else if (!exponent || (b != '-' && b != '+')) {
+        break;
+      }
+    }
+    if (i == length && reader.isStreaming()) {
+      // number at the end of the buffer, could continue in the next block
+      return JsonNumbers.of(deserializeDecimal(reader));
+    }
+    if (!decimal) {
+      return digits <= 18 ? (Number) deserializeLong(reader) : JsonNumbers.narrow(deserializeBigInt(reader));
+    }
+    if (digits <= 15 && exponentDigits <= 2) {
+      return deserializeDouble(reader);
+    }
+    return deserializeDecimal(reader);
+  }
+
   static BigDecimal deserializeDecimal(final JParser reader) {
     if (reader.currentToken() == '"') {
       final int len = reader.parseString();
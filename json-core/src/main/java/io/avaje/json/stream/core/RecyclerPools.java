@@ -0,0 +1,38 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.stream.core.HybridBufferRecycler.StripedLockFreePool;
+import io.avaje.json.stream.core.Recyclers.ThreadLocalPool;
+
+/**
+ * Controls the shared buffer pools.
+ * <p>
+ * For internal use, see {@link io.avaje.json.stream.BufferPools}.
+ */
+public final class RecyclerPools {
+
+  private RecyclerPools() {
+  }
+
+  /**
+   * Drop the pooled parser and generator buffers.
+   */
+  public static void drain() {
+    ThreadLocalPool.shared().drain();
+    StripedLockFreePool.shared().drain();
+  }
+
+  /**
+   * Drop the pooled buffers and resize the lock free pool to the given number of stripes.
+   */
+  public static void resize(int stripes) {
+    ThreadLocalPool.shared().drain();
+    StripedLockFreePool.shared().resize(stripes);
+  }
+
+  /**
+   * Return the number of stripes used by the lock free pool.
+   */
+  public static int stripes() {
+    return StripedLockFreePool.shared().stripeCount();
+  }
+}
@@ -42,30 +42,46 @@ final class Recyclers {
    */
   static final class ThreadLocalPool implements BufferRecycler {
 
-    private final ThreadLocal<JParser> PARSER = ThreadLocal.withInitial(Recyclers::createParser);
-    private final ThreadLocal<JGenerator> GENERATOR = ThreadLocal.withInitial(Recyclers::createGenerator);
+    private static final ThreadLocalPool GLOBAL = new ThreadLocalPool();
 
-    private static final BufferRecycler GLOBAL = new ThreadLocalPool();
+    /** Replaced on drain such that all threads start with new buffers. */
+    private volatile ThreadLocal<JParser> parsers = ThreadLocal.withInitial(Recyclers::createParser);
+    private volatile ThreadLocal<JGenerator> generators = ThreadLocal.withInitial(Recyclers::createGenerator);
 
-    static BufferRecycler shared() {
+    static ThreadLocalPool shared() {
       return GLOBAL;
     }
 
     private ThreadLocalPool() {}
 
+    /**
+     * Drop the buffers held by all threads.
+     * <p>
+     * The buffers of other threads are released lazily as the thread local
+     * maps of those threads expunge the stale entries.
+     */
+    void drain() {
+      final ThreadLocal<JParser> oldParsers = parsers;
+      final ThreadLocal<JGenerator> oldGenerators = generators;
+      parsers = ThreadLocal.withInitial(Recyclers::createParser);
+      generators = ThreadLocal.withInitial(Recyclers::createGenerator);
+      oldParsers.remove();
+      oldGenerators.remove();
+    }
+
     @Override
     public JsonGenerator generator(JsonOutput target) {
-      return GENERATOR.get().prepare(target);
+      return generators.get().prepare(target);
     }
 
     @Override
     public JsonParser parser(byte[] bytes) {
-      return PARSER.get().process(bytes, bytes.length);
+      return parsers.get().process(bytes, bytes.length);
     }
 
     @Override
     public JsonParser parser(InputStream in) {
-      return PARSER.get().process(in);
+      return parsers.get().process(in);
     }
 
     @Override
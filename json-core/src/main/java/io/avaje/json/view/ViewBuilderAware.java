@@ -1,5 +1,7 @@
 package io.avaje.json.view;
 
+import io.avaje.json.JsonAdapter;
+
 import java.lang.invoke.MethodHandle;
 
 /**
@@ -23,4 +25,39 @@ public interface ViewBuilderAware {
    */
   void build(ViewBuilder builder, String name, MethodHandle handle);
 
+  /**
+   * Return a pre-built (typically generated) adapter for the given view or null
+   * when the view should be built via {@link #build(ViewBuilder)}.
+   * <p>
+   * The view DSL is normalised to have no whitespace and no outer parenthesis
+   * like {@code "id,name,address(city)"} (see {@link #normalise(String)}). The
+   * returned adapter writes only the properties of the view and reads using
+   * the adapter of the type.
+   *
+   * @param dsl The normalised view DSL
+   * @return The adapter for the view or null
+   */
+  default JsonAdapter<?> viewAdapter(String dsl) {
+    return null;
+  }
+
+  /**
+   * Return the view DSL without whitespace and without the outer parenthesis.
+   * <p>
+   * Views are cached and matched to generated view adapters using the normalised DSL.
+   */
+  static String normalise(String dsl) {
+    final var sb = new StringBuilder(dsl.length());
+    for (int i = 0; i < dsl.length(); i++) {
+      final char ch = dsl.charAt(i);
+      if (!Character.isWhitespace(ch)) {
+        sb.append(ch);
+      }
+    }
+    final int last = sb.length() - 1;
+    if (last > 0 && sb.charAt(0) == '(' && sb.charAt(last) == ')') {
+      return sb.substring(1, last);
+    }
+    return sb.toString();
+  }
 }
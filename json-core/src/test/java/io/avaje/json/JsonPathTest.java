@@ -0,0 +1,86 @@
+package io.avaje.json;
+
+import io.avaje.json.mapper.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonPathTest {
+
+  static final JsonMapper mapper = JsonMapper.builder().build();
+
+  static final String json = "{\"name\":\"Rob\",\"a.b\":\"dotted\",\"addresses\":[{\"city\":\"Auckland\",\"zip\":1010},{\"city\":\"Wellington\",\"zip\":6011}],\"meta\":{\"x\":{\"v\":1},\"y\":{\"v\":2}}}";
+
+  @Test
+  void compile_segments() {
+    JsonPath path = JsonPath.compile("a.b[3].c");
+    assertThat(path.size()).isEqualTo(4);
+    assertThat(path.isName(0)).isTrue();
+    assertThat(path.name(0)).isEqualTo("a");
+    assertThat(path.name(1)).isEqualTo("b");
+    assertThat(path.isIndex(2)).isTrue();
+    assertThat(path.index(2)).isEqualTo(3);
+    assertThat(path.name(2)).isNull();
+    assertThat(path.name(3)).isEqualTo("c");
+    assertThat(path.hasWildcard()).isFalse();
+    assertThat(path.toString()).isEqualTo("a.b[3].c");
+  }
+
+  @Test
+  void compile_wildcardAndQuoted() {
+    JsonPath path = JsonPath.compile("[*].*['a.b'][0]");
+    assertThat(path.size()).isEqualTo(4);
+    assertThat(path.isWildcard(0)).isTrue();
+    assertThat(path.isWildcard(1)).isTrue();
+    assertThat(path.name(2)).isEqualTo("a.b");
+    assertThat(path.index(3)).isEqualTo(0);
+    assertThat(path.hasWildcard()).isTrue();
+  }
+
+  @Test
+  void compile_equals() {
+    assertThat(JsonPath.compile("a.b[1]")).isEqualTo(JsonPath.compile("a['b'][1]"));
+    assertThat(JsonPath.compile("a.b[1]")).isNotEqualTo(JsonPath.compile("a.b[2]"));
+  }
+
+  @Test
+  void compile_invalid() {
+    assertThatThrownBy(() -> JsonPath.compile("")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> JsonPath.compile("a..b")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> JsonPath.compile(".a")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> JsonPath.compile("a.")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> JsonPath.compile("a[1")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> JsonPath.compile("a[x]")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> JsonPath.compile("a[]")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> JsonPath.compile("a['b]")).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> JsonPath.compile("a[0]b"))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("Invalid path [a[0]b]");
+  }
+
+  @Test
+  void find_map() {
+    Map<String, Object> map = mapper.fromJsonObject(json);
+
+    assertThat(JsonPath.compile("name").find(map)).isEqualTo("Rob");
+    assertThat(JsonPath.compile("['a.b']").find(map)).isEqualTo("dotted");
+    assertThat(JsonPath.compile("addresses[1].city").find(map)).isEqualTo("Wellington");
+    assertThat(JsonPath.compile("addresses[2].city").find(map)).isNull();
+    assertThat(JsonPath.compile("name.missing").find(map)).isNull();
+    assertThat(JsonPath.compile("name[0]").find(map)).isNull();
+    assertThat(JsonPath.compile("addresses[*].city").find(map)).isEqualTo("Auckland");
+  }
+
+  @Test
+  void findAll_map() {
+    Map<String, Object> map = mapper.fromJsonObject(json);
+
+    assertThat(JsonPath.compile("addresses[*].city").findAll(map)).containsExactly("Auckland", "Wellington");
+    assertThat(JsonPath.compile("meta.*.v").findAll(map)).containsExactly(1L, 2L);
+    assertThat(JsonPath.compile("name").findAll(map)).containsExactly("Rob");
+    assertThat(JsonPath.compile("missing").findAll(map)).isEmpty();
+  }
+}
@@ -0,0 +1,122 @@
+package io.avaje.json.stream;
+
+import io.avaje.json.JsonAdapter;
+import io.avaje.json.JsonDataException;
+import io.avaje.json.JsonReader;
+import io.avaje.json.JsonWriter;
+import io.avaje.json.mapper.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static io.avaje.json.stream.JsonAsyncReader.Status.END_OF_INPUT;
+import static io.avaje.json.stream.JsonAsyncReader.Status.NEED_MORE_INPUT;
+import static io.avaje.json.stream.JsonAsyncReader.Status.VALUE_AVAILABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonAsyncReaderTest {
+
+  static final JsonStream stream = JsonStream.builder().build();
+  static final JsonMapper.Type<Object> objectType = JsonMapper.builder().build().object();
+
+  private static byte[] bytes(String content) {
+    return content.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static List<Object> readAll(JsonAsyncReader reader) {
+    List<Object> result = new ArrayList<>();
+    while (reader.hasNext()) {
+      try (JsonReader jsonReader = reader.nextReader()) {
+        result.add(objectType.fromJson(jsonReader));
+      }
+    }
+    return result;
+  }
+
+  @Test
+  void feed_valuesSplitAcrossChunks() {
+    JsonAsyncReader reader = stream.asyncReader();
+    assertThat(reader.feed(bytes("{\"a\":\"x}\\\""))).isEqualTo(NEED_MORE_INPUT);
+    assertThat(reader.feed(bytes("\",\"b\":[1,2]}\n{\"c\""))).isEqualTo(VALUE_AVAILABLE);
+    assertThat(readAll(reader)).containsExactly(Map.of("a", "x}\"", "b", List.of(1L, 2L)));
+    assertThat(reader.status()).isEqualTo(NEED_MORE_INPUT);
+
+    assertThat(reader.feed(ByteBuffer.wrap(bytes(":true}\n42")))).isEqualTo(VALUE_AVAILABLE);
+    assertThat(readAll(reader)).containsExactly(Map.of("c", true));
+    assertThat(reader.status()).isEqualTo(NEED_MORE_INPUT);
+
+    assertThat(reader.endOfInput()).isEqualTo(VALUE_AVAILABLE);
+    assertThat(readAll(reader)).containsExactly(42L);
+    assertThat(reader.status()).isEqualTo(END_OF_INPUT);
+  }
+
+  @Test
+  void feed_arrayElements() {
+    JsonAsyncReader reader = stream.asyncReader(true);
+    reader.feed(bytes(" [ {\"id\":1}, \"two\", [3,"));
+    assertThat(readAll(reader)).containsExactly(Map.of("id", 1L), "two");
+    reader.feed(bytes("4], 5 ]"));
+    assertThat(reader.endOfInput()).isEqualTo(VALUE_AVAILABLE);
+    assertThat(readAll(reader)).containsExactly(List.of(3L, 4L), 5L);
+  }
+
+  static final JsonAdapter<String> nameAdapter = new JsonAdapter<String>() {
+    @Override
+    public void toJson(JsonWriter writer, String value) {
+      writer.beginObject();
+      writer.name("name");
+      writer.value(value);
+      writer.endObject();
+    }
+
+    @Override
+    public String fromJson(JsonReader reader) {
+      String name = null;
+      reader.beginObject();
+      while (reader.hasNextField()) {
+        if ("name".equals(reader.nextField())) {
+          name = reader.readString();
+        } else {
+          reader.skipValue();
+        }
+      }
+      reader.endObject();
+      return name;
+    }
+  };
+
+  @Test
+  void next_withAdapter() {
+    JsonAsyncReader reader = stream.asyncReader();
+    reader.feed(bytes("{\"id\":1,\"name\":\"hel"));
+    assertThatThrownBy(() -> reader.next(nameAdapter))
+      .isInstanceOf(NoSuchElementException.class);
+    reader.feed(bytes("lo\"}"));
+    assertThat(reader.next(nameAdapter)).isEqualTo("hello");
+    assertThat(reader.hasNext()).isFalse();
+  }
+
+  @Test
+  void endOfInput_incomplete() {
+    JsonAsyncReader reader = stream.asyncReader();
+    reader.feed(bytes("{\"a\":[1"));
+    assertThatThrownBy(reader::endOfInput).isInstanceOf(JsonDataException.class);
+  }
+
+  @Test
+  void feed_maxValueSize() {
+    JsonAsyncReader reader = stream.asyncReader(true, 10);
+    // at most 10 bytes per value
+    assertThat(reader.feed(bytes("[{\"a\":1},\"01234567\","))).isEqualTo(VALUE_AVAILABLE);
+    assertThat(readAll(reader)).containsExactly(Map.of("a", 1L), "01234567");
+    assertThatThrownBy(() -> reader.feed(bytes("12345678901")))
+      .isInstanceOf(JsonDataException.class)
+      .hasMessageContaining("10");
+  }
+}
@@ -0,0 +1,101 @@
+package io.avaje.json.stream;
+
+import io.avaje.json.JsonPath;
+import io.avaje.json.mapper.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonPathExtractorTest {
+
+  static final JsonMapper mapper = JsonMapper.builder().build();
+
+  static final String json = "{\"big\":{\"a\":[1,2,{\"x\":\"y\"}],\"b\":\"skip me\"},\"tenantId\":\"t42\"," +
+    "\"event\":{\"type\":\"ORDER\",\"count\":7,\"price\":4.5,\"flag\":true,\"meta\":{\"k\":\"v\"}}," +
+    "\"items\":[{\"id\":10},{\"id\":11},{\"id\":12}],\"nothing\":null}";
+
+  static final JsonPath TENANT = JsonPath.compile("tenantId");
+  static final JsonPath EVENT_TYPE = JsonPath.compile("event.type");
+
+  @Test
+  void extract_scalars() {
+    JsonPathExtractor<Object> extractor = mapper.extractor(TENANT, EVENT_TYPE,
+      JsonPath.compile("event.count"), JsonPath.compile("event.price"), JsonPath.compile("event.flag"));
+
+    var matches = extractor.extract(json);
+    assertThat(matches.get(TENANT)).isEqualTo("t42");
+    assertThat(matches.get(EVENT_TYPE)).isEqualTo("ORDER");
+    assertThat(matches.get(2)).isEqualTo(7L);
+    assertThat(matches.get(3)).isEqualTo(4.5D);
+    assertThat(matches.get(4)).isEqualTo(true);
+    assertThat(matches.found(TENANT)).isTrue();
+  }
+
+  @Test
+  void extract_objectAndIndex() {
+    JsonPathExtractor<Object> extractor = mapper.extractor(
+      JsonPath.compile("event.meta"), JsonPath.compile("items[1].id"), JsonPath.compile("items[7].id"));
+
+    var matches = extractor.extract(json.getBytes(StandardCharsets.UTF_8));
+    assertThat(matches.get(0)).isEqualTo(Map.of("k", "v"));
+    assertThat(matches.get(1)).isEqualTo(11L);
+    assertThat(matches.found(2)).isFalse();
+    assertThat(matches.get(2)).isNull();
+    assertThat(matches.getAll(2)).isEmpty();
+  }
+
+  @Test
+  void extract_wildcard() {
+    JsonPath ids = JsonPath.compile("items[*].id");
+    JsonPathExtractor<Object> extractor = mapper.extractor(ids, TENANT);
+
+    var matches = extractor.extract(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    assertThat(matches.getAll(ids)).containsExactly(10L, 11L, 12L);
+    assertThat(matches.get(ids)).isEqualTo(10L);
+    assertThat(matches.getAll(TENANT)).containsExactly("t42");
+  }
+
+  @Test
+  void extract_nullValue() {
+    var matches = mapper.extractor(JsonPath.compile("nothing")).extract(json);
+    assertThat(matches.found(0)).isTrue();
+    assertThat(matches.get(0)).isNull();
+  }
+
+  @Test
+  void extract_completesEarly() {
+    // content after the match is invalid json but is never read
+    String partial = "{\"tenantId\":\"t1\",\"event\":{\"type\":\"A\"}, !!! not json";
+    var matches = mapper.extractor(TENANT, EVENT_TYPE).extract(partial);
+    assertThat(matches.get(TENANT)).isEqualTo("t1");
+    assertThat(matches.get(EVENT_TYPE)).isEqualTo("A");
+  }
+
+  @Test
+  void extract_rootArray() {
+    var matches = mapper.extractor(JsonPath.compile("[1].name")).extract("[{\"name\":\"a\"},{\"name\":\"b\"}]");
+    assertThat(matches.get(0)).isEqualTo("b");
+  }
+
+  @Test
+  void overlappingPaths_expect_IllegalArgumentException() {
+    assertThatThrownBy(() -> mapper.extractor(JsonPath.compile("event"), EVENT_TYPE))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("overlaps");
+
+    assertThatThrownBy(() -> mapper.extractor(JsonPath.compile("*"), EVENT_TYPE))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void unknownPath_expect_IllegalArgumentException() {
+    var matches = mapper.extractor(TENANT).extract(json);
+    assertThatThrownBy(() -> matches.get(EVENT_TYPE))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -59,4 +59,28 @@ class JsonStreamTest {
 
   }
 
+  @Test
+  void writer_intoArray() {
+    byte[] dest = new byte[20];
+    try (ArrayJsonWriter writer = stream.writer(dest, 2)) {
+      writer.beginObject();
+      writer.name("a");
+      writer.value(1);
+      writer.endObject();
+      assertThat(writer.result()).isEqualTo(7);
+    }
+    assertThat(new String(dest, 2, 7)).isEqualTo("{\"a\":1}");
+  }
+
+  @Test
+  void writer_intoArray_overflow() {
+    byte[] dest = new byte[4];
+    try (ArrayJsonWriter writer = stream.writer(dest, 0)) {
+      writer.beginObject();
+      writer.name("a");
+      writer.value("some longer content");
+      writer.endObject();
+      assertThat(writer.result()).isEqualTo(-27);
+    }
+  }
 }
@@ -0,0 +1,142 @@
+package io.avaje.json.stream;
+
+import io.avaje.json.JsonIoException;
+import io.avaje.json.JsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PublisherJsonOutputTest {
+
+  static final JsonStream stream = JsonStream.builder().build();
+
+  static String expected(int count) {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < count; i++) {
+      if (i > 0) sb.append(',');
+      sb.append("\"value-").append(i).append('"');
+    }
+    return sb.append(']').toString();
+  }
+
+  static void writeValues(PublisherJsonOutput output, int count) {
+    try (JsonWriter writer = stream.writer(output)) {
+      writer.beginArray();
+      for (int i = 0; i < count; i++) {
+        writer.value("value-" + i);
+      }
+      writer.endArray();
+    }
+    output.close();
+  }
+
+  static final class Collector implements Flow.Subscriber<ByteBuffer> {
+
+    final ByteArrayOutputStream content = new ByteArrayOutputStream();
+    final AtomicInteger chunks = new AtomicInteger();
+    final CountDownLatch done = new CountDownLatch(1);
+    volatile Throwable error;
+    Flow.Subscription subscription;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(ByteBuffer item) {
+      chunks.incrementAndGet();
+      byte[] bytes = new byte[item.remaining()];
+      item.get(bytes);
+      content.write(bytes, 0, bytes.length);
+      subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+      done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      done.countDown();
+    }
+  }
+
+  @Test
+  void publish_withDemand() throws Exception {
+    PublisherJsonOutput output = PublisherJsonOutput.of(2);
+    Collector collector = new Collector();
+    output.subscribe(collector);
+
+    CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> writeValues(output, 10_000));
+    collector.subscription.request(1);
+
+    assertThat(collector.done.await(10, TimeUnit.SECONDS)).isTrue();
+    producer.get(10, TimeUnit.SECONDS);
+    assertThat(collector.error).isNull();
+    assertThat(collector.chunks.get()).isGreaterThan(1);
+    assertThat(collector.content.toString()).isEqualTo(expected(10_000));
+  }
+
+  @Test
+  void producer_waitsOnDemand() throws Exception {
+    PublisherJsonOutput output = PublisherJsonOutput.of(1);
+    Collector collector = new Collector();
+    output.subscribe(collector);
+
+    CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> writeValues(output, 10_000));
+    Thread.sleep(100);
+    assertThat(producer).isNotDone();
+    assertThat(collector.chunks.get()).isZero();
+
+    collector.subscription.request(1);
+    producer.get(10, TimeUnit.SECONDS);
+    assertThat(collector.done.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(collector.content.toString()).isEqualTo(expected(10_000));
+  }
+
+  @Test
+  void cancel_failsProducer() throws Exception {
+    PublisherJsonOutput output = PublisherJsonOutput.of(1);
+    Collector collector = new Collector();
+    output.subscribe(collector);
+
+    CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> writeValues(output, 10_000));
+    Thread.sleep(50);
+    collector.subscription.cancel();
+
+    assertThat(producer).failsWithin(10, TimeUnit.SECONDS)
+      .withThrowableOfType(Exception.class)
+      .withRootCauseInstanceOf(java.io.IOException.class)
+      .withCauseInstanceOf(JsonIoException.class);
+  }
+
+  @Test
+  void invalidRequest_failsBlockedProducer() throws Exception {
+    PublisherJsonOutput output = PublisherJsonOutput.of(1);
+    Collector collector = new Collector();
+    output.subscribe(collector);
+
+    CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> writeValues(output, 10_000));
+    Thread.sleep(50);
+    assertThat(producer).isNotDone();
+    collector.subscription.request(0);
+
+    assertThat(producer).failsWithin(10, TimeUnit.SECONDS)
+      .withThrowableOfType(Exception.class)
+      .withRootCauseInstanceOf(IllegalArgumentException.class)
+      .withCauseInstanceOf(JsonIoException.class);
+    assertThat(collector.done.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(collector.error).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,85 @@
+package io.avaje.json.stream;
+
+import io.avaje.json.JsonWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentedJsonOutputTest {
+
+  static final JsonStream stream = JsonStream.builder().build();
+
+  static String expected(int count) {
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < count; i++) {
+      if (i > 0) sb.append(',');
+      sb.append("\"value-").append(i).append('"');
+    }
+    return sb.append(']').toString();
+  }
+
+  static void writeValues(SegmentedJsonOutput output, int count) {
+    try (JsonWriter writer = stream.writer(output)) {
+      writer.beginArray();
+      for (int i = 0; i < count; i++) {
+        writer.value("value-" + i);
+      }
+      writer.endArray();
+    }
+  }
+
+  @Test
+  void segments() throws Exception {
+    SegmentedJsonOutput output = SegmentedJsonOutput.of();
+    writeValues(output, 10_000);
+
+    String expected = expected(10_000);
+    assertThat(output.size()).isEqualTo(expected.length());
+    assertThat(output.buffers().length).isGreaterThan(1);
+    assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected);
+    try (InputStream is = output.inputStream()) {
+      assertThat(new String(is.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+    long total = 0;
+    for (ByteBuffer buffer : output.buffers()) {
+      total += buffer.remaining();
+    }
+    assertThat(total).isEqualTo(expected.length());
+  }
+
+  @Test
+  void writeTo_gatheringChannel(@TempDir Path dir) throws Exception {
+    SegmentedJsonOutput output = SegmentedJsonOutput.of();
+    writeValues(output, 5_000);
+
+    Path file = dir.resolve("out.json");
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      assertThat(output.writeTo(channel)).isEqualTo(output.size());
+    }
+    assertThat(Files.readString(file)).isEqualTo(expected(5_000));
+  }
+
+  @Test
+  void reset_reusesSegments() {
+    SegmentedJsonOutput output = SegmentedJsonOutput.of();
+    writeValues(output, 10_000);
+    ByteBuffer[] first = output.buffers();
+
+    output.reset();
+    assertThat(output.size()).isZero();
+    assertThat(output.buffers()).isEmpty();
+
+    writeValues(output, 3);
+    assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected(3));
+    assertThat(output.buffers()[0].array()).isSameAs(first[0].array());
+  }
+}
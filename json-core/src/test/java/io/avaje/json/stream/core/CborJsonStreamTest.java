@@ -0,0 +1,311 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.JsonReader;
+import io.avaje.json.JsonWriter;
+import io.avaje.json.PropertyNames;
+import io.avaje.json.mapper.JsonMapper;
+import io.avaje.json.stream.ArrayJsonWriter;
+import io.avaje.json.stream.BytesJsonWriter;
+import io.avaje.json.stream.JsonStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CborJsonStreamTest {
+
+  final JsonStream cbor = JsonStream.builder().cbor(true).build();
+
+  static byte[] bytes(int... values) {
+    final byte[] bytes = new byte[values.length];
+    for (int i = 0; i < values.length; i++) {
+      bytes[i] = (byte) values[i];
+    }
+    return bytes;
+  }
+
+  @Test
+  void write_names() {
+    PropertyNames names = cbor.properties("a", "b");
+    BytesJsonWriter writer = cbor.bufferedWriterAsBytes();
+    writer.beginObject(names);
+    writer.name(0);
+    writer.value(1);
+    writer.name(1);
+    writer.beginArray();
+    writer.value(2);
+    writer.value(3);
+    writer.endArray();
+    writer.endObject();
+    writer.close();
+
+    assertThat(writer.result()).isEqualTo(bytes(0xBF, 0x61, 'a', 0x01, 0x61, 'b', 0x9F, 0x02, 0x03, 0xFF, 0xFF));
+  }
+
+  @Test
+  void write_values() {
+    BytesJsonWriter writer = cbor.bufferedWriterAsBytes();
+    writer.beginArray();
+    writer.value(0);
+    writer.value(23);
+    writer.value(24);
+    writer.value(1000);
+    writer.value(-1);
+    writer.value(-1000L);
+    writer.value(1.5D);
+    writer.value(1.1D);
+    writer.value(true);
+    writer.value("ü");
+    writer.value(new byte[]{1, 2});
+    writer.endArray();
+    writer.close();
+
+    assertThat(writer.result()).isEqualTo(bytes(0x9F,
+      0x00, 0x17, 0x18, 0x18, 0x19, 0x03, 0xE8, 0x20, 0x39, 0x03, 0xE7,
+      0xFA, 0x3F, 0xC0, 0x00, 0x00,
+      0xFB, 0x3F, 0xF1, 0x99, 0x99, 0x99, 0x99, 0x99, 0x9A,
+      0xF5, 0x62, 0xC3, 0xBC, 0x42, 0x01, 0x02, 0xFF));
+  }
+
+  @Test
+  void read_definiteLength() {
+    // {"a": 1, "b": [2, 3]} from RFC 8949 appendix A
+    try (JsonReader reader = cbor.reader(bytes(0xA2, 0x61, 0x61, 0x01, 0x61, 0x62, 0x82, 0x02, 0x03))) {
+      readExample(reader, cbor.properties("a", "b"));
+    }
+  }
+
+  @Test
+  void read_indefiniteLength() {
+    // {_ "a": 1, "b": [_ 2, 3]} from RFC 8949 appendix A
+    try (JsonReader reader = cbor.reader(bytes(0xBF, 0x61, 0x61, 0x01, 0x61, 0x62, 0x9F, 0x02, 0x03, 0xFF, 0xFF))) {
+      readExample(reader, cbor.properties("b", "a"));
+    }
+  }
+
+  private static void readExample(JsonReader reader, PropertyNames names) {
+    reader.beginObject(names);
+    assertThat(reader.hasNextField()).isTrue();
+    assertThat(reader.nextField()).isEqualTo("a");
+    assertThat(reader.readInt()).isEqualTo(1);
+    assertThat(reader.hasNextField()).isTrue();
+    assertThat(reader.nextField()).isEqualTo("b");
+    reader.beginArray();
+    assertThat(reader.hasNextElement()).isTrue();
+    assertThat(reader.readLong()).isEqualTo(2L);
+    assertThat(reader.hasNextElement()).isTrue();
+    assertThat(reader.readDouble()).isEqualTo(3D);
+    assertThat(reader.hasNextElement()).isFalse();
+    reader.endArray();
+    assertThat(reader.hasNextField()).isFalse();
+    reader.endObject();
+  }
+
+  @Test
+  void read_halfFloat() {
+    // 1.5 and -4.0 as half precision
+    try (JsonReader reader = cbor.reader(bytes(0x82, 0xF9, 0x3E, 0x00, 0xF9, 0xC4, 0x00))) {
+      reader.beginArray();
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readDouble()).isEqualTo(1.5D);
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readNumber()).isEqualTo(-4.0D);
+      assertThat(reader.hasNextElement()).isFalse();
+      reader.endArray();
+    }
+  }
+
+  @Test
+  void roundTrip_numbers() {
+    BigInteger big = new BigInteger("18446744073709551616");
+    BigDecimal decimal = new BigDecimal("273.15");
+
+    BytesJsonWriter writer = cbor.bufferedWriterAsBytes();
+    writer.beginArray();
+    writer.value(Long.MIN_VALUE);
+    writer.value(big);
+    writer.value(big.negate());
+    writer.value(decimal);
+    writer.value(Double.NaN);
+    writer.endArray();
+    writer.close();
+
+    byte[] content = writer.result();
+    try (JsonReader reader = cbor.reader(content)) {
+      reader.beginArray();
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readLong()).isEqualTo(Long.MIN_VALUE);
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.currentToken()).isEqualTo(JsonReader.Token.NUMBER);
+      assertThat(reader.readBigInteger()).isEqualTo(big);
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readNumber()).isEqualTo(big.negate());
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readDecimal()).isEqualTo(decimal);
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readDouble()).isNaN();
+      assertThat(reader.hasNextElement()).isFalse();
+      reader.endArray();
+    }
+  }
+
+  @Test
+  void roundTrip_mapper() {
+    JsonMapper mapper = JsonMapper.builder().jsonStream(cbor).build();
+    JsonMapper.Type<Map<String, Object>> type = mapper.map();
+
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("id", 42L);
+    map.put("name", "rob 😀");
+    map.put("active", true);
+    map.put("tags", List.of("a", "b"));
+    map.put("nested", Map.of("x", 1.5D));
+
+    byte[] content = type.toJsonBytes(map);
+    assertThat(type.fromJson(content)).isEqualTo(map);
+  }
+
+  @Test
+  void read_inputStream_refill() {
+    String longText = "x".repeat(10_000);
+    BytesJsonWriter writer = cbor.bufferedWriterAsBytes();
+    writer.beginArray();
+    for (int i = 0; i < 500; i++) {
+      writer.beginObject();
+      writer.name("i");
+      writer.value(i);
+      writer.name("text");
+      writer.value(i == 250 ? longText : "t" + i);
+      writer.endObject();
+    }
+    writer.endArray();
+    writer.close();
+
+    // at most 7 bytes per read
+    InputStream in = new FilterInputStream(new ByteArrayInputStream(writer.result())) {
+      @Override
+      public int read(byte[] b, int off, int len) throws java.io.IOException {
+        return super.read(b, off, Math.min(len, 7));
+      }
+    };
+    try (JsonReader reader = cbor.reader(in)) {
+      reader.beginArray();
+      int count = 0;
+      while (reader.hasNextElement()) {
+        reader.beginObject();
+        while (reader.hasNextField()) {
+          String field = reader.nextField();
+          if (field.equals("i")) {
+            assertThat(reader.readInt()).isEqualTo(count);
+          } else {
+            assertThat(reader.readString()).isEqualTo(count == 250 ? longText : "t" + count);
+          }
+        }
+        reader.endObject();
+        count++;
+      }
+      reader.endArray();
+      assertThat(count).isEqualTo(500);
+    }
+  }
+
+  @Test
+  void skipValue_and_nulls() {
+    PropertyNames names = cbor.properties("keep", "skip", "none");
+    BytesJsonWriter writer = cbor.bufferedWriterAsBytes();
+    writer.serializeNulls(true);
+    writer.beginObject(names);
+    writer.name(1);
+    writer.jsonValue(Map.of("deep", List.of(1, "two", new byte[3], List.of())));
+    writer.name(2);
+    writer.nullValue();
+    writer.name(0);
+    writer.value("kept");
+    writer.endObject();
+    writer.close();
+
+    try (JsonReader reader = cbor.reader(writer.result())) {
+      reader.beginObject(names);
+      assertThat(reader.hasNextField()).isTrue();
+      assertThat(reader.nextField()).isEqualTo("skip");
+      reader.skipValue();
+      assertThat(reader.hasNextField()).isTrue();
+      assertThat(reader.nextField()).isEqualTo("none");
+      assertThat(reader.isNullValue()).isTrue();
+      assertThat(reader.hasNextField()).isTrue();
+      assertThat(reader.nextField()).isEqualTo("keep");
+      assertThat(reader.isNullValue()).isFalse();
+      assertThat(reader.readString()).isEqualTo("kept");
+      assertThat(reader.hasNextField()).isFalse();
+      reader.endObject();
+    }
+  }
+
+  @Test
+  void raw_convertsJson() {
+    String json = "{\"a\":[1,-2.5,null,\"x\"],\"b\":{\"c\":true}}";
+    BytesJsonWriter writer = cbor.bufferedWriterAsBytes();
+    writer.rawValue(json);
+    writer.close();
+
+    try (JsonReader reader = cbor.reader(writer.result())) {
+      assertThat(reader.readRaw()).isEqualTo(json);
+    }
+  }
+
+  @Test
+  void stream_sequence() {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    try (JsonWriter writer = cbor.writer(os)) {
+      for (int i = 0; i < 3; i++) {
+        writer.value("v" + i);
+        writer.writeNewLine();
+      }
+    }
+    try (JsonReader reader = cbor.reader(os.toByteArray())) {
+      reader.beginStream();
+      assertThat(reader.hasNextStreamElement()).isTrue();
+      assertThat(reader.readString()).isEqualTo("v0");
+      assertThat(reader.hasNextStreamElement()).isTrue();
+      assertThat(reader.readString()).isEqualTo("v1");
+      assertThat(reader.hasNextStreamElement()).isTrue();
+      assertThat(reader.readString()).isEqualTo("v2");
+      assertThat(reader.hasNextStreamElement()).isFalse();
+      reader.endStream();
+    }
+  }
+
+  @Test
+  void writer_intoArray() {
+    byte[] dest = new byte[20];
+    try (ArrayJsonWriter writer = cbor.writer(dest, 2)) {
+      writer.value("hello");
+      assertThat(writer.result()).isEqualTo(6);
+    }
+    assertThat(dest[2]).isEqualTo((byte) 0x65);
+    assertThat(new String(dest, 3, 5)).isEqualTo("hello");
+  }
+
+  @Test
+  void text_notSupported() {
+    assertThatThrownBy(() -> cbor.reader("{}")).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(cbor::bufferedWriter).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void asyncReader_notSupported() {
+    assertThatThrownBy(cbor::asyncReader).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> cbor.asyncReader(true)).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> cbor.asyncReader(false, 1000)).isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -1,9 +1,15 @@
 package io.avaje.json.stream.core;
 
+import io.avaje.json.JsonReader;
+import io.avaje.json.stream.JsonStream;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -15,6 +21,41 @@ class JParserTest {
   final int maxNumberDigits = 100;
   final int maxStringBuffer = 1000;
 
+  @Test
+  void readNumber() {
+    String content = "[42,-7,9007199254740993,-9223372036854775808,123456789012345678901234,4.5,1.0,1e3,-0.000125,0.1234567890123456789,1e400]";
+    assertThat(readNumbers(JsonStream.builder().build().reader(content))).containsExactly(
+      42L, -7L, 9007199254740993L, Long.MIN_VALUE, new BigInteger("123456789012345678901234"),
+      4.5D, 1.0D, 1000D, -0.000125D, new BigDecimal("0.1234567890123456789"), new BigDecimal("1e400"));
+  }
+
+  @Test
+  void readNumber_streaming() {
+    String content = "[42,9007199254740993,4.5,0.1234567890123456789]";
+    var inputStream = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    assertThat(readNumbers(JsonStream.builder().build().reader(inputStream))).containsExactly(
+      42L, 9007199254740993L, 4.5D, new BigDecimal("0.1234567890123456789"));
+  }
+
+  @Test
+  void readNumber_topLevel() {
+    try (JsonReader reader = JsonStream.builder().build().reader("9007199254740993")) {
+      assertThat(reader.readNumber()).isEqualTo(9007199254740993L);
+    }
+  }
+
+  private static List<Number> readNumbers(JsonReader reader) {
+    List<Number> numbers = new ArrayList<>();
+    try (reader) {
+      reader.beginArray();
+      while (reader.hasNextElement()) {
+        numbers.add(reader.readNumber());
+      }
+      reader.endArray();
+    }
+    return numbers;
+  }
+
   @Test
   void readRaw_when_bytes() {
     JParser parser = newParser(1000);
@@ -29,6 +29,14 @@ class JsonNamesTest {
     check(names, "body");
   }
 
+  @Test
+  void prefix() {
+    JsonNames names = JsonNames.of("one", "a\"b");
+
+    assertThat(new String(names.prefix(0))).isEqualTo(",\"one\":");
+    assertThat(new String(names.prefix(1))).isEqualTo(",\"a\\\"b\":");
+  }
+
   private static void check(JsonNames names, String key) {
     String statusCode = names.lookup(Escape.nameHash(key));
     assertThat(statusCode).isEqualTo(key);
@@ -144,6 +144,27 @@ class JsonWriterTest {
     assertThat(asJson).isEqualTo("[{\"one\":\"hello\",\"size\":43},{\"one\":\"another\",\"active\":true,\"flags\":[42,43]}]");
   }
 
+  @Test
+  void using_names_pretty() {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    JGenerator dJsonWriter = new JGenerator();
+    dJsonWriter.prepare(JsonOutput.of(os));
+
+    JsonWriteAdapter fw = new JsonWriteAdapter(dJsonWriter, HybridBufferRecycler.shared(), true, true);
+    fw.pretty(true);
+
+    JsonNames names = JsonNames.of("one", "size");
+    fw.beginObject(names);
+    fw.name(0);
+    fw.value("hello");
+    fw.name(1);
+    fw.value(43);
+    fw.endObject();
+    fw.close();
+
+    assertThat(os.toString()).isEqualTo("{\n  \"one\": \"hello\",\n  \"size\": 43\n}");
+  }
+
   @Test
   void largeString() {
     ByteArrayOutputStream os = new ByteArrayOutputStream();
@@ -280,4 +301,35 @@ class JsonWriterTest {
 
     assertThat(writer.toString()).isEqualTo("{\"key\":\"a\\nb£c\",\"x\":1}");
   }
+
+  @Test
+  void nestedArrays_separated() {
+    JsonStream build = CoreJsonStream.builder().build();
+
+    StringWriter writer = new StringWriter();
+    JsonWriter fw = build.writer(writer);
+
+    fw.beginArray();
+    fw.beginArray();
+    fw.value(1);
+    fw.value(2);
+    fw.endArray();
+    fw.beginArray();
+    fw.endArray();
+    fw.beginObject();
+    fw.name("a");
+    fw.beginArray();
+    fw.value(3);
+    fw.endArray();
+    fw.endObject();
+    fw.beginArray();
+    fw.beginArray();
+    fw.value(4);
+    fw.endArray();
+    fw.endArray();
+    fw.endArray();
+    fw.close();
+
+    assertThat(writer.toString()).isEqualTo("[[1,2],[],{\"a\":[3]},[[4]]]");
+  }
 }
@@ -0,0 +1,347 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.JsonReader;
+import io.avaje.json.JsonWriter;
+import io.avaje.json.PropertyNames;
+import io.avaje.json.stream.ArrayJsonWriter;
+import io.avaje.json.stream.BytesJsonWriter;
+import io.avaje.json.stream.JsonStream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MsgPackJsonStreamTest {
+
+  final JsonStream msgpack = JsonStream.builder().msgpack(true).build();
+
+  static byte[] bytes(int... values) {
+    final byte[] bytes = new byte[values.length];
+    for (int i = 0; i < values.length; i++) {
+      bytes[i] = (byte) values[i];
+    }
+    return bytes;
+  }
+
+  @Test
+  void write_names() {
+    // {"compact":true,"schema":0} from msgpack.org
+    PropertyNames names = msgpack.properties("compact", "schema");
+    BytesJsonWriter writer = msgpack.bufferedWriterAsBytes();
+    writer.beginObject(names);
+    writer.name(0);
+    writer.value(true);
+    writer.name(1);
+    writer.value(0);
+    writer.endObject();
+    writer.close();
+
+    assertThat(writer.result()).isEqualTo(bytes(0x82,
+      0xA7, 'c', 'o', 'm', 'p', 'a', 'c', 't', 0xC3,
+      0xA6, 's', 'c', 'h', 'e', 'm', 'a', 0x00));
+  }
+
+  @Test
+  void write_values() {
+    BytesJsonWriter writer = msgpack.bufferedWriterAsBytes();
+    writer.beginArray();
+    writer.value(127);
+    writer.value(128);
+    writer.value(1000);
+    writer.value(-32);
+    writer.value(-33);
+    writer.value(1.5D);
+    writer.value("ü");
+    writer.value(new byte[]{1, 2});
+    writer.endArray();
+    writer.close();
+
+    assertThat(writer.result()).isEqualTo(bytes(0x98,
+      0x7F, 0xCC, 0x80, 0xCD, 0x03, 0xE8, 0xE0, 0xD0, 0xDF,
+      0xCA, 0x3F, 0xC0, 0x00, 0x00,
+      0xA2, 0xC3, 0xBC, 0xC4, 0x02, 0x01, 0x02));
+  }
+
+  @Test
+  void write_nested() {
+    BytesJsonWriter writer = msgpack.bufferedWriterAsBytes();
+    writer.serializeEmpty(true);
+    writer.value(7);
+    writer.beginArray();
+    writer.beginArray();
+    writer.value(1);
+    writer.endArray();
+    writer.beginObject();
+    writer.name("a");
+    writer.beginArray();
+    writer.endArray();
+    writer.name("b");
+    writer.emptyArray();
+    writer.endObject();
+    writer.beginArray();
+    for (int i = 0; i < 16; i++) {
+      writer.value(i);
+    }
+    writer.endArray();
+    writer.endArray();
+    writer.value(8);
+    writer.close();
+
+    // 16 elements need an array 16 header, the smaller containers fix headers
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    expected.writeBytes(bytes(0x07, 0x93, 0x91, 0x01, 0x82, 0xA1, 'a', 0x90, 0xA1, 'b', 0x90, 0xDC, 0x00, 0x10));
+    for (int i = 0; i < 16; i++) {
+      expected.write(i);
+    }
+    expected.write(0x08);
+    assertThat(writer.result()).isEqualTo(expected.toByteArray());
+  }
+
+  @Test
+  void read_names() {
+    PropertyNames names = msgpack.properties("schema", "compact");
+    try (JsonReader reader = msgpack.reader(bytes(0x82,
+      0xA7, 'c', 'o', 'm', 'p', 'a', 'c', 't', 0xC3,
+      0xA6, 's', 'c', 'h', 'e', 'm', 'a', 0x00))) {
+      reader.beginObject(names);
+      assertThat(reader.hasNextField()).isTrue();
+      assertThat(reader.nextField()).isEqualTo("compact");
+      assertThat(reader.readBoolean()).isTrue();
+      assertThat(reader.hasNextField()).isTrue();
+      assertThat(reader.nextField()).isEqualTo("schema");
+      assertThat(reader.readInt()).isEqualTo(0);
+      assertThat(reader.hasNextField()).isFalse();
+      reader.endObject();
+    }
+  }
+
+  @Test
+  void binary_zeroCopy() {
+    byte[] small = new byte[]{1, 2, 3};
+    byte[] large = new byte[100_000];
+    large[99_999] = 42;
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    try (JsonWriter writer = msgpack.writer(os)) {
+      writer.beginArray();
+      writer.value(small);
+      writer.value(large);
+      writer.value("after");
+      writer.endArray();
+    }
+    byte[] content = os.toByteArray();
+    assertThat(content.length).isEqualTo(1 + 5 + 5 + 100_000 + 6);
+
+    // at most 7 bytes per read such that the large bin is read directly
+    InputStream in = new FilterInputStream(new ByteArrayInputStream(content)) {
+      @Override
+      public int read(byte[] b, int off, int len) throws java.io.IOException {
+        return super.read(b, off, Math.min(len, 7));
+      }
+    };
+    try (JsonReader reader = msgpack.reader(in)) {
+      reader.beginArray();
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readBinary()).isEqualTo(small);
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readBinary()).isEqualTo(large);
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readString()).isEqualTo("after");
+      assertThat(reader.hasNextElement()).isFalse();
+      reader.endArray();
+    }
+  }
+
+  @Test
+  void binary_zeroCopy_nested() {
+    byte[] large = new byte[1000];
+    large[0] = 1;
+    large[999] = 2;
+    Object value = List.of(Map.of("a", List.of(large, "x")), large, List.of(List.of(), large));
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    try (JsonWriter writer = msgpack.writer(os)) {
+      writer.serializeEmpty(true);
+      writer.jsonValue(value);
+      writer.jsonValue(large);
+    }
+    BytesJsonWriter buffered = msgpack.bufferedWriterAsBytes();
+    buffered.serializeEmpty(true);
+    buffered.jsonValue(value);
+    buffered.jsonValue(large);
+    buffered.close();
+
+    // the referenced values are written at the same offsets as when copied
+    assertThat(os.toByteArray()).isEqualTo(buffered.result());
+  }
+
+  @Test
+  void stream_writtenAsValues() {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    JsonWriter writer = msgpack.writer(os);
+    writer.beginStream();
+    for (int i = 0; i < 1000; i++) {
+      writer.beginObject();
+      writer.name("id");
+      writer.value(i);
+      writer.name("tags");
+      writer.beginArray();
+      writer.value("t" + i);
+      writer.endArray();
+      writer.endObject();
+    }
+    // written to the output while the stream is open
+    assertThat(os.size()).isGreaterThan(0);
+    writer.endStream();
+    writer.close();
+
+    byte[] content = os.toByteArray();
+    // a map rather than an array header
+    assertThat(content[0]).isEqualTo((byte) 0x82);
+    try (JsonReader reader = msgpack.reader(content)) {
+      reader.beginStream();
+      int count = 0;
+      while (reader.hasNextStreamElement()) {
+        reader.beginObject();
+        assertThat(reader.hasNextField()).isTrue();
+        assertThat(reader.nextField()).isEqualTo("id");
+        assertThat(reader.readInt()).isEqualTo(count);
+        assertThat(reader.hasNextField()).isTrue();
+        assertThat(reader.nextField()).isEqualTo("tags");
+        reader.skipValue();
+        assertThat(reader.hasNextField()).isFalse();
+        reader.endObject();
+        count++;
+      }
+      reader.endStream();
+      assertThat(count).isEqualTo(1000);
+    }
+  }
+
+  @Test
+  void stream_nested_writtenAsArray() {
+    BytesJsonWriter writer = msgpack.bufferedWriterAsBytes();
+    writer.beginObject();
+    writer.name("s");
+    writer.beginStream();
+    writer.value(1);
+    writer.value(2);
+    writer.endStream();
+    writer.endObject();
+    writer.close();
+
+    assertThat(writer.result()).isEqualTo(bytes(0x81, 0xA1, 's', 0x92, 0x01, 0x02));
+  }
+
+  @Test
+  void roundTrip_numbers() {
+    BigInteger unsigned = new BigInteger("18446744073709551615");
+    BigInteger big = new BigInteger("18446744073709551616");
+    BigDecimal decimal = new BigDecimal("273.15");
+
+    BytesJsonWriter writer = msgpack.bufferedWriterAsBytes();
+    writer.beginArray();
+    writer.value(Long.MIN_VALUE);
+    writer.value(unsigned);
+    writer.value(big);
+    writer.value(decimal);
+    writer.value(1.1D);
+    writer.endArray();
+    writer.close();
+
+    try (JsonReader reader = msgpack.reader(writer.result())) {
+      reader.beginArray();
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readLong()).isEqualTo(Long.MIN_VALUE);
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readNumber()).isEqualTo(unsigned);
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readBigInteger()).isEqualTo(big);
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readDecimal()).isEqualTo(decimal);
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readDouble()).isEqualTo(1.1D);
+      assertThat(reader.hasNextElement()).isFalse();
+      reader.endArray();
+    }
+  }
+
+  @Test
+  void skipValue_and_nulls() {
+    PropertyNames names = msgpack.properties("keep", "skip", "none");
+    BytesJsonWriter writer = msgpack.bufferedWriterAsBytes();
+    writer.serializeNulls(true);
+    writer.beginObject(names);
+    writer.name(1);
+    writer.jsonValue(Map.of("deep", List.of(1, "two", new byte[300], List.of())));
+    writer.name(2);
+    writer.nullValue();
+    writer.name(0);
+    writer.value("kept");
+    writer.endObject();
+    writer.close();
+
+    try (JsonReader reader = msgpack.reader(writer.result())) {
+      reader.beginObject(names);
+      assertThat(reader.hasNextField()).isTrue();
+      assertThat(reader.nextField()).isEqualTo("skip");
+      reader.skipValue();
+      assertThat(reader.hasNextField()).isTrue();
+      assertThat(reader.nextField()).isEqualTo("none");
+      assertThat(reader.isNullValue()).isTrue();
+      assertThat(reader.hasNextField()).isTrue();
+      assertThat(reader.nextField()).isEqualTo("keep");
+      assertThat(reader.readString()).isEqualTo("kept");
+      assertThat(reader.hasNextField()).isFalse();
+      reader.endObject();
+    }
+  }
+
+  @Test
+  void raw_convertsJson() {
+    String json = "{\"a\":[1,-2.5,null,\"x\"],\"b\":{\"c\":true}}";
+    BytesJsonWriter writer = msgpack.bufferedWriterAsBytes();
+    writer.rawValue(json);
+    writer.close();
+
+    try (JsonReader reader = msgpack.reader(writer.result())) {
+      assertThat(reader.readRaw()).isEqualTo(json);
+    }
+  }
+
+  @Test
+  void writer_intoArray() {
+    byte[] dest = new byte[20];
+    try (ArrayJsonWriter writer = msgpack.writer(dest, 2)) {
+      writer.beginArray();
+      writer.value("hello");
+      writer.endArray();
+      assertThat(writer.result()).isEqualTo(7);
+    }
+    assertThat(dest[2]).isEqualTo((byte) 0x91);
+    assertThat(dest[3]).isEqualTo((byte) 0xA5);
+    assertThat(new String(dest, 4, 5)).isEqualTo("hello");
+  }
+
+  @Test
+  void text_notSupported() {
+    assertThatThrownBy(() -> msgpack.reader("{}")).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(msgpack::bufferedWriter).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void asyncReader_notSupported() {
+    assertThatThrownBy(msgpack::asyncReader).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> msgpack.asyncReader(true)).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> msgpack.asyncReader(false, 1000)).isInstanceOf(UnsupportedOperationException.class);
+  }
+}
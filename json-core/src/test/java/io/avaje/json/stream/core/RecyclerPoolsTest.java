@@ -0,0 +1,68 @@
+package io.avaje.json.stream.core;
+
+import io.avaje.json.stream.BufferPools;
+import io.avaje.json.stream.core.HybridBufferRecycler.StripedLockFreePool;
+import io.avaje.json.stream.core.Recyclers.ThreadLocalPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecyclerPoolsTest {
+
+  @AfterEach
+  void restore() {
+    BufferPools.afterRestore();
+  }
+
+  @Test
+  void lockFree_drain_dropsPooled() {
+    var pool = StripedLockFreePool.shared();
+    JsonGenerator generator = pool.generator();
+    pool.recycle(generator);
+    assertThat(pool.generator()).isSameAs(generator);
+    pool.recycle(generator);
+
+    BufferPools.beforeCheckpoint();
+    assertThat(pool.generator()).isNotSameAs(generator);
+  }
+
+  @Test
+  void lockFree_resize_dropsInFlight() {
+    var pool = StripedLockFreePool.shared();
+    JsonParser parser = pool.parser(new byte[0]);
+
+    BufferPools.resize(3);
+    assertThat(BufferPools.stripes()).isEqualTo(4);
+
+    // recycled into the prior stripes so dropped
+    pool.recycle(parser);
+    JsonParser other = pool.parser(new byte[0]);
+    assertThat(other).isNotSameAs(parser);
+    pool.recycle(other);
+    assertThat(pool.parser(new byte[0])).isSameAs(other);
+  }
+
+  @Test
+  void afterRestore_availableProcessors() {
+    BufferPools.resize(1);
+    assertThat(BufferPools.stripes()).isEqualTo(1);
+    BufferPools.afterRestore();
+    assertThat(BufferPools.stripes()).isGreaterThanOrEqualTo(Runtime.getRuntime().availableProcessors());
+  }
+
+  @Test
+  void threadLocal_drain() {
+    var pool = ThreadLocalPool.shared();
+    JsonGenerator generator = pool.generator();
+    assertThat(pool.generator()).isSameAs(generator);
+
+    BufferPools.beforeCheckpoint();
+    assertThat(pool.generator()).isNotSameAs(generator);
+  }
+
+  @Test
+  void registerCheckpointHooks_withoutCrac() {
+    assertThat(BufferPools.registerCheckpointHooks()).isFalse();
+  }
+}
@@ -0,0 +1,463 @@
+package io.avaje.json.node;
+
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Insertion ordered Map used for the children of JsonObject.
+ * <p>
+ * Keys and values are held in a flat array of alternating key/value. Small maps
+ * use a linear scan and once the map has more than {@link #INDEX_THRESHOLD} entries
+ * an open addressing hash index is maintained for lookups. This avoids the entry
+ * and table overhead of LinkedHashMap for the common case of objects with few keys.
+ * <p>
+ * Removal leaves a tombstone (null key) in the table such that the positions held by
+ * the index remain valid. The table is compacted (and the index rebuilt) once at least
+ * half of the used slots are tombstones, so removal is amortised O(1).
+ * <p>
+ * A frozen map is unmodifiable and is used for the children of unmodifiable JsonObject.
+ */
+final class CompactMap extends AbstractMap<String, JsonNode> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Maps with more entries than this maintain a hash index.
+   */
+  static final int INDEX_THRESHOLD = 8;
+
+  private static final Object[] EMPTY = new Object[0];
+
+  /** Alternating key and value. */
+  private transient Object[] table;
+  /** Hash index holding the entry position + 1 (zero for an empty bucket). */
+  private transient int @Nullable [] index;
+  /** Number of entries (excluding tombstones). */
+  private transient int size;
+  /** Number of used entry positions in the table (including tombstones). */
+  private transient int used;
+  private transient int modCount;
+  private transient @Nullable EntrySet entrySet;
+  private boolean frozen;
+
+  CompactMap() {
+    this.table = EMPTY;
+  }
+
+  CompactMap(int expectedSize) {
+    this.table = expectedSize == 0 ? EMPTY : new Object[expectedSize * 2];
+  }
+
+  private CompactMap(Object[] table, int @Nullable [] index, int size, int used, boolean frozen) {
+    this.table = table;
+    this.index = index;
+    this.size = size;
+    this.used = used;
+    this.frozen = frozen;
+  }
+
+  /**
+   * Return a mutable copy of the given map with capacity for the extra entries.
+   */
+  static CompactMap copyOf(Map<String, JsonNode> source, int extra) {
+    if (source instanceof CompactMap) {
+      final CompactMap map = (CompactMap) source;
+      if (map.used != map.size) {
+        return map.compactedCopy(map.size + extra, false);
+      }
+      final int[] idx = map.index;
+      return new CompactMap(Arrays.copyOf(map.table, (map.size + extra) * 2), idx == null ? null : idx.clone(), map.size, map.size, false);
+    }
+    final var copy = new CompactMap(source.size() + extra);
+    for (Entry<String, JsonNode> entry : source.entrySet()) {
+      copy.put(entry.getKey(), entry.getValue());
+    }
+    return copy;
+  }
+
+  /**
+   * Return a frozen copy of this map with the table trimmed to size.
+   */
+  CompactMap frozenCopy() {
+    if (used != size) {
+      return compactedCopy(size, true);
+    }
+    final int[] idx = index;
+    return new CompactMap(size == 0 ? EMPTY : Arrays.copyOf(table, size * 2), idx == null ? null : idx.clone(), size, size, true);
+  }
+
+  private CompactMap compactedCopy(int capacity, boolean frozenCopy) {
+    final CompactMap copy = new CompactMap(capacity == 0 ? EMPTY : compactTable(capacity), null, size, size, frozenCopy);
+    if (size > INDEX_THRESHOLD) {
+      copy.rebuildIndex();
+    }
+    return copy;
+  }
+
+  /**
+   * Return a table with the entries (without tombstones) and the given capacity.
+   */
+  private Object[] compactTable(int capacity) {
+    final Object[] tab = new Object[capacity * 2];
+    int j = 0;
+    for (int i = 0, end = used * 2; i < end; i += 2) {
+      if (table[i] != null) {
+        tab[j++] = table[i];
+        tab[j++] = table[i + 1];
+      }
+    }
+    return tab;
+  }
+
+  /**
+   * Freeze this map making it unmodifiable.
+   */
+  CompactMap freeze() {
+    frozen = true;
+    return this;
+  }
+
+  /**
+   * Return true if this map is frozen (unmodifiable).
+   */
+  boolean isFrozen() {
+    return frozen;
+  }
+
+  private void checkMutable() {
+    if (frozen) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key instanceof String && position((String) key) >= 0;
+  }
+
+  @Override
+  public JsonNode get(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    final int pos = position((String) key);
+    return pos < 0 ? null : (JsonNode) table[pos * 2 + 1];
+  }
+
+  @Override
+  public JsonNode put(String key, JsonNode value) {
+    checkMutable();
+    Objects.requireNonNull(key);
+    final int pos = position(key);
+    if (pos >= 0) {
+      final int valueIdx = pos * 2 + 1;
+      final JsonNode prior = (JsonNode) table[valueIdx];
+      table[valueIdx] = value;
+      return prior;
+    }
+    if (used * 2 == table.length) {
+      if (used != size && used - size >= used >> 1) {
+        // at least half are tombstones, compact rather than grow
+        compact();
+      } else {
+        table = Arrays.copyOf(table, Math.max(8, table.length * 2));
+      }
+    }
+    final int slot = used++;
+    table[slot * 2] = key;
+    table[slot * 2 + 1] = value;
+    size++;
+    modCount++;
+    if (index != null) {
+      if (used * 2 > index.length) {
+        rebuildIndex();
+      } else {
+        addToIndex(index, key, slot);
+      }
+    } else if (size > INDEX_THRESHOLD) {
+      rebuildIndex();
+    }
+    return null;
+  }
+
+  @Override
+  public JsonNode remove(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    final int pos = position((String) key);
+    if (pos < 0) {
+      return null;
+    }
+    final JsonNode prior = (JsonNode) table[pos * 2 + 1];
+    removeAt(pos);
+    if (used - size > used >> 1 || (index != null && size <= INDEX_THRESHOLD)) {
+      compact();
+    }
+    return prior;
+  }
+
+  /**
+   * Remove the entry leaving a tombstone such that the other positions are unchanged.
+   */
+  private void removeAt(int pos) {
+    checkMutable();
+    table[pos * 2] = null;
+    table[pos * 2 + 1] = null;
+    size--;
+    modCount++;
+    if (pos == used - 1 && index == null) {
+      // trailing entry, no index referring to the position
+      used--;
+    }
+  }
+
+  /**
+   * Remove the tombstones moving the entries to the front of the table.
+   */
+  private void compact() {
+    if (used != size) {
+      int j = 0;
+      for (int i = 0, end = used * 2; i < end; i += 2) {
+        if (table[i] != null) {
+          table[j++] = table[i];
+          table[j++] = table[i + 1];
+        }
+      }
+      Arrays.fill(table, j, used * 2, null);
+      used = size;
+    }
+    if (size > INDEX_THRESHOLD) {
+      rebuildIndex();
+    } else {
+      index = null;
+    }
+  }
+
+  @Override
+  public void clear() {
+    checkMutable();
+    Arrays.fill(table, 0, used * 2, null);
+    size = 0;
+    used = 0;
+    index = null;
+    modCount++;
+  }
+
+  /**
+   * Return the entry position for the given key or -1 if not found.
+   */
+  private int position(String key) {
+    final int[] idx = index;
+    if (idx == null) {
+      final Object[] tab = table;
+      for (int i = 0, end = used * 2; i < end; i += 2) {
+        final Object k = tab[i];
+        if (k == key || key.equals(k)) {
+          return i >> 1;
+        }
+      }
+      return -1;
+    }
+    final int mask = idx.length - 1;
+    int bucket = spread(key.hashCode()) & mask;
+    while (true) {
+      final int entry = idx[bucket];
+      if (entry == 0) {
+        return -1;
+      }
+      // a null key is a tombstone that continues the probe
+      final Object k = table[(entry - 1) * 2];
+      if (k == key || key.equals(k)) {
+        return entry - 1;
+      }
+      bucket = (bucket + 1) & mask;
+    }
+  }
+
+  private void rebuildIndex() {
+    // power of 2 with load factor below 0.5
+    final int[] newIndex = new int[Integer.highestOneBit(Math.max(used, 2) * 4 - 1)];
+    for (int i = 0; i < used; i++) {
+      final String key = (String) table[i * 2];
+      if (key != null) {
+        addToIndex(newIndex, key, i);
+      }
+    }
+    index = newIndex;
+  }
+
+  private static void addToIndex(int[] idx, String key, int pos) {
+    final int mask = idx.length - 1;
+    int bucket = spread(key.hashCode()) & mask;
+    while (idx[bucket] != 0) {
+      bucket = (bucket + 1) & mask;
+    }
+    idx[bucket] = pos + 1;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  @Override
+  public Set<Entry<String, JsonNode>> entrySet() {
+    EntrySet es = entrySet;
+    if (es == null) {
+      es = new EntrySet();
+      entrySet = es;
+    }
+    return es;
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(size);
+    for (int i = 0, end = used * 2; i < end; i += 2) {
+      if (table[i] != null) {
+        out.writeObject(table[i]);
+        out.writeObject(table[i + 1]);
+      }
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    final boolean frozenState = frozen;
+    frozen = false;
+    final int count = in.readInt();
+    table = count == 0 ? EMPTY : new Object[count * 2];
+    for (int i = 0; i < count; i++) {
+      final String key = (String) in.readObject();
+      put(key, (JsonNode) in.readObject());
+    }
+    frozen = frozenState;
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<String, JsonNode>> {
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public void clear() {
+      CompactMap.this.clear();
+    }
+
+    @Override
+    public Iterator<Entry<String, JsonNode>> iterator() {
+      return new EntryIterator();
+    }
+  }
+
+  private final class EntryIterator implements Iterator<Entry<String, JsonNode>> {
+
+    private int next;
+    private int last = -1;
+    private int expectedModCount = modCount;
+
+    @Override
+    public boolean hasNext() {
+      // skip tombstones
+      while (next < used && table[next * 2] == null) {
+        next++;
+      }
+      return next < used;
+    }
+
+    @Override
+    public Entry<String, JsonNode> next() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      last = next++;
+      return new ArrayEntry(last);
+    }
+
+    @Override
+    public void remove() {
+      if (last < 0) {
+        throw new IllegalStateException();
+      }
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      // no compaction while iterating such that positions remain valid
+      removeAt(last);
+      last = -1;
+      expectedModCount = modCount;
+    }
+  }
+
+  private final class ArrayEntry implements Entry<String, JsonNode> {
+
+    private final int pos;
+
+    ArrayEntry(int pos) {
+      this.pos = pos;
+    }
+
+    @Override
+    public String getKey() {
+      return (String) table[pos * 2];
+    }
+
+    @Override
+    public JsonNode getValue() {
+      return (JsonNode) table[pos * 2 + 1];
+    }
+
+    @Override
+    public JsonNode setValue(JsonNode value) {
+      checkMutable();
+      final JsonNode prior = getValue();
+      table[pos * 2 + 1] = value;
+      return prior;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Map.Entry)) return false;
+      final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+      return Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+    }
+
+    @Override
+    public String toString() {
+      return getKey() + "=" + getValue();
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package io.avaje.json.node;
 
+import io.avaje.json.JsonPath;
+
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -10,6 +12,14 @@ import static java.util.Objects.requireNonNull;
 
 /**
  * JSON Array type.
+ * <p>
+ * Unmodifiable arrays can be "updated" using {@link #with(int, JsonNode)},
+ * {@link #without(int)} and {@link #set(JsonPath, JsonNode)} which return a new
+ * unmodifiable array sharing the unchanged elements.
+ * <p>
+ * Each update copies the list of element references so it is O(n) in the size
+ * of the array. To make many changes to a large array use {@link #copy()} or
+ * {@link #create()} and mutate that instead.
  */
 public final class JsonArray implements JsonNode {
 
@@ -135,6 +145,81 @@ public final class JsonArray implements JsonNode {
     return this;
   }
 
+  /**
+   * Return a new unmodifiable JsonArray with the element at the given index replaced.
+   * <p>
+   * When the index is equal to the size of the array the element is appended.
+   * This array is not changed and all the other elements are shared with the
+   * returned array (they are not copied), however the list holding them is
+   * copied such that this is O(n) in the size of the array.
+   *
+   * @param index The index of the element to replace (or the size to append)
+   * @param value The new element
+   * @return A new unmodifiable JsonArray containing the element
+   * @throws IndexOutOfBoundsException When the index is greater than the size
+   */
+  public JsonArray with(int index, JsonNode value) {
+    requireNonNull(value);
+    final int size = children.size();
+    if (index < 0 || index > size) {
+      throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+    final var newList = new ArrayList<JsonNode>(index == size ? size + 1 : size);
+    newList.addAll(children);
+    if (index == size) {
+      newList.add(value);
+    } else {
+      newList.set(index, value);
+    }
+    return new JsonArray(Collections.unmodifiableList(newList));
+  }
+
+  /**
+   * Return a new unmodifiable JsonArray without the element at the given index.
+   * <p>
+   * This copies the list of the remaining elements so is O(n) in the size of the array.
+   *
+   * @param index The index of the element to exclude
+   * @return A new unmodifiable JsonArray without the element
+   * @throws IndexOutOfBoundsException When the index is not a valid index
+   */
+  public JsonArray without(int index) {
+    final var newList = new ArrayList<>(children);
+    newList.remove(index);
+    return new JsonArray(Collections.unmodifiableList(newList));
+  }
+
+  /**
+   * Return a new unmodifiable JsonArray with the value set at the given path.
+   *
+   * @param path  The path like {@code "[0].address.city"}
+   * @param value The value to set
+   * @return A new unmodifiable JsonArray containing the value
+   * @see #set(JsonPath, JsonNode)
+   */
+  public JsonArray set(String path, JsonNode value) {
+    return set(JsonPath.compile(path), value);
+  }
+
+  /**
+   * Return a new unmodifiable JsonArray with the value set at the given path.
+   * <p>
+   * Only the objects and arrays along the path are copied, all other nodes are
+   * shared with this array.
+   *
+   * @param path  The path to the value starting with an index (without wildcards)
+   * @param value The value to set
+   * @return A new unmodifiable JsonArray containing the value
+   * @throws IllegalArgumentException When the path contains a wildcard or does
+   *                                  not match the structure of this array
+   */
+  public JsonArray set(JsonPath path, JsonNode value) {
+    if (path.size() == 0 || !path.isIndex(0)) {
+      throw new IllegalArgumentException("Path " + path + " must start with an array index");
+    }
+    return (JsonArray) NodePath.set(this, path, 0, requireNonNull(value));
+  }
+
   /**
    * Add a String value.
    */
@@ -1,8 +1,10 @@
 package io.avaje.json.node;
 
+import io.avaje.json.JsonPath;
 import org.jspecify.annotations.Nullable;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -198,4 +200,117 @@ public /*sealed*/ interface JsonNode extends Serializable
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Find a node given a compiled path.
+   * <p>
+   * Unlike {@link #find(String)} the path is pre-parsed and can include array
+   * indexes and wildcards like {@code "people[0].person.lastName"}.
+   *
+   * @param path The compiled path
+   * @return The found node or null
+   */
+  @Nullable
+  default JsonNode find(JsonPath path) {
+    return NodePath.find(this, path);
+  }
+
+  /**
+   * Find all the nodes matching the given compiled path (typically containing wildcards).
+   *
+   * <pre>{@code
+   *
+   *   static final JsonPath LAST_NAMES = JsonPath.compile("people[*].person.lastName");
+   *
+   *   List<JsonNode> lastNames = node.findAll(LAST_NAMES);
+   *
+   * }</pre>
+   *
+   * @param path The compiled path
+   * @return The matching nodes (not null)
+   */
+  default List<JsonNode> findAll(JsonPath path) {
+    return NodePath.findAll(this, path);
+  }
+
+  /**
+   * Extract the text from the node at the given compiled path.
+   *
+   * @throws IllegalArgumentException When the given path is missing.
+   */
+  default String extract(JsonPath path) {
+    return extractNode(path).text();
+  }
+
+  /**
+   * Extract the text from the given compiled path if present or the given default value.
+   *
+   * @param missingValue The value to use when the path is missing.
+   */
+  default String extract(JsonPath path, String missingValue) {
+    final var node = find(path);
+    return node == null ? missingValue : node.text();
+  }
+
+  /**
+   * Extract the int from the given compiled path if present or the given default value.
+   *
+   * @param missingValue The value to use when the path is missing.
+   */
+  default int extract(JsonPath path, int missingValue) {
+    final var node = find(path);
+    return !(node instanceof JsonNumber)
+      ? missingValue
+      : ((JsonNumber) node).intValue();
+  }
+
+  /**
+   * Extract the long from the given compiled path if present or the given default value.
+   *
+   * @param missingValue The value to use when the path is missing.
+   */
+  default long extract(JsonPath path, long missingValue) {
+    final var node = find(path);
+    return !(node instanceof JsonNumber)
+      ? missingValue
+      : ((JsonNumber) node).longValue();
+  }
+
+  /**
+   * Extract the double from the given compiled path if present or the given default value.
+   *
+   * @param missingValue The value to use when the path is missing.
+   */
+  default double extract(JsonPath path, double missingValue) {
+    final var node = find(path);
+    return !(node instanceof JsonNumber)
+      ? missingValue
+      : ((JsonNumber) node).doubleValue();
+  }
+
+  /**
+   * Extract the boolean from the given compiled path if present or the given default value.
+   *
+   * @param missingValue The value to use when the path is missing.
+   */
+  default boolean extract(JsonPath path, boolean missingValue) {
+    final var node = find(path);
+    return !(node instanceof JsonBoolean)
+      ? missingValue
+      : ((JsonBoolean) node).value();
+  }
+
+  /**
+   * Extract the node from the given compiled path if present or throw IllegalArgumentException
+   * if it is missing.
+   *
+   * @throws IllegalArgumentException When the given path is missing.
+   */
+  default JsonNode extractNode(JsonPath path) {
+    final var node = find(path);
+    if (node == null) {
+      throw new IllegalArgumentException("Node not present for " + path);
+    }
+    return node;
+  }
+
 }
@@ -1,11 +1,13 @@
 package io.avaje.json.node;
 
 import io.avaje.json.JsonAdapter;
+import io.avaje.json.JsonPath;
 import io.avaje.json.JsonReader;
 import io.avaje.json.JsonWriter;
 import io.avaje.json.PropertyNames;
 import io.avaje.json.node.adapter.NodeAdapterBuilder;
 import io.avaje.json.mapper.JsonMapper;
+import io.avaje.json.stream.JsonPathExtractor;
 import io.avaje.json.stream.JsonStream;
 
 import java.io.InputStream;
@@ -188,6 +190,24 @@ public interface JsonNodeMapper {
    */
   JsonAdapter<?> adapter(Type type);
 
+  /**
+   * Return an extractor that reads the nodes for the given paths directly from
+   * json content without building a JsonNode tree for the rest of the content.
+   *
+   * <pre>{@code
+   *
+   *   static final JsonPath EVENT_TYPE = JsonPath.compile("event.type");
+   *
+   *   JsonPathExtractor<JsonNode> extractor = mapper.extractor(EVENT_TYPE);
+   *
+   *   JsonNode eventType = extractor.extract(json).get(EVENT_TYPE);
+   *
+   * }</pre>
+   *
+   * @param paths The paths to extract
+   */
+  JsonPathExtractor<JsonNode> extractor(JsonPath... paths);
+
   /**
    * Return the property names as PropertyNames.
    * <p>
@@ -1,23 +1,49 @@
 package io.avaje.json.node;
 
+import io.avaje.json.JsonPath;
+import io.avaje.json.node.internal.NodeAccess;
 import org.jspecify.annotations.Nullable;
 
 import java.util.*;
-import java.util.regex.Pattern;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * JSON Object type.
+ * <p>
+ * The elements are held in insertion order using a compact array of alternating
+ * keys and values (with a hash index only for objects with many keys).
+ * <p>
+ * Unmodifiable objects can be "updated" using {@link #with(String, JsonNode)},
+ * {@link #without(String)} and {@link #set(JsonPath, JsonNode)}. These return a
+ * new unmodifiable object and share all the unchanged child nodes with the
+ * original, such that an update only copies the objects and arrays along the
+ * path to the change.
+ * <p>
+ * Each object along the path copies its whole flat table of key and value references,
+ * so an update is O(width) per level where width is the number of keys of the object.
+ * To make many changes to a wide object use {@link #copy()} or {@link #create()} and
+ * mutate that instead.
+ *
+ * <pre>{@code
+ *
+ *   JsonObject updated = order
+ *     .with("status", JsonString.of("SHIPPED"))
+ *     .set("customer.address.city", JsonString.of("Auckland"));
+ *
+ * }</pre>
  */
 public final class JsonObject implements JsonNode {
 
   private static final long serialVersionUID = 1L;
   private static final JsonObject EMPTY = new JsonObject(Collections.emptyMap());
-  private static final Pattern PATH_PATTERN = Pattern.compile("\\.");
 
   private final Map<String, JsonNode> children;
 
+  static {
+    NodeAccess.objectBuilder(Builder::new);
+  }
+
   /**
    * Create an empty immutable JsonObject.
    */
@@ -29,16 +55,28 @@ public final class JsonObject implements JsonNode {
    * Create a new mutable JsonObject to add elements to.
    */
   public static JsonObject create() {
-    return new JsonObject(new LinkedHashMap<>());
+    return new JsonObject(new CompactMap());
   }
 
   /**
    * Create a unmodifiable JsonObject with the given elements.
    */
   public static JsonObject of(Map<String, JsonNode> elements) {
+    if (elements instanceof CompactMap) {
+      final var map = (CompactMap) elements;
+      return new JsonObject(map.isFrozen() ? map : map.frozenCopy());
+    }
     return new JsonObject(Collections.unmodifiableMap(elements));
   }
 
+  /**
+   * Return an unmodifiable JsonObject that takes ownership of the given map.
+   * The map must not be used by the caller after this.
+   */
+  static JsonObject ofOwned(CompactMap map) {
+    return new JsonObject(map.freeze());
+  }
+
   private JsonObject(Map<String, JsonNode> children) {
     this.children = requireNonNull(children);
   }
@@ -73,16 +111,16 @@ public final class JsonObject implements JsonNode {
 
   @Override
   public JsonObject unmodifiable() {
-    final var mapCopy = new LinkedHashMap<String, JsonNode>();
+    final var mapCopy = new CompactMap(children.size());
     for (Map.Entry<String, JsonNode> entry : children.entrySet()) {
       mapCopy.put(entry.getKey(), entry.getValue().unmodifiable());
     }
-    return JsonObject.of(mapCopy);
+    return new JsonObject(mapCopy.freeze());
   }
 
   @Override
   public JsonObject copy() {
-    final var mapCopy = new LinkedHashMap<String, JsonNode>();
+    final var mapCopy = new CompactMap(children.size());
     for (Map.Entry<String, JsonNode> entry : children.entrySet()) {
       mapCopy.put(entry.getKey(), entry.getValue().copy());
     }
@@ -177,6 +215,74 @@ public final class JsonObject implements JsonNode {
     return children.remove(key);
   }
 
+  /**
+   * Return a new unmodifiable JsonObject with the given element added or replaced.
+   * <p>
+   * This object is not changed and all the other elements are shared with the
+   * returned object (they are not copied). The table of key and value references is
+   * copied such that this is O(n) in the number of keys. This is intended to be used
+   * with unmodifiable objects such as those read from json content.
+   *
+   * @param key   The key for the element
+   * @param value The value for the element
+   * @return A new unmodifiable JsonObject containing the element
+   */
+  public JsonObject with(String key, JsonNode value) {
+    requireNonNull(value);
+    final var map = CompactMap.copyOf(children, children.containsKey(key) ? 0 : 1);
+    map.put(key, value);
+    return new JsonObject(map.freeze());
+  }
+
+  /**
+   * Return a new unmodifiable JsonObject without the element for the given key.
+   * <p>
+   * This object is not changed and all the other elements are shared with the
+   * returned object (they are not copied). This copies the table of the remaining
+   * key and value references so is O(n) in the number of keys.
+   *
+   * @param key The key of the element to exclude
+   * @return A new unmodifiable JsonObject without the element
+   */
+  public JsonObject without(String key) {
+    final var map = CompactMap.copyOf(children, 0);
+    map.remove(key);
+    return new JsonObject(map.freeze());
+  }
+
+  /**
+   * Return a new unmodifiable JsonObject with the value set at the given path.
+   *
+   * @param path  The path like {@code "customer.address.city"}
+   * @param value The value to set
+   * @return A new unmodifiable JsonObject containing the value
+   * @see #set(JsonPath, JsonNode)
+   */
+  public JsonObject set(String path, JsonNode value) {
+    return set(JsonPath.compile(path), value);
+  }
+
+  /**
+   * Return a new unmodifiable JsonObject with the value set at the given path.
+   * <p>
+   * Only the objects and arrays along the path are copied, all other nodes are
+   * shared with this object. Missing objects along the path are created. An index
+   * segment can replace an existing array element or append when it is equal to
+   * the size of the array.
+   *
+   * @param path  The path to the value (without wildcards)
+   * @param value The value to set
+   * @return A new unmodifiable JsonObject containing the value
+   * @throws IllegalArgumentException When the path contains a wildcard or does
+   *                                  not match the structure of this object
+   */
+  public JsonObject set(JsonPath path, JsonNode value) {
+    if (path.size() == 0 || !path.isName(0)) {
+      throw new IllegalArgumentException("Path " + path + " must start with a property name");
+    }
+    return (JsonObject) NodePath.set(this, path, 0, requireNonNull(value));
+  }
+
   /**
    * Return the direct element at the given path throwing IllegalArgumentException
    * if it is missing.
@@ -196,14 +302,14 @@ public final class JsonObject implements JsonNode {
   @Nullable
   @Override
   public JsonNode find(String path) {
-    final String[] paths = PATH_PATTERN.split(path, 2);
-    final JsonNode child = children.get(paths[0]);
-    if (child == null || paths.length == 1) {
+    final int dot = path.indexOf('.');
+    final JsonNode child = children.get(dot == -1 ? path : path.substring(0, dot));
+    if (child == null || dot == -1) {
       return child;
     }
     if (child instanceof JsonObject) {
       JsonObject co = (JsonObject) child;
-      return co.find(paths[1]);
+      return co.find(path.substring(dot + 1));
     }
     return null;
   }
@@ -289,4 +395,28 @@ public final class JsonObject implements JsonNode {
     final var node = find(path);
     return Optional.ofNullable(node);
   }
+
+  /**
+   * Builds an unmodifiable JsonObject without copying the elements (used by the adapter).
+   */
+  static final class Builder implements NodeAccess.ObjectBuilder {
+
+    private CompactMap elements = new CompactMap();
+
+    @Override
+    public @Nullable JsonNode put(String key, JsonNode value) {
+      return elements.put(requireNonNull(key), value);
+    }
+
+    /**
+     * Return the unmodifiable JsonObject. The builder is reset and can be used
+     * to build another object.
+     */
+    @Override
+    public JsonObject build() {
+      final CompactMap map = elements;
+      elements = new CompactMap();
+      return ofOwned(map);
+    }
+  }
 }
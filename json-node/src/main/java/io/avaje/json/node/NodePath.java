@@ -0,0 +1,144 @@
+package io.avaje.json.node;
+
+import io.avaje.json.JsonPath;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evaluates a compiled JsonPath against a tree of JsonNode.
+ */
+final class NodePath {
+
+  private NodePath() {
+  }
+
+  @Nullable
+  static JsonNode find(JsonNode root, JsonPath path) {
+    return find(root, path, 0);
+  }
+
+  static List<JsonNode> findAll(JsonNode root, JsonPath path) {
+    if (!path.hasWildcard()) {
+      final JsonNode node = find(root, path, 0);
+      return node == null ? Collections.emptyList() : Collections.singletonList(node);
+    }
+    final var result = new ArrayList<JsonNode>();
+    findAll(root, path, 0, result);
+    return result;
+  }
+
+  /**
+   * Return the node with the value set at the given path copying only the
+   * objects and arrays along the path.
+   */
+  static JsonNode set(@Nullable JsonNode node, JsonPath path, int segment, JsonNode value) {
+    if (segment == path.size()) {
+      return value;
+    }
+    if (path.isName(segment)) {
+      final JsonObject object;
+      if (node == null) {
+        object = JsonObject.empty();
+      } else if (node instanceof JsonObject) {
+        object = (JsonObject) node;
+      } else {
+        throw invalidSet(path, segment, "an object");
+      }
+      final String name = path.name(segment);
+      return object.with(name, set(object.elements().get(name), path, segment + 1, value));
+    }
+    if (path.isIndex(segment)) {
+      final JsonArray array;
+      if (node == null) {
+        array = JsonArray.empty();
+      } else if (node instanceof JsonArray) {
+        array = (JsonArray) node;
+      } else {
+        throw invalidSet(path, segment, "an array");
+      }
+      final int index = path.index(segment);
+      final List<JsonNode> elements = array.elements();
+      if (index > elements.size()) {
+        throw invalidSet(path, segment, "an index within the array size " + elements.size());
+      }
+      final JsonNode child = index < elements.size() ? elements.get(index) : null;
+      return array.with(index, set(child, path, segment + 1, value));
+    }
+    throw new IllegalArgumentException("Path " + path + " contains a wildcard which is not supported for set");
+  }
+
+  private static IllegalArgumentException invalidSet(JsonPath path, int segment, String expected) {
+    return new IllegalArgumentException("Path " + path + " expected " + expected + " at segment " + segment);
+  }
+
+  @Nullable
+  private static JsonNode find(@Nullable JsonNode node, JsonPath path, int segment) {
+    final int last = path.size();
+    while (segment < last) {
+      if (node == null) {
+        return null;
+      }
+      if (path.isName(segment)) {
+        node = node instanceof JsonObject ? ((JsonObject) node).elements().get(path.name(segment)) : null;
+      } else if (path.isIndex(segment)) {
+        node = elementAt(node, path.index(segment));
+      } else {
+        for (JsonNode child : children(node)) {
+          final JsonNode match = find(child, path, segment + 1);
+          if (match != null) {
+            return match;
+          }
+        }
+        return null;
+      }
+      segment++;
+    }
+    return node;
+  }
+
+  private static void findAll(@Nullable JsonNode node, JsonPath path, int segment, List<JsonNode> result) {
+    final int last = path.size();
+    while (segment < last) {
+      if (node == null) {
+        return;
+      }
+      if (path.isName(segment)) {
+        node = node instanceof JsonObject ? ((JsonObject) node).elements().get(path.name(segment)) : null;
+      } else if (path.isIndex(segment)) {
+        node = elementAt(node, path.index(segment));
+      } else {
+        for (JsonNode child : children(node)) {
+          findAll(child, path, segment + 1, result);
+        }
+        return;
+      }
+      segment++;
+    }
+    if (node != null) {
+      result.add(node);
+    }
+  }
+
+  @Nullable
+  private static JsonNode elementAt(JsonNode node, int index) {
+    if (node instanceof JsonArray) {
+      final List<JsonNode> elements = ((JsonArray) node).elements();
+      return index < elements.size() ? elements.get(index) : null;
+    }
+    return null;
+  }
+
+  private static Collection<JsonNode> children(JsonNode node) {
+    if (node instanceof JsonObject) {
+      return ((JsonObject) node).elements().values();
+    }
+    if (node instanceof JsonArray) {
+      return ((JsonArray) node).elements();
+    }
+    return Collections.emptyList();
+  }
+}
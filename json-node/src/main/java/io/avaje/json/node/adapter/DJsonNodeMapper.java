@@ -1,11 +1,13 @@
 package io.avaje.json.node.adapter;
 
 import io.avaje.json.JsonAdapter;
+import io.avaje.json.JsonPath;
 import io.avaje.json.JsonReader;
 import io.avaje.json.JsonWriter;
 import io.avaje.json.PropertyNames;
 import io.avaje.json.node.*;
 import io.avaje.json.mapper.JsonMapper;
+import io.avaje.json.stream.JsonPathExtractor;
 import io.avaje.json.stream.JsonStream;
 
 import java.lang.reflect.Type;
@@ -38,6 +40,11 @@ final class DJsonNodeMapper implements JsonNodeMapper {
     return jsonStream.properties(names);
   }
 
+  @Override
+  public JsonPathExtractor<JsonNode> extractor(JsonPath... paths) {
+    return JsonPathExtractor.of(jsonStream, nodeAdapter, paths);
+  }
+
   @Override
   public <T> JsonMapper.Type<T> type(JsonAdapter<T> customAdapter) {
     return new DMapper<>(customAdapter, jsonStream);
@@ -3,10 +3,14 @@ package io.avaje.json.node.adapter;
 import io.avaje.json.JsonAdapter;
 import io.avaje.json.JsonReader;
 import io.avaje.json.JsonWriter;
+import io.avaje.json.node.JsonDecimal;
 import io.avaje.json.node.JsonDouble;
 import io.avaje.json.node.JsonLong;
 import io.avaje.json.node.JsonNumber;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
 final class NumberAdapter implements JsonAdapter<JsonNumber> {
 
   @Override
@@ -16,11 +20,20 @@ final class NumberAdapter implements JsonAdapter<JsonNumber> {
 
   @Override
   public JsonNumber fromJson(JsonReader reader) {
-    // read unknown number type
-    double d = reader.readDouble();
-    if (d % 1 == 0) {
-      return JsonLong.of((long) d);
+    // read unknown number type, integers as long and decimals without loss of precision
+    final Number number = reader.readNumber();
+    if (number instanceof Long) {
+      return JsonLong.of(number.longValue());
+    }
+    if (number instanceof Double) {
+      return JsonDouble.of(number.doubleValue());
+    }
+    if (number instanceof BigDecimal) {
+      return JsonDecimal.of((BigDecimal) number);
+    }
+    if (number instanceof BigInteger) {
+      return JsonDecimal.of(new BigDecimal((BigInteger) number));
     }
-    return JsonDouble.of(d);
+    return JsonDouble.of(number.doubleValue());
   }
 }
@@ -6,9 +6,7 @@ import io.avaje.json.JsonReader;
 import io.avaje.json.JsonWriter;
 import io.avaje.json.node.JsonNode;
 import io.avaje.json.node.JsonObject;
-
-import java.util.LinkedHashMap;
-import java.util.Map;
+import io.avaje.json.node.internal.NodeAccess;
 
 /**
  * Converts maps with string keys to JSON objects.
@@ -36,7 +34,7 @@ final class ObjectAdapter implements JsonAdapter<JsonObject> {
 
   @Override
   public JsonObject fromJson(JsonReader reader) {
-    Map<String, JsonNode> result = new LinkedHashMap<>();
+    NodeAccess.ObjectBuilder result = NodeAccess.objectBuilder();
     reader.beginObject();
     while (reader.hasNextField()) {
       String name = reader.nextField();
@@ -47,7 +45,7 @@ final class ObjectAdapter implements JsonAdapter<JsonObject> {
       }
     }
     reader.endObject();
-    return JsonObject.of(result);
+    return result.build();
   }
 
   @Override
@@ -0,0 +1,54 @@
+package io.avaje.json.node.internal;
+
+import io.avaje.json.node.JsonNode;
+import io.avaje.json.node.JsonObject;
+import org.jspecify.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * Access to package private parts of io.avaje.json.node for the node adapters.
+ * <p>
+ * This package is not exported by the module and is not part of the API.
+ */
+public final class NodeAccess {
+
+  private static Supplier<ObjectBuilder> objectBuilder;
+
+  private NodeAccess() {
+  }
+
+  /**
+   * Builds an unmodifiable JsonObject that takes ownership of the added elements.
+   */
+  public interface ObjectBuilder {
+
+    /**
+     * Add the element returning the value it replaced or null.
+     */
+    @Nullable JsonNode put(String key, JsonNode value);
+
+    /**
+     * Return the unmodifiable JsonObject.
+     */
+    JsonObject build();
+  }
+
+  /**
+   * Register the supplier of object builders (by JsonObject).
+   */
+  public static void objectBuilder(Supplier<ObjectBuilder> supplier) {
+    objectBuilder = supplier;
+  }
+
+  /**
+   * Return a new builder of an unmodifiable JsonObject.
+   */
+  public static ObjectBuilder objectBuilder() {
+    if (objectBuilder == null) {
+      // initialise JsonObject which registers the supplier
+      JsonObject.empty();
+    }
+    return objectBuilder.get();
+  }
+}
@@ -0,0 +1,142 @@
+package io.avaje.json.node;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ConcurrentModificationException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactMapTest {
+
+  @Test
+  void putGetRemove_small() {
+    var map = new CompactMap();
+    assertThat(map.put("a", JsonInteger.of(1))).isNull();
+    assertThat(map.put("b", JsonInteger.of(2))).isNull();
+    assertThat(map.put("a", JsonInteger.of(3))).isEqualTo(JsonInteger.of(1));
+
+    assertThat(map).hasSize(2);
+    assertThat(map.get("a")).isEqualTo(JsonInteger.of(3));
+    assertThat(map.containsKey("b")).isTrue();
+    assertThat(map.get("c")).isNull();
+    assertThat(map.get(42)).isNull();
+
+    assertThat(map.remove("a")).isEqualTo(JsonInteger.of(3));
+    assertThat(map.keySet()).containsExactly("b");
+    assertThat(map.remove("a")).isNull();
+  }
+
+  @Test
+  void put_grows_whenFull() {
+    var map = new CompactMap(1);
+    map.put("a", JsonInteger.of(1));
+    map.put("b", JsonInteger.of(2));
+    map.put("c", JsonInteger.of(3));
+    assertThat(map.keySet()).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  void putGetRemove_indexed() {
+    var map = new CompactMap();
+    var expected = new LinkedHashMap<String, JsonNode>();
+    for (int i = 0; i < 100; i++) {
+      map.put("k" + i, JsonInteger.of(i));
+      expected.put("k" + i, JsonInteger.of(i));
+    }
+    assertThat(map).isEqualTo(expected);
+    assertThat(expected).isEqualTo(map);
+    assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+    for (int i = 0; i < 100; i++) {
+      assertThat(map.get("k" + i)).isEqualTo(JsonInteger.of(i));
+    }
+    for (int i = 0; i < 95; i += 2) {
+      assertThat(map.remove("k" + i)).isEqualTo(JsonInteger.of(i));
+      expected.remove("k" + i);
+    }
+    assertThat(map.keySet()).containsExactlyElementsOf(expected.keySet());
+    assertThat(map.get("k1")).isEqualTo(JsonInteger.of(1));
+    assertThat(map.get("k0")).isNull();
+  }
+
+  @Test
+  void removeAndPut_interleaved() {
+    var map = new CompactMap();
+    var expected = new LinkedHashMap<String, JsonNode>();
+    var random = new java.util.Random(42);
+    for (int i = 0; i < 5_000; i++) {
+      String key = "k" + random.nextInt(200);
+      if (random.nextInt(3) == 0) {
+        assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+      } else {
+        assertThat(map.put(key, JsonInteger.of(i))).isEqualTo(expected.put(key, JsonInteger.of(i)));
+      }
+      assertThat(map.size()).isEqualTo(expected.size());
+    }
+    assertThat(map.entrySet()).containsExactlyElementsOf(expected.entrySet());
+    for (String key : expected.keySet()) {
+      assertThat(map.get(key)).isEqualTo(expected.get(key));
+    }
+    assertThat(map.frozenCopy().entrySet()).containsExactlyElementsOf(expected.entrySet());
+    assertThat(CompactMap.copyOf(map, 1).entrySet()).containsExactlyElementsOf(expected.entrySet());
+  }
+
+  @Test
+  void iteratorRemove_and_setValue() {
+    var map = new CompactMap();
+    for (int i = 0; i < 12; i++) {
+      map.put("k" + i, JsonInteger.of(i));
+    }
+    var it = map.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, JsonNode> entry = it.next();
+      int value = ((JsonInteger) entry.getValue()).intValue();
+      if (value % 3 == 0) {
+        it.remove();
+      } else {
+        entry.setValue(JsonInteger.of(value * 10));
+      }
+    }
+    assertThat(map.keySet()).containsExactly("k1", "k2", "k4", "k5", "k7", "k8", "k10", "k11");
+    assertThat(map.get("k11")).isEqualTo(JsonInteger.of(110));
+    assertThat(map.toString()).startsWith("{k1=10, k2=20");
+  }
+
+  @Test
+  void concurrentModification() {
+    var map = new CompactMap();
+    map.put("a", JsonInteger.of(1));
+    map.put("b", JsonInteger.of(2));
+    assertThatThrownBy(() -> {
+      for (String key : map.keySet()) {
+        map.put(key + "x", JsonInteger.of(0));
+      }
+    }).isInstanceOf(ConcurrentModificationException.class);
+  }
+
+  @Test
+  void serialization() throws Exception {
+    var object = JsonObject.create();
+    for (int i = 0; i < 10; i++) {
+      object.add("k" + i, i);
+    }
+    object.add("nested", JsonObject.create().add("x", "y"));
+
+    var bytes = new ByteArrayOutputStream();
+    try (var out = new ObjectOutputStream(bytes)) {
+      out.writeObject(object);
+    }
+    try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      JsonObject read = (JsonObject) in.readObject();
+      assertThat(read).isEqualTo(object);
+      assertThat(read.elements().keySet()).containsExactlyElementsOf(object.elements().keySet());
+      assertThat(read.extract("nested.x")).isEqualTo("y");
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package io.avaje.json.node;
 
+import io.avaje.json.JsonPath;
 import org.junit.jupiter.api.Test;
 
 import java.util.List;
@@ -125,4 +126,60 @@ class ExtractNodeTest {
     JsonNode result = object.extractNode("missing.path.here", JsonArray.empty());
     assertThat(result).isSameAs(JsonArray.empty());
   }
+
+  @Test
+  void extract_compiledPath() {
+    JsonObject object = mapper.fromJsonObject(content);
+
+    JsonPath secondLastName = JsonPath.compile("people[1].person.lastName");
+    assertThat(object.extract(secondLastName)).isEqualTo("Blast");
+    assertThat(object.find(JsonPath.compile("people[3].person"))).isNull();
+    assertThat(object.extract(JsonPath.compile("people[2].person.other"), "MISSING!")).isEqualTo("MISSING!");
+
+    JsonArray people = (JsonArray) object.get("people");
+    assertThat(people.extract(JsonPath.compile("[0].type"))).isEqualTo("contact");
+
+    assertThatThrownBy(() -> object.extractNode(JsonPath.compile("people[9]")))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("Node not present for people[9]");
+  }
+
+  @Test
+  void findAll_compiledPath() {
+    JsonObject object = mapper.fromJsonObject(content);
+
+    List<String> firstNames = object.findAll(JsonPath.compile("people[*].person.firstName"))
+      .stream()
+      .map(JsonNode::text)
+      .collect(Collectors.toList());
+
+    assertThat(firstNames).containsExactly("Aa", "Bb", "Cc");
+    assertThat(object.findAll(JsonPath.compile("people[*].person.other"))).hasSize(2);
+    assertThat(object.findAll(JsonPath.compile("people[0].*"))).hasSize(2);
+    assertThat(object.findAll(JsonPath.compile("missing[*]"))).isEmpty();
+  }
+
+  @Test
+  void extract_compiledPath_numbers() {
+    JsonObject object = JsonObject.create()
+      .add("a", JsonObject.create().add("i", 42).add("l", 43L).add("b", true));
+
+    assertThat(object.extract(JsonPath.compile("a.i"), 0)).isEqualTo(42);
+    assertThat(object.extract(JsonPath.compile("a.l"), 0L)).isEqualTo(43L);
+    assertThat(object.extract(JsonPath.compile("a.l"), 0D)).isEqualTo(43D);
+    assertThat(object.extract(JsonPath.compile("a.b"), false)).isTrue();
+    assertThat(object.extract(JsonPath.compile("a.missing"), 7)).isEqualTo(7);
+  }
+
+  @Test
+  void extractor_streaming() {
+    JsonPath lastNames = JsonPath.compile("people[*].person.lastName");
+    JsonPath secondType = JsonPath.compile("people[1].type");
+
+    var matches = mapper.extractor(lastNames, secondType).extract(content);
+
+    assertThat(matches.get(secondType)).isEqualTo(JsonString.of("family"));
+    assertThat(matches.getAll(lastNames))
+      .containsExactly(JsonString.of("ALast"), JsonString.of("Blast"), JsonString.of("CLast"));
+  }
 }
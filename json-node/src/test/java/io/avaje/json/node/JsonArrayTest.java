@@ -145,4 +145,33 @@ class JsonArrayTest {
     assertThat(plain.get(1)).isEqualTo(Map.of("b", 42));
   }
 
+  @Test
+  void with_and_without() {
+    JsonObject first = JsonObject.create().add("id", 1).unmodifiable();
+    JsonArray original = JsonArray.create().add(first).add("b").unmodifiable();
+
+    JsonArray replaced = original.with(1, JsonString.of("B"));
+    assertThat(replaced.toString()).isEqualTo("[{id=1}, B]");
+    assertThat(replaced.elements().get(0)).isSameAs(original.elements().get(0));
+
+    JsonArray appended = original.with(2, JsonString.of("c"));
+    assertThat(appended.size()).isEqualTo(3);
+    assertThatThrownBy(() -> original.with(3, JsonString.of("c"))).isInstanceOf(IndexOutOfBoundsException.class);
+
+    assertThat(original.without(0).toString()).isEqualTo("[b]");
+    assertThat(original.toString()).isEqualTo("[{id=1}, b]");
+  }
+
+  @Test
+  void set_path() {
+    JsonArray original = JsonArray.create()
+      .add(JsonObject.create().add("id", 1))
+      .add(JsonObject.create().add("id", 2))
+      .unmodifiable();
+
+    JsonArray updated = original.set("[1].id", JsonInteger.of(20));
+    assertThat(updated.toString()).isEqualTo("[{id=1}, {id=20}]");
+    assertThat(updated.elements().get(0)).isSameAs(original.elements().get(0));
+    assertThat(original.toString()).isEqualTo("[{id=1}, {id=2}]");
+  }
 }
@@ -169,6 +169,17 @@ class JsonObjectTest {
     assertThat(source.containsKey("canMutate")).isFalse();
   }
 
+  @Test
+  void copy_singleEntry_add() {
+    final JsonObject source = JsonObject.create().add("a", 1);
+
+    JsonObject copy = source.copy().add("b", 2).add("c", 3);
+    assertThat(copy.toString()).isEqualTo("{a=1, b=2, c=3}");
+
+    JsonObject unmodifiableCopy = source.unmodifiable().copy().add("b", 2);
+    assertThat(unmodifiableCopy.toString()).isEqualTo("{a=1, b=2}");
+  }
+
   @Test
   void unmodifiable() {
     final JsonObject source = JsonObject.create()
@@ -237,4 +248,89 @@ class JsonObjectTest {
     assertThat(jsonObject.extract("aNull", 3L)).isEqualTo(3L);
     assertThat(jsonObject.extract("aNull", 3.5D)).isEqualTo(3.5D);
   }
+
+  @Test
+  void with_sharesUnchangedElements() {
+    JsonObject address = JsonObject.create().add("city", "Wellington").unmodifiable();
+    JsonObject original = JsonObject.create()
+      .add("name", "foo")
+      .add("address", address)
+      .unmodifiable();
+
+    JsonObject updated = original.with("name", JsonString.of("bar"));
+    assertThat(updated.text()).isEqualTo("{name=bar, address={city=Wellington}}");
+    assertThat(updated.get("address")).isSameAs(original.get("address"));
+    assertThat(original.text()).isEqualTo("{name=foo, address={city=Wellington}}");
+
+    JsonObject added = original.with("other", JsonInteger.of(42));
+    assertThat(added.elements()).containsOnlyKeys("name", "address", "other");
+    assertThatThrownBy(() -> added.add("x", "y")).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void builder() {
+    JsonObject.Builder builder = new JsonObject.Builder();
+    assertThat(builder.put("a", JsonInteger.of(1))).isNull();
+    assertThat(builder.put("b", JsonString.of("x"))).isNull();
+    assertThat(builder.put("a", JsonInteger.of(2))).isEqualTo(JsonInteger.of(1));
+
+    JsonObject object = builder.build();
+    assertThat(object.text()).isEqualTo("{a=2, b=x}");
+    assertThatThrownBy(() -> object.add("c", "y")).isInstanceOf(UnsupportedOperationException.class);
+
+    builder.put("c", JsonString.of("y"));
+    assertThat(builder.build().elements()).containsOnlyKeys("c");
+    assertThat(object.elements()).containsOnlyKeys("a", "b");
+  }
+
+  @Test
+  void without() {
+    JsonObject original = basicObject.unmodifiable();
+    JsonObject updated = original.without("name");
+    assertThat(updated.elements()).containsOnlyKeys("other");
+    assertThat(original.elements()).containsOnlyKeys("name", "other");
+    assertThat(original.without("missing")).isEqualTo(original);
+  }
+
+  @Test
+  void set_path_copiesOnlySpine() {
+    JsonObject original = JsonObject.create()
+      .add("customer", JsonObject.create()
+        .add("name", "Rob")
+        .add("address", JsonObject.create().add("city", "Wellington")))
+      .add("shipping", JsonObject.create().add("city", "Auckland"))
+      .unmodifiable();
+
+    JsonObject updated = original.set("customer.address.city", JsonString.of("Napier"));
+    assertThat(updated.extract("customer.address.city")).isEqualTo("Napier");
+    assertThat(original.extract("customer.address.city")).isEqualTo("Wellington");
+    assertThat(updated.get("shipping")).isSameAs(original.get("shipping"));
+    assertThat(updated.extractNode("customer.name")).isSameAs(original.extractNode("customer.name"));
+  }
+
+  @Test
+  void set_path_createsMissingAndArrayElements() {
+    JsonObject original = JsonObject.create()
+      .add("tags", JsonArray.create().add("a").add("b"))
+      .unmodifiable();
+
+    JsonObject updated = original
+      .set("tags[1]", JsonString.of("B"))
+      .set("tags[2]", JsonString.of("c"))
+      .set("meta.version", JsonInteger.of(2));
+
+    assertThat(updated.toString()).isEqualTo("{tags=[a, B, c], meta={version=2}}");
+    assertThat(original.toString()).isEqualTo("{tags=[a, b]}");
+  }
+
+  @Test
+  void set_path_invalid() {
+    JsonObject original = basicObject.unmodifiable();
+    assertThatThrownBy(() -> original.set("name.first", JsonString.of("x")))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> original.set("other[*]", JsonString.of("x")))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> original.set("[0]", JsonString.of("x")))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
 }
@@ -103,6 +103,17 @@ class JsonNodeAdaptersTest {
     assertThat(jsonAdapter).isSameAs(adapter);
   }
 
+  @Test
+  void fromJson_numbers_preservePrecision() {
+    JsonArray array = mapper.fromJsonArray("[42,9007199254740993,123456789012345678901234,4.5,0.1234567890123456789]");
+    assertThat(array.elements()).containsExactly(
+      JsonLong.of(42),
+      JsonLong.of(9007199254740993L),
+      JsonDecimal.of(new BigDecimal("123456789012345678901234")),
+      JsonDouble.of(4.5),
+      JsonDecimal.of(new BigDecimal("0.1234567890123456789")));
+  }
+
   @Test
   void toJsonWriter() {
     BufferedJsonWriter writer = stream.bufferedWriter();
@@ -1,6 +1,7 @@
 package io.avaje.jsonb.generator;
 
 import static io.avaje.jsonb.generator.APContext.jdkVersion;
+import static io.avaje.jsonb.generator.APContext.logError;
 import static io.avaje.jsonb.generator.APContext.previewEnabled;
 import static io.avaje.jsonb.generator.ProcessingContext.useEnhancedSwitch;
 import static java.util.stream.Collectors.toList;
@@ -45,6 +46,7 @@ final class ClassReader implements BeanReader {
   private final boolean optional;
   private final List<TypeSubTypeMeta> subTypes;
   private final boolean pkgPrivate;
+  private final List<TypeViewReader.View> views;
 
   /** An Interface/abstract type with a single implementation */
   private ClassReader implementation;
@@ -73,6 +75,7 @@ final class ClassReader implements BeanReader {
     this.readOnlyInterface = typeReader.extendsThrowable() || allFields.isEmpty() && subTypes.isEmpty();
     this.methodProperties = typeReader.methodProperties();
     this.pkgPrivate = typeReader.isPkgPrivate();
+    this.views = initViews();
 
     subTypes.stream().map(TypeSubTypeMeta::type).forEach(importTypes::add);
 
@@ -87,6 +90,42 @@ final class ClassReader implements BeanReader {
         .isPresent();
   }
 
+  private List<TypeViewReader.View> initViews() {
+    final var typeViews = new TypeViewReader(beanType).views();
+    if (typeViews.isEmpty()) {
+      return typeViews;
+    }
+    if (hasSubTypes || genericTypeParamsCount() > 0) {
+      logError(beanType, "@Json.View is not supported on types with subtypes or generic type parameters");
+      return List.of();
+    }
+    final var properties = viewProperties();
+    for (final TypeViewReader.View view : typeViews) {
+      for (final String name : view.properties().keySet()) {
+        if (!"*".equals(name) && !properties.containsKey(name)) {
+          logError(beanType, "@Json.View [%s] property %s not found", view.dsl(), name);
+        }
+      }
+    }
+    return typeViews;
+  }
+
+  /**
+   * Return the properties that are serialized (and can be included in a view).
+   */
+  private Map<String, FieldProperty> viewProperties() {
+    final var properties = new LinkedHashMap<String, FieldProperty>();
+    for (final FieldReader field : allFields) {
+      if (field.includeToJson(null) && !field.isUnmapped()) {
+        properties.putIfAbsent(field.propertyName(), field.property());
+      }
+    }
+    for (final MethodProperty methodProperty : methodProperties) {
+      properties.putIfAbsent(methodProperty.propertyName(), methodProperty.property());
+    }
+    return properties;
+  }
+
   @SuppressWarnings("unchecked")
   boolean isRecord(TypeElement beanType) {
     try {
@@ -191,6 +230,9 @@ final class ClassReader implements BeanReader {
       importTypes.add("io.avaje.json.view.ViewBuilder");
       importTypes.add("io.avaje.json.view.ViewBuilderAware");
     }
+    if (views.stream().anyMatch(TypeViewReader.View::hasNested)) {
+      importTypes.add("io.avaje.jsonb.JsonView");
+    }
     importTypes.add("io.avaje.json.JsonAdapter");
     importTypes.add("io.avaje.json.PropertyNames");
     importTypes.add("io.avaje.json.JsonReader");
@@ -251,6 +293,9 @@ final class ClassReader implements BeanReader {
       }
     }
     writer.append("  private final PropertyNames names;").eol();
+    if (!views.isEmpty()) {
+      writer.append("  private final Jsonb jsonb;").eol();
+    }
     writer.eol();
   }
 
@@ -301,6 +346,9 @@ final class ClassReader implements BeanReader {
     properties.addAll(propertyNames());
     writer.append(String.join(", ", properties));
     writer.append(");").eol();
+    if (!views.isEmpty()) {
+      writer.append("    this.jsonb = jsonb;").eol();
+    }
   }
 
   private List<String> propertyNames() {
@@ -327,9 +375,75 @@ final class ClassReader implements BeanReader {
     if (!hasSubTypes) {
       writeView(writer);
       writeViewBuild(writer);
+      if (!views.isEmpty()) {
+        writeViewAdapters(writer);
+      }
+    }
+  }
+
+  private void writeViewAdapters(Append writer) {
+    writer.eol();
+    writer.append("  @Override").eol();
+    writer.append("  public JsonAdapter<?> viewAdapter(String dsl) {").eol();
+    for (final TypeViewReader.View view : views) {
+      writer.append("    if (dsl.equals(ViewBuilderAware.normalise(\"%s\"))) {", Util.escapeQuotes(view.dsl())).eol();
+      writer.append("      return new %s();", view.className()).eol();
+      writer.append("    }").eol();
+    }
+    writer.append("    return null;").eol();
+    writer.append("  }").eol();
+    final var properties = viewProperties();
+    for (final TypeViewReader.View view : views) {
+      writeViewAdapter(writer, view, properties);
     }
   }
 
+  private void writeViewAdapter(Append writer, TypeViewReader.View view, Map<String, FieldProperty> properties) {
+    final var included = new LinkedHashMap<String, FieldProperty>();
+    properties.forEach((name, property) -> {
+      if (view.includes(name)) {
+        included.put(name, property);
+      }
+    });
+    writer.eol();
+    writer.append("  // view %s", view.dsl()).eol();
+    writer.append("  private final class %s implements JsonAdapter<%s> {", view.className(), shortName).eol().eol();
+    included.forEach((name, property) -> {
+      if (view.nested(name) != null) {
+        property.writeViewField(writer, property.fieldName() + "View");
+      }
+    });
+    writer.append("    private final PropertyNames viewNames;").eol().eol();
+    writer.append("    %s() {", view.className()).eol();
+    included.forEach((name, property) -> {
+      final String nested = view.nested(name);
+      if (nested != null) {
+        property.writeViewConstructor(writer, property.fieldName() + "View", Util.escapeQuotes(nested));
+      }
+    });
+    final String names = included.keySet().stream().map(name -> '"' + name + '"').collect(Collectors.joining(", "));
+    writer.append("      this.viewNames = jsonb.properties(%s);", names).eol();
+    writer.append("    }").eol().eol();
+
+    final String varName = "_" + Util.initLower(shortName);
+    writer.append("    @Override").eol();
+    writer.append("    public void toJson(JsonWriter writer, %s %s) {", shortName, varName).eol();
+    writer.append("      writer.beginObject(viewNames);").eol();
+    int position = 0;
+    for (final Map.Entry<String, FieldProperty> entry : included.entrySet()) {
+      final FieldProperty property = entry.getValue();
+      final String viewField = view.nested(entry.getKey()) == null ? null : property.fieldName() + "View";
+      property.writeViewToJson(writer, varName, "      ", position++, viewField);
+    }
+    writer.append("      writer.endObject();").eol();
+    writer.append("    }").eol().eol();
+    writer.append("    @Override").eol();
+    writer.append("    public %s fromJson(JsonReader reader) {", shortName).eol();
+    writer.append("      return %sJsonAdapter.this.fromJson(reader);", new AdapterName(this).shortName()).eol();
+    writer.append("    }").eol();
+    writer.append("  }").eol();
+  }
+
   private void writeView(Append writer) {
     writer.eol();
     writer.append("  @SuppressWarnings(\"unchecked\")").eol();
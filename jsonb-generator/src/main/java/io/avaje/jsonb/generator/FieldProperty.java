@@ -269,6 +269,32 @@ final class FieldProperty {
     }
   }
 
+  void writeViewField(Append writer, String viewField) {
+    writer.append("    private final JsonView<%s> %s;", PrimitiveUtil.wrap(genericType.shortType()), viewField).eol();
+  }
+
+  void writeViewConstructor(Append writer, String viewField, String nestedDsl) {
+    writer.append("      this.%s = jsonb.<%s>type(%s).view(\"%s\");", viewField, PrimitiveUtil.wrap(genericType.shortType()), asTypeDeclaration(), nestedDsl).eol();
+  }
+
+  void writeViewToJson(Append writer, String varName, String prefix, int viewPosition, String viewField) {
+    writer.append("%swriter.name(%s);", prefix, viewPosition).eol();
+    if (viewField == null) {
+      writer.append("%s%s.toJson(writer, ", prefix, adapterFieldName);
+      writeGetValue(writer, varName, ");");
+      writer.eol();
+    } else {
+      writer.append("%sfinal var _view$%s = ", prefix, fieldName);
+      writeGetValue(writer, varName, ";");
+      writer.eol();
+      writer.append("%sif (_view$%s == null) {", prefix, fieldName).eol();
+      writer.append("%s  writer.nullValue();", prefix).eol();
+      writer.append("%s} else {", prefix).eol();
+      writer.append("%s  %s.toJson(_view$%s, writer);", prefix, viewField, fieldName).eol();
+      writer.append("%s}", prefix).eol();
+    }
+  }
+
   private void writeGetValue(Append writer, String varName, String suffix) {
     if (getter != null) {
       writer.append("%s.%s()%s", varName, getter.getName(), suffix);
@@ -264,6 +264,10 @@ final class FieldReader {
     property.writeFromJsonUnmapped(writer, varName);
   }
 
+  FieldProperty property() {
+    return property;
+  }
+
   void writeViewBuilder(Append writer, String shortName) {
     property.writeViewBuilder(writer, shortName, propertyName);
   }
@@ -36,6 +36,10 @@ final class MethodProperty {
     return propertyName;
   }
 
+  FieldProperty property() {
+    return property;
+  }
+
   void writeViewBuilder(Append writer, String shortName) {
     property.writeViewBuilder(writer, shortName, propertyName());
   }
@@ -1,18 +1,27 @@
 package io.avaje.jsonb.generator;
 
 import static io.avaje.jsonb.generator.APContext.createSourceFile;
+import static io.avaje.jsonb.generator.APContext.typeElement;
 
 import java.io.IOException;
 import java.io.Writer;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
 import javax.tools.JavaFileObject;
 
 final class SimpleComponentWriter {
 
+  /** The number of types per adapter lookup method. */
+  private static final int CHUNK_SIZE = 400;
+
   private final ComponentMetaData metaData;
   private final Set<String> importTypes = new TreeSet<>();
   private Append writer;
@@ -50,23 +59,21 @@ final class SimpleComponentWriter {
   }
 
   private void writeRegister() {
+    final Map<String, String> adapters = adapterIndex();
     writer.append("  @Override").eol();
     writer.append("  public void register(Jsonb.Builder builder) {").eol();
-
-    for (final String adapterFullName : metaData.withTypes()) {
-      final String adapterShortName = Util.shortName(adapterFullName);
-      writer.append("    builder.add(%s.class, %s::new);", adapterShortName, adapterShortName).eol();
+    if (!adapters.isEmpty()) {
+      writer.append("    builder.add(this::adapter);").eol();
     }
     for (final String adapterFullName : metaData.allFactories()) {
       final String adapterShortName = Util.shortName(adapterFullName);
       writer.append("    builder.add(%s.FACTORY);", adapterShortName).eol();
     }
-    for (final String adapterFullName : metaData.all()) {
-      final String adapterShortName = Util.shortName(adapterFullName);
-      final String typeName = Util.shortType(Util.baseTypeOfAdapter(adapterFullName).replace("$", "."));
-      writer.append("    builder.add(%s.class, %s::new);", typeName, adapterShortName).eol();
-    }
     writer.append("  }").eol().eol();
+    if (!adapters.isEmpty()) {
+      writeAdapterIndex(adapters);
+      writeTypeNames(adapters);
+    }
     writer.append("  @Override").eol();
     writer.append("  public Lookup lookup() {").eol();
     writer.append("    return MethodHandles.lookup();").eol();
@@ -74,6 +81,130 @@ final class SimpleComponentWriter {
 
   }
 
+  /**
+   * Return the map of (binary) type name to adapter for the types with a JsonAdapter.
+   */
+  private Map<String, String> adapterIndex() {
+    final Map<String, String> adapters = new LinkedHashMap<>();
+    for (final String adapterFullName : metaData.withTypes()) {
+      adapters.putIfAbsent(Util.extractTypeWithNest(adapterFullName), adapterFullName);
+    }
+    for (final String adapterFullName : metaData.all()) {
+      adapters.putIfAbsent(Util.baseTypeOfAdapter(adapterFullName), adapterFullName);
+    }
+    return adapters;
+  }
+
+  /**
+   * Write the adapter lookup as a switch on the type name such that adapters (and the
+   * types themselves) are not loaded until they are first used.
+   * <p>
+   * Large components are split by the hash of the type name into multiple methods to
+   * stay well within the method size limit.
+   */
+  private void writeAdapterIndex(Map<String, String> adapters) {
+    final int chunks = (adapters.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    writer.append("  private JsonAdapter<?> adapter(java.lang.reflect.Type type, Jsonb jsonb) {").eol();
+    writer.append("    if (!(type instanceof Class)) {").eol();
+    writer.append("      return null;").eol();
+    writer.append("    }").eol();
+    if (chunks == 1) {
+      writeAdapterSwitch(adapters, "((Class<?>) type).getName()");
+      writer.append("  }").eol().eol();
+      return;
+    }
+    final List<Map<String, String>> chunkAdapters = chunks(adapters);
+
+    writer.append("    final String name = ((Class<?>) type).getName();").eol();
+    writer.append("    switch (Math.floorMod(name.hashCode(), %s)) {", chunks).eol();
+    for (int i = 0; i < chunks; i++) {
+      writer.append(i < chunks - 1 ? "      case %s:" : "      default: // %s", i).eol();
+      writer.append("        return adapter%s(name, type, jsonb);", i).eol();
+    }
+    writer.append("    }").eol();
+    writer.append("  }").eol().eol();
+    for (int i = 0; i < chunks; i++) {
+      writer.append("  private static JsonAdapter<?> adapter%s(String name, java.lang.reflect.Type type, Jsonb jsonb) {", i).eol();
+      writeAdapterSwitch(chunkAdapters.get(i), "name");
+      writer.append("  }").eol().eol();
+    }
+  }
+
+  /**
+   * Split the adapters by the hash of the type name (matching the generated lookup).
+   */
+  private static List<Map<String, String>> chunks(Map<String, String> adapters) {
+    final int chunks = (adapters.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    final List<Map<String, String>> chunkAdapters = new ArrayList<>();
+    for (int i = 0; i < chunks; i++) {
+      chunkAdapters.add(new LinkedHashMap<>());
+    }
+    adapters.forEach((name, adapter) -> chunkAdapters.get(Math.floorMod(name.hashCode(), chunks)).put(name, adapter));
+    return chunkAdapters;
+  }
+
+  /**
+   * Write the names of the types (used to pre-warm the adapters).
+   */
+  private void writeTypeNames(Map<String, String> adapters) {
+    final List<Map<String, String>> chunkAdapters = chunks(adapters);
+    writer.append("  @Override").eol();
+    writer.append("  public java.util.List<String> typeNames() {").eol();
+    if (chunkAdapters.size() == 1) {
+      writer.append("    return java.util.List.of(");
+      writeNames(adapters.keySet());
+      writer.append(");").eol();
+      writer.append("  }").eol().eol();
+      return;
+    }
+    writer.append("    final var names = new java.util.ArrayList<String>(%s);", adapters.size()).eol();
+    for (int i = 0; i < chunkAdapters.size(); i++) {
+      writer.append("    typeNames%s(names);", i).eol();
+    }
+    writer.append("    return names;").eol();
+    writer.append("  }").eol().eol();
+    for (int i = 0; i < chunkAdapters.size(); i++) {
+      writer.append("  private static void typeNames%s(java.util.List<String> names) {", i).eol();
+      writer.append("    java.util.Collections.addAll(names,");
+      writeNames(chunkAdapters.get(i).keySet());
+      writer.append(");").eol();
+      writer.append("  }").eol().eol();
+    }
+  }
+
+  private void writeNames(Collection<String> names) {
+    var first = true;
+    for (final String name : names) {
+      writer.append(first ? "" : ",").eol().append("      \"%s\"", name);
+      first = false;
+    }
+  }
+
+  private void writeAdapterSwitch(Map<String, String> adapters, String nameExpression) {
+    writer.append("    switch (%s) {", nameExpression).eol();
+    for (final Map.Entry<String, String> entry : adapters.entrySet()) {
+      final String adapterShortName = Util.shortName(entry.getValue());
+      final String typeName = Util.shortType(entry.getKey().replace("$", "."));
+      writer.append("      case \"%s\":", entry.getKey()).eol();
+      final String args = jsonbConstructor(entry.getValue()) ? "jsonb" : "";
+      writer.append("        return type == %s.class ? new %s(%s).nullSafe() : null;", typeName, adapterShortName, args).eol();
+    }
+    writer.append("      default:").eol();
+    writer.append("        return null;").eol();
+    writer.append("    }").eol();
+  }
+
+  /**
+   * Return true if the adapter has a constructor taking Jsonb (otherwise a no-arg constructor is used).
+   */
+  private static boolean jsonbConstructor(String adapterFullName) {
+    final TypeElement element = typeElement(adapterFullName);
+    return element == null || ElementFilter.constructorsIn(element.getEnclosedElements()).stream()
+      .filter(m -> m.getParameters().size() == 1)
+      .map(m -> Util.trimAnnotations(m.getParameters().get(0).asType().toString()))
+      .anyMatch(Constants.JSONB::equals);
+  }
+
   private void writeClassEnd() {
     writer.append("}").eol();
   }
@@ -108,6 +239,7 @@ final class SimpleComponentWriter {
 
   private void writeImports() {
     importTypes.add(Constants.JSONB);
+    importTypes.add("io.avaje.json.JsonAdapter");
     importTypes.addAll(metaData.allImports());
     importTypes.add("io.avaje.jsonb.spi.Generated");
     importTypes.add("io.avaje.jsonb.spi.GeneratedComponent");
@@ -0,0 +1,147 @@
+package io.avaje.jsonb.generator;
+
+import static io.avaje.jsonb.generator.APContext.logError;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Read the @Json.View annotations.
+ */
+final class TypeViewReader {
+
+  private final TypeElement baseType;
+  private final List<View> views = new ArrayList<>();
+
+  TypeViewReader(TypeElement baseType) {
+    this.baseType = baseType;
+    read();
+  }
+
+  List<View> views() {
+    return views;
+  }
+
+  private void read() {
+    for (final AnnotationMirror mirror : baseType.getAnnotationMirrors()) {
+      final ViewPrism viewPrism = ViewPrism.getInstance(mirror);
+      final ViewsPrism viewsPrism = ViewsPrism.getInstance(mirror);
+      if (viewPrism != null) {
+        add(viewPrism.value());
+      } else if (viewsPrism != null) {
+        viewsPrism.value().forEach(v -> add(v.value()));
+      }
+    }
+  }
+
+  private void add(String dsl) {
+    final Map<String, String> properties = parse(dsl);
+    for (View view : views) {
+      if (view.properties().equals(properties)) {
+        logError(baseType, "Duplicate @Json.View [%s]", dsl);
+        return;
+      }
+    }
+    views.add(new View(views.size(), dsl, properties));
+  }
+
+  /**
+   * Parse the top level properties of the DSL into property name to nested DSL (or null).
+   * <p>
+   * Whitespace and outer parenthesis are ignored. The view DSL itself is normalised
+   * at runtime by {@code ViewBuilderAware.normalise()} which the generated code uses
+   * to match the view.
+   */
+  private Map<String, String> parse(String dsl) {
+    final Map<String, String> properties = new LinkedHashMap<>();
+    final var name = new StringBuilder();
+    int depth = 0;
+    int nestedStart = -1;
+    int nestedEnd = -1;
+    for (int i = 0; i <= dsl.length(); i++) {
+      final char ch = i == dsl.length() ? ',' : dsl.charAt(i);
+      if (ch == '(') {
+        if (depth++ == 0) {
+          nestedStart = i + 1;
+        }
+      } else if (ch == ')') {
+        if (--depth < 0) {
+          break;
+        }
+        if (depth == 0) {
+          nestedEnd = i;
+        }
+      } else if (ch == ',' && depth == 0) {
+        properties.put(name.toString(), nestedStart == -1 ? null : dsl.substring(nestedStart, nestedEnd).trim());
+        name.setLength(0);
+        nestedStart = -1;
+      } else if (depth == 0 && !Character.isWhitespace(ch)) {
+        name.append(ch);
+      }
+    }
+    if (depth == 0 && properties.size() == 1) {
+      // outer parenthesis like "(id, name)"
+      final String nested = properties.get("");
+      if (nested != null) {
+        return parse(nested);
+      }
+    }
+    if (depth != 0 || properties.containsKey("")) {
+      logError(baseType, "Invalid @Json.View [%s]", dsl);
+    }
+    return properties;
+  }
+
+  static final class View {
+
+    private final int index;
+    private final String dsl;
+    private final Map<String, String> properties;
+    private final boolean wildcard;
+
+    View(int index, String dsl, Map<String, String> properties) {
+      this.index = index;
+      this.dsl = dsl;
+      this.properties = properties;
+      this.wildcard = properties.containsKey("*");
+    }
+
+    /**
+     * Return the name of the generated view adapter class.
+     */
+    String className() {
+      return "View" + index;
+    }
+
+    /**
+     * Return the DSL as declared by the annotation.
+     */
+    String dsl() {
+      return dsl;
+    }
+
+    Map<String, String> properties() {
+      return properties;
+    }
+
+    boolean includes(String propertyName) {
+      return wildcard || properties.containsKey(propertyName);
+    }
+
+    /**
+     * Return the nested DSL for the property or null if it is not nested.
+     */
+    String nested(String propertyName) {
+      return properties.get(propertyName);
+    }
+
+    boolean hasNested() {
+      return properties.values().stream().anyMatch(v -> v != null);
+    }
+  }
+}
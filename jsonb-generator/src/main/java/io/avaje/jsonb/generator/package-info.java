@@ -8,6 +8,8 @@
 @GeneratePrism(io.avaje.jsonb.Json.Unmapped.class)
 @GeneratePrism(io.avaje.jsonb.Json.Serializer.class)
 @GeneratePrism(io.avaje.jsonb.Json.Value.class)
+@GeneratePrism(io.avaje.jsonb.Json.View.class)
+@GeneratePrism(io.avaje.jsonb.Json.Views.class)
 @GeneratePrism(io.avaje.jsonb.spi.MetaData.class)
 @GeneratePrism(io.avaje.jsonb.spi.MetaData.JsonFactory.class)
 package io.avaje.jsonb.generator;
@@ -0,0 +1,33 @@
+package io.avaje.jsonb.generator.models.valid;
+
+import java.util.List;
+
+import io.avaje.jsonb.Json;
+
+@Json
+@Json.View("id, name")
+@Json.View("(id, birds(name))")
+public class Aviary {
+
+  private final long id;
+  private final String name;
+  private final List<Kingfisher> birds;
+
+  public Aviary(long id, String name, List<Kingfisher> birds) {
+    this.id = id;
+    this.name = name;
+    this.birds = birds;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public List<Kingfisher> getBirds() {
+    return birds;
+  }
+}
@@ -10,6 +10,7 @@ import io.avaje.json.JsonWriter;
 import io.avaje.json.PropertyNames;
 import io.avaje.json.stream.BufferedJsonWriter;
 import io.avaje.json.stream.BytesJsonWriter;
+import io.avaje.json.stream.JsonAsyncReader;
 import io.avaje.json.stream.JsonStream;
 import io.avaje.json.stream.JsonOutput;
 
@@ -52,9 +53,31 @@ import java.io.*;
  *   <li>serializeEmpty false</li>
  *   <li>failOnUnknown false</li>
  * </ul>
+ *
+ * <h3>Binary formats</h3>
+ * <p>
+ * A JsonFactory for a binary format like Smile ({@code SmileFactory}) or CBOR ({@code CBORFactory})
+ * can be used such that the same adapters read and write the binary format. With a binary format
+ * the content must be read and written as bytes or streams, the String and Reader/Writer based
+ * methods are not supported. Raw json values are converted to and from the binary format.
+ *
+ * <pre>{@code
+ *
+ * Jsonb smileJsonb = Jsonb.builder()
+ *   .adapter(new JacksonAdapter(new SmileFactory()))
+ *   .build();
+ *
+ * byte[] content = smileJsonb.toJsonBytes(customer);
+ *
+ * }</pre>
  */
 public class JacksonAdapter implements JsonStream {
 
+  /**
+   * Textual json factory used to convert raw json values with binary formats.
+   */
+  static final JsonFactory RAW_JSON_FACTORY = new JsonFactory();
+
   /**
    * Used to build JacksonAdapter with custom settings.
    */
@@ -115,6 +138,7 @@ public class JacksonAdapter implements JsonStream {
   private final boolean serializeNulls;
   private final boolean serializeEmpty;
   private final boolean failOnUnknown;
+  private final boolean binary;
 
   /**
    * Create with the given default configuration.
@@ -142,6 +166,7 @@ public class JacksonAdapter implements JsonStream {
     this.serializeEmpty = serializeEmpty;
     this.failOnUnknown = failOnUnknown;
     this.jsonFactory = jsonFactory;
+    this.binary = jsonFactory.canHandleBinaryNatively();
   }
 
   /**
@@ -166,6 +191,46 @@ public class JacksonAdapter implements JsonStream {
     return new Builder();
   }
 
+  /**
+   * Return true if the JsonFactory is for a binary format like Smile or CBOR.
+   */
+  public boolean isBinary() {
+    return binary;
+  }
+
+  private void checkTextual() {
+    if (binary) {
+      throw new UnsupportedOperationException(jsonFactory.getFormatName() + " is a binary format, read and write using bytes or streams");
+    }
+  }
+
+  /**
+   * The async reader parses json text so is not supported for binary formats.
+   */
+  private void checkAsync() {
+    if (binary) {
+      throw new UnsupportedOperationException("asyncReader is not supported for " + jsonFactory.getFormatName());
+    }
+  }
+
+  @Override
+  public JsonAsyncReader asyncReader() {
+    checkAsync();
+    return JsonStream.super.asyncReader();
+  }
+
+  @Override
+  public JsonAsyncReader asyncReader(boolean arrayElements) {
+    checkAsync();
+    return JsonStream.super.asyncReader(arrayElements);
+  }
+
+  @Override
+  public JsonAsyncReader asyncReader(boolean arrayElements, int maxValueSize) {
+    checkAsync();
+    return JsonStream.super.asyncReader(arrayElements, maxValueSize);
+  }
+
   @Override
   public PropertyNames properties(String... names) {
     return new JacksonNames(names);
@@ -173,6 +238,7 @@ public class JacksonAdapter implements JsonStream {
 
   @Override
   public JsonReader reader(String json) {
+    checkTextual();
     try {
       return new JacksonReader(jsonFactory.createParser(json), failOnUnknown);
     } catch (IOException e) {
@@ -191,6 +257,7 @@ public class JacksonAdapter implements JsonStream {
 
   @Override
   public JsonReader reader(Reader reader) {
+    checkTextual();
     try {
       return new JacksonReader(jsonFactory.createParser(reader), failOnUnknown);
     } catch (IOException e) {
@@ -209,6 +276,7 @@ public class JacksonAdapter implements JsonStream {
 
   @Override
   public JsonWriter writer(Writer writer) {
+    checkTextual();
     try {
       return new JacksonWriter(jsonFactory.createGenerator(writer), serializeNulls, serializeEmpty);
     } catch (IOException e) {
@@ -237,6 +305,7 @@ public class JacksonAdapter implements JsonStream {
 
   @Override
   public BufferedJsonWriter bufferedWriter() {
+    checkTextual();
     SegmentedStringWriter buffer = new SegmentedStringWriter(jsonFactory._getBufferRecycler());
     return new JacksonWriteBuffer(writer(buffer), buffer);
   }
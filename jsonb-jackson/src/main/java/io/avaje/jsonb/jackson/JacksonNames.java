@@ -3,18 +3,26 @@ package io.avaje.jsonb.jackson;
 import com.fasterxml.jackson.core.io.SerializedString;
 import io.avaje.json.PropertyNames;
 
+/**
+ * PropertyNames holding the names as pre-encoded SerializedString.
+ * <p>
+ * These are used by the writer via array index and by the reader to match the
+ * expected next field name without decoding it.
+ */
 final class JacksonNames implements PropertyNames {
 
   static final JacksonNames EMPTY = new JacksonNames(new String[0]);
 
-  private static final NameCache NAME_CACHE = new NameCache();
-
+  private final String[] names;
   private final SerializedString[] keys;
 
   JacksonNames(String[] names) {
-    keys = new SerializedString[names.length];
+    this.names = names.clone();
+    this.keys = new SerializedString[names.length];
     for (int i = 0; i < names.length; i++) {
-      keys[i] = obtain(names[i]);
+      final SerializedString key = new SerializedString(names[i]);
+      key.asQuotedUTF8();
+      keys[i] = key;
     }
   }
 
@@ -22,7 +30,23 @@ final class JacksonNames implements PropertyNames {
     return keys[pos];
   }
 
-  private static SerializedString obtain(String name) {
-    return NAME_CACHE.get(name);
+  String name(int pos) {
+    return names[pos];
+  }
+
+  /**
+   * Return the position of the given name or -1 when it is not one of the names.
+   */
+  int position(String name) {
+    for (int i = 0; i < names.length; i++) {
+      if (names[i].equals(name)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  int size() {
+    return keys.length;
   }
 }
@@ -1,21 +1,33 @@
 package io.avaje.jsonb.jackson;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.core.TreeNode;
 import io.avaje.json.JsonIoException;
 import io.avaje.json.JsonReader;
 import io.avaje.json.PropertyNames;
+import io.avaje.json.core.JsonNumbers;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 
 final class JacksonReader implements JsonReader {
 
   private final JsonParser parser;
   private final boolean failOnUnknown;
+  private final ArrayDeque<JacksonNames> nameStack = new ArrayDeque<>();
+  private int[] expectedStack = new int[8];
   private boolean streamArray;
+  /** The names of the current object (EMPTY when not known). */
+  private JacksonNames currentNames = JacksonNames.EMPTY;
+  /** Position of the name expected next in the current object. */
+  private int expected;
+  /** The matched name or null when the name did not match the expected one. */
+  private String matchedName;
 
   JacksonReader(JsonParser parser, boolean failOnUnknown) {
     this.parser = parser;
@@ -55,8 +67,15 @@ final class JacksonReader implements JsonReader {
   @Override
   public String readRaw() {
     try {
-      TreeNode tree = parser.getCodec().readTree(parser);
-      return tree.toString();
+      if (parser.currentToken() == null) {
+        parser.nextToken();
+      }
+      // copy as textual json, also converts from binary formats
+      final StringWriter buffer = new StringWriter();
+      try (JsonGenerator generator = JacksonAdapter.RAW_JSON_FACTORY.createGenerator(buffer)) {
+        generator.copyCurrentStructure(parser);
+      }
+      return buffer.toString();
     } catch (IOException e) {
       throw new JsonIoException(e);
     }
@@ -119,6 +138,25 @@ final class JacksonReader implements JsonReader {
   @Override
   public boolean hasNextField() {
     try {
+      final JacksonNames names = currentNames;
+      if (expected < names.size()) {
+        // match the expected next name without decoding it
+        if (parser.nextFieldName(names.key(expected))) {
+          matchedName = names.name(expected++);
+          return true;
+        }
+        matchedName = null;
+        if (parser.currentToken() != JsonToken.FIELD_NAME) {
+          return false;
+        }
+        // resync such that the names that follow in this order match again
+        final int pos = names.position(parser.getCurrentName());
+        if (pos >= 0) {
+          expected = pos + 1;
+        }
+        return true;
+      }
+      matchedName = null;
       return parser.nextToken() == JsonToken.FIELD_NAME;
     } catch (IOException e) {
       throw new JsonIoException(e);
@@ -128,7 +166,7 @@ final class JacksonReader implements JsonReader {
   @Override
   public String nextField() {
     try {
-      String nextName = parser.getCurrentName();
+      final String nextName = matchedName != null ? matchedName : parser.getCurrentName();
       // move to next token
       parser.nextToken();
       return nextName;
@@ -169,6 +207,29 @@ final class JacksonReader implements JsonReader {
     }
   }
 
+  @Override
+  public Number readNumber() {
+    try {
+      final JsonToken token = parser.currentToken();
+      if (token == JsonToken.VALUE_NUMBER_INT) {
+        return parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+          ? parser.getBigIntegerValue()
+          : (Number) parser.getLongValue();
+      }
+      if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+        return JsonNumbers.classify(parser.getText()) == JsonNumbers.DOUBLE
+          ? (Number) parser.getDoubleValue()
+          : parser.getDecimalValue();
+      }
+      if (token == JsonToken.VALUE_STRING) {
+        return JsonNumbers.of(parser.getText());
+      }
+    } catch (IOException e) {
+      throw new JsonIoException(e);
+    }
+    return JsonReader.super.readNumber();
+  }
+
   @Override
   public BigInteger readBigInteger() {
     try {
@@ -216,11 +277,23 @@ final class JacksonReader implements JsonReader {
 
   @Override
   public void beginObject(PropertyNames names) {
-    beginObject();
+    beginObject((JacksonNames) names);
   }
 
   @Override
   public void beginObject() {
+    beginObject((JacksonNames) null);
+  }
+
+  private void beginObject(JacksonNames names) {
+    final int depth = nameStack.size();
+    if (depth == expectedStack.length) {
+      expectedStack = Arrays.copyOf(expectedStack, depth * 2);
+    }
+    expectedStack[depth] = expected;
+    nameStack.push(currentNames);
+    currentNames = names == null ? JacksonNames.EMPTY : names;
+    expected = 0;
     if (parser.currentToken() == JsonToken.START_OBJECT) {
       return;
     }
@@ -238,6 +311,10 @@ final class JacksonReader implements JsonReader {
     if (parser.currentToken() != JsonToken.END_OBJECT) {
       throw new IllegalStateException("Expected end object " + parser.getCurrentLocation() + " but got " + parser.currentToken());
     }
+    if (!nameStack.isEmpty()) {
+      currentNames = nameStack.pop();
+      expected = expectedStack[nameStack.size()];
+    }
   }
 
   @Override
@@ -1,6 +1,7 @@
 package io.avaje.jsonb.jackson;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import io.avaje.json.JsonIoException;
 import io.avaje.json.JsonWriter;
 import io.avaje.json.PropertyNames;
@@ -16,6 +17,8 @@ import java.util.Map;
 final class JacksonWriter implements JsonWriter {
 
   private final JsonGenerator generator;
+  /** True for binary formats like Smile and CBOR where raw json is converted. */
+  private final boolean binary;
   private boolean serializeEmpty;
   private boolean serializeNulls;
   private String deferredName;
@@ -26,6 +29,7 @@ final class JacksonWriter implements JsonWriter {
 
   JacksonWriter(JsonGenerator generator, boolean serializeNulls, boolean serializeEmpty) {
     this.generator = generator;
+    this.binary = generator.canWriteBinaryNatively();
     this.serializeNulls = serializeNulls;
     this.serializeEmpty = serializeEmpty;
   }
@@ -372,7 +376,14 @@ final class JacksonWriter implements JsonWriter {
     } else {
       try {
         writeDeferredName();
-        generator.writeRaw(value);
+        if (binary) {
+          try (JsonParser parser = JacksonAdapter.RAW_JSON_FACTORY.createParser(value)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+          }
+        } else {
+          generator.writeRaw(value);
+        }
       } catch (IOException e) {
         throw new JsonIoException(e);
       }
@@ -406,6 +417,10 @@ final class JacksonWriter implements JsonWriter {
 
   @Override
   public void writeNewLine() {
+    if (binary) {
+      // binary values are self delimiting
+      return;
+    }
     try {
       generator.writeRaw('\n');
     } catch (IOException e) {
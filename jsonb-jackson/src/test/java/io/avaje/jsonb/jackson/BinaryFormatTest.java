@@ -0,0 +1,133 @@
+package io.avaje.jsonb.jackson;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.avaje.json.JsonAdapter;
+import io.avaje.json.JsonReader;
+import io.avaje.json.JsonWriter;
+import io.avaje.jsonb.JsonType;
+import io.avaje.jsonb.Jsonb;
+import org.example.Address;
+import org.example.Contact;
+import org.example.Customer;
+import org.example.MyComponent;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryFormatTest {
+
+  static Jsonb jsonb(JsonFactory factory) {
+    return Jsonb.builder()
+      .adapter(new JacksonAdapter(factory))
+      .add(new MyComponent())
+      .build();
+  }
+
+  static Customer customer() {
+    Customer customer = new Customer().id(42).name("rob").whenCreated(Instant.now())
+      .billingAddress(new Address().street("my street").suburb("my suburb"));
+    customer.contacts().add(new Contact(7L, "fo", "nar"));
+    customer.contacts().add(new Contact(8L, "ba", "zar"));
+    return customer;
+  }
+
+  @Test
+  void smile() {
+    assertRoundTrip(jsonb(new SmileFactory()));
+  }
+
+  @Test
+  void cbor() {
+    assertRoundTrip(jsonb(new CBORFactory()));
+  }
+
+  private void assertRoundTrip(Jsonb binaryJsonb) {
+    JsonType<Customer> type = binaryJsonb.type(Customer.class);
+    Customer customer = customer();
+
+    byte[] content = type.toJsonBytes(customer);
+    byte[] json = jsonb(new JsonFactory()).type(Customer.class).toJsonBytes(customer);
+    assertThat(content.length).isLessThan(json.length);
+
+    Customer read = type.fromJson(content);
+    assertThat(read.id()).isEqualTo(42);
+    assertThat(read.name()).isEqualTo("rob");
+    assertThat(read.whenCreated()).isEqualTo(customer.whenCreated());
+    assertThat(read.billingAddress().street()).isEqualTo("my street");
+    assertThat(read.contacts()).hasSize(2);
+    assertThat(read.contacts().get(1).lastName()).isEqualTo("zar");
+
+    List<Customer> list = type.list().fromJson(type.list().toJsonBytes(List.of(customer, customer)));
+    assertThat(list).hasSize(2);
+    assertThat(list.get(1).contacts().get(0).firstName()).isEqualTo("fo");
+  }
+
+  @Test
+  void binaryValue() {
+    Jsonb binaryJsonb = jsonb(new CBORFactory());
+    JsonType<List<byte[]>> type = binaryJsonb.type(byte[].class).list();
+
+    byte[] value = {1, 2, 3, 4, 5};
+    byte[] content = type.toJsonBytes(List.of(value));
+    // array start and break, byte string header + 5 bytes, not base64 encoded
+    assertThat(content).hasSize(8);
+    assertThat(type.fromJson(content)).containsExactly(value);
+  }
+
+  @Test
+  void rawValue() {
+    Jsonb binaryJsonb = jsonb(new SmileFactory());
+    JsonAdapter<String> raw = binaryJsonb.rawAdapter();
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    try (JsonWriter writer = binaryJsonb.writer(os)) {
+      writer.beginArray();
+      raw.toJson(writer, "{\"a\":1,\"b\":[true,null,\"x\"]}");
+      writer.writeNewLine();
+      writer.value(2);
+      writer.endArray();
+    }
+
+    try (JsonReader reader = binaryJsonb.reader(os.toByteArray())) {
+      reader.beginArray();
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(raw.fromJson(reader)).isEqualTo("{\"a\":1,\"b\":[true,null,\"x\"]}");
+      assertThat(reader.hasNextElement()).isTrue();
+      assertThat(reader.readInt()).isEqualTo(2);
+      assertThat(reader.hasNextElement()).isFalse();
+      reader.endArray();
+    }
+  }
+
+  @Test
+  void stringContent_notSupported() {
+    Jsonb binaryJsonb = jsonb(new SmileFactory());
+    JsonType<Address> type = binaryJsonb.type(Address.class);
+
+    assertThat(new JacksonAdapter(new SmileFactory()).isBinary()).isTrue();
+    assertThat(new JacksonAdapter().isBinary()).isFalse();
+    assertThatThrownBy(() -> type.toJson(new Address()))
+      .isInstanceOf(UnsupportedOperationException.class)
+      .hasMessageContaining("Smile");
+    assertThatThrownBy(() -> type.fromJson("{}"))
+      .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void asyncReader_notSupported() {
+    JacksonAdapter adapter = new JacksonAdapter(new SmileFactory());
+    assertThatThrownBy(adapter::asyncReader)
+      .isInstanceOf(UnsupportedOperationException.class)
+      .hasMessageContaining("Smile");
+    assertThatThrownBy(() -> adapter.asyncReader(false, 1000))
+      .isInstanceOf(UnsupportedOperationException.class);
+    assertThat(new JacksonAdapter().asyncReader(false, 1000)).isNotNull();
+  }
+}
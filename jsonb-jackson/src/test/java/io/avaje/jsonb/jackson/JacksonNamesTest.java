@@ -0,0 +1,89 @@
+package io.avaje.jsonb.jackson;
+
+import io.avaje.json.JsonReader;
+import io.avaje.json.PropertyNames;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JacksonNamesTest {
+
+  final JacksonAdapter adapter = new JacksonAdapter();
+  final PropertyNames outer = adapter.properties("id", "name", "inner");
+  final PropertyNames inner = adapter.properties("a", "b");
+
+  private List<String> read(String json) {
+    List<String> fields = new ArrayList<>();
+    try (JsonReader reader = adapter.reader(json)) {
+      reader.beginObject(outer);
+      while (reader.hasNextField()) {
+        String field = reader.nextField();
+        fields.add(field);
+        if ("inner".equals(field)) {
+          reader.beginObject(inner);
+          while (reader.hasNextField()) {
+            String innerField = reader.nextField();
+            fields.add(innerField + "=" + reader.readString());
+          }
+          reader.endObject();
+        } else {
+          fields.add(reader.readString());
+        }
+      }
+      reader.endObject();
+    }
+    return fields;
+  }
+
+  @Test
+  void key_preEncoded() {
+    JacksonNames names = (JacksonNames) outer;
+    assertThat(names.size()).isEqualTo(3);
+    assertThat(names.name(1)).isEqualTo("name");
+    assertThat(names.key(1).getValue()).isEqualTo("name");
+  }
+
+  @Test
+  void read_expectedOrder() {
+    assertThat(read("{\"id\":\"1\",\"name\":\"x\",\"inner\":{\"a\":\"A\",\"b\":\"B\"}}"))
+      .containsExactly("id", "1", "name", "x", "inner", "a=A", "b=B");
+  }
+
+  @Test
+  void read_otherOrderAndUnknown() {
+    assertThat(read("{\"inner\":{\"b\":\"B\",\"z\":\"Z\",\"a\":\"A\"},\"other\":\"o\",\"id\":\"1\"}"))
+      .containsExactly("inner", "b=B", "z=Z", "a=A", "other", "o", "id", "1");
+  }
+
+  @Test
+  void read_omittedField_resyncs() {
+    // not interned, so a matched name is the same instance as the expected name
+    String code = new String("code");
+    String size = new String("size");
+    PropertyNames names = adapter.properties("id", "name", code, size);
+
+    List<String> fields = new ArrayList<>();
+    try (JsonReader reader = adapter.reader("{\"name\":\"x\",\"code\":\"c\",\"size\":\"s\"}")) {
+      reader.beginObject(names);
+      while (reader.hasNextField()) {
+        fields.add(reader.nextField());
+        reader.readString();
+      }
+      reader.endObject();
+    }
+    assertThat(fields).containsExactly("name", "code", "size");
+    // after the omitted id the following names match the expected ones
+    assertThat(fields.get(1)).isSameAs(code);
+    assertThat(fields.get(2)).isSameAs(size);
+  }
+
+  @Test
+  void position() {
+    JacksonNames names = (JacksonNames) outer;
+    assertThat(names.position("inner")).isEqualTo(2);
+    assertThat(names.position("other")).isEqualTo(-1);
+  }
+}
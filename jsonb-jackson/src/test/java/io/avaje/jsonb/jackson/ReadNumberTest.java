@@ -0,0 +1,47 @@
+package io.avaje.jsonb.jackson;
+
+import io.avaje.json.JsonReader;
+import io.avaje.json.stream.JsonStream;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadNumberTest {
+
+  static final String[] NUMBERS = {
+    "42", "-7", "1e3", "1E+3", "1.0", "1.5e-3", "9007199254740993",
+    "12345678901234567890", "3.14159265358979323846", "1e400", "\"1e3\"", "\"100\""
+  };
+
+  final JsonStream core = JsonStream.builder().build();
+  final JsonStream jackson = new JacksonAdapter();
+
+  @Test
+  void readNumber_sameTypeAcrossBackends() {
+    for (String json : NUMBERS) {
+      Number fromCore = readNumber(core, json);
+      Number fromJackson = readNumber(jackson, json);
+      assertThat(fromJackson).as(json).isEqualTo(fromCore);
+      assertThat(fromJackson.getClass()).as(json).isEqualTo(fromCore.getClass());
+    }
+  }
+
+  @Test
+  void readNumber_exponentIsDecimal() {
+    assertThat(readNumber(core, "1e3")).isEqualTo(1000D);
+    assertThat(readNumber(jackson, "1e3")).isEqualTo(1000D);
+    assertThat(readNumber(jackson, "12345678901234567890")).isEqualTo(new BigInteger("12345678901234567890"));
+    assertThat(readNumber(jackson, "1e400")).isEqualTo(new BigDecimal("1e400"));
+  }
+
+  private static Number readNumber(JsonStream stream, String json) {
+    try (JsonReader reader = stream.reader("[" + json + "]")) {
+      reader.beginArray();
+      reader.hasNextElement();
+      return reader.readNumber();
+    }
+  }
+}
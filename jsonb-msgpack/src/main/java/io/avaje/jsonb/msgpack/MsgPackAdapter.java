@@ -0,0 +1,146 @@
+package io.avaje.jsonb.msgpack;
+
+import io.avaje.json.JsonReader;
+import io.avaje.json.JsonWriter;
+import io.avaje.json.PropertyNames;
+import io.avaje.json.stream.ArrayJsonWriter;
+import io.avaje.json.stream.BufferedJsonWriter;
+import io.avaje.json.stream.BytesJsonWriter;
+import io.avaje.json.stream.JsonAsyncReader;
+import io.avaje.json.stream.JsonOutput;
+import io.avaje.json.stream.JsonStream;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * MessagePack implementation of JsonStream.
+ * <p>
+ * This reads and writes <a href="https://msgpack.org">MessagePack</a> such that the same
+ * generated adapters can be used to interoperate with services that use MessagePack.
+ * Binary values (byte[]) are read and written as MessagePack bin rather than base64.
+ *
+ * <h3>Explicitly initialise</h3>
+ *
+ * <pre>{@code
+ *
+ * Jsonb msgpackJsonb = Jsonb.builder()
+ *   .adapter(new MsgPackAdapter())
+ *   .build();
+ *
+ * byte[] content = msgpackJsonb.toJsonBytes(customer);
+ *
+ * }</pre>
+ *
+ * <h3>Service loading initialise</h3>
+ * <p>
+ * Including the <code>io.avaje:avaje-jsonb-msgpack</code> dependency in the classpath registers
+ * {@link MsgPackAdapterFactory} as a service such that MessagePack becomes the default JsonStream
+ * for every <code>Jsonb.builder().build()</code> (and <code>Jsonb.instance()</code>) that does not
+ * explicitly set an adapter. Use <code>Jsonb.builder().adapter(JsonStream.builder().build())</code>
+ * for a Jsonb that reads and writes json in the same application.
+ *
+ * <h3>Binary format</h3>
+ * <p>
+ * This uses the MessagePack codec of avaje-json-core, the same as
+ * <code>JsonStream.builder().msgpack(true).build()</code>. The content must be read and written as
+ * bytes or streams, the String and Reader/Writer based methods are not supported. Raw json values
+ * are converted to and from MessagePack. The MessagePack timestamp extension type is read as an
+ * ISO-8601 string such that it can be read as an Instant. A top level stream is written as values
+ * one after the other rather than as an array.
+ */
+public class MsgPackAdapter implements JsonStream {
+
+  private final JsonStream delegate;
+
+  /**
+   * Create with the default settings.
+   */
+  public MsgPackAdapter() {
+    this(false, false, false);
+  }
+
+  /**
+   * Create with the given settings.
+   */
+  public MsgPackAdapter(boolean serializeNulls, boolean serializeEmpty, boolean failOnUnknown) {
+    this.delegate = JsonStream.builder()
+      .msgpack(true)
+      .serializeNulls(serializeNulls)
+      .serializeEmpty(serializeEmpty)
+      .failOnUnknown(failOnUnknown)
+      .build();
+  }
+
+  @Override
+  public PropertyNames properties(String... names) {
+    return delegate.properties(names);
+  }
+
+  @Override
+  public JsonReader reader(String json) {
+    return delegate.reader(json);
+  }
+
+  @Override
+  public JsonReader reader(byte[] content) {
+    return delegate.reader(content);
+  }
+
+  @Override
+  public JsonReader reader(Reader reader) {
+    return delegate.reader(reader);
+  }
+
+  @Override
+  public JsonReader reader(InputStream inputStream) {
+    return delegate.reader(inputStream);
+  }
+
+  @Override
+  public JsonAsyncReader asyncReader() {
+    return delegate.asyncReader();
+  }
+
+  @Override
+  public JsonAsyncReader asyncReader(boolean arrayElements) {
+    return delegate.asyncReader(arrayElements);
+  }
+
+  @Override
+  public JsonAsyncReader asyncReader(boolean arrayElements, int maxValueSize) {
+    return delegate.asyncReader(arrayElements, maxValueSize);
+  }
+
+  @Override
+  public JsonWriter writer(Writer writer) {
+    return delegate.writer(writer);
+  }
+
+  @Override
+  public JsonWriter writer(OutputStream outputStream) {
+    return delegate.writer(outputStream);
+  }
+
+  @Override
+  public JsonWriter writer(JsonOutput output) {
+    return delegate.writer(output);
+  }
+
+  @Override
+  public BufferedJsonWriter bufferedWriter() {
+    return delegate.bufferedWriter();
+  }
+
+  @Override
+  public BytesJsonWriter bufferedWriterAsBytes() {
+    return delegate.bufferedWriterAsBytes();
+  }
+
+  @Override
+  public ArrayJsonWriter writer(byte[] dest, int offset) {
+    return delegate.writer(dest, offset);
+  }
+}
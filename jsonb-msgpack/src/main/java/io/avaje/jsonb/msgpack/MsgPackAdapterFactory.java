@@ -0,0 +1,21 @@
+package io.avaje.jsonb.msgpack;
+
+import io.avaje.json.stream.JsonStream;
+import io.avaje.jsonb.spi.JsonStreamFactory;
+import io.avaje.spi.ServiceProvider;
+
+/**
+ * MessagePack based adapter.
+ * <p>
+ * Reads and writes MessagePack rather than json using the same generated adapters. Being
+ * registered as a service this makes MessagePack the default JsonStream of every Jsonb that
+ * is built without explicitly setting an adapter.
+ */
+@ServiceProvider
+public class MsgPackAdapterFactory implements JsonStreamFactory {
+
+  @Override
+  public JsonStream create(boolean serializeNulls, boolean serializeEmpty, boolean failOnUnknown) {
+    return new MsgPackAdapter(serializeNulls, serializeEmpty, failOnUnknown);
+  }
+}
@@ -0,0 +1,8 @@
+/**
+ * Reads and writes MessagePack content to implement the SPI.
+ * <p>
+ * Note that {@link io.avaje.jsonb.msgpack.MsgPackAdapterFactory} is registered as a service
+ * such that, with this module on the classpath, MessagePack is the default JsonStream of every
+ * {@code Jsonb.builder().build()} that does not explicitly set an adapter.
+ */
+package io.avaje.jsonb.msgpack;
@@ -0,0 +1,8 @@
+module io.avaje.jsonb.msgpack {
+
+  requires transitive io.avaje.jsonb;
+  requires static io.avaje.spi;
+
+  exports io.avaje.jsonb.msgpack;
+  provides io.avaje.jsonb.spi.JsonbExtension with io.avaje.jsonb.msgpack.MsgPackAdapterFactory;
+}
@@ -0,0 +1,101 @@
+package io.avaje.jsonb.msgpack;
+
+import io.avaje.json.stream.JsonStream;
+import io.avaje.jsonb.JsonType;
+import io.avaje.jsonb.Jsonb;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MsgPackAdapterTest {
+
+  final JsonStream msgpack = new MsgPackAdapter();
+  final Jsonb jsonb = Jsonb.builder().adapter(msgpack).build();
+
+  static byte[] bytes(int... values) {
+    final byte[] bytes = new byte[values.length];
+    for (int i = 0; i < values.length; i++) {
+      bytes[i] = (byte) values[i];
+    }
+    return bytes;
+  }
+
+  @Test
+  void isMsgPack() {
+    // the service loaded adapter is the default
+    assertThat(Jsonb.instance().toJsonBytes(Map.of("a", 1))).isEqualTo(bytes(0x81, 0xA1, 'a', 0x01));
+  }
+
+  @Test
+  void roundTrip_largeContainers() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    for (int i = 0; i < 20; i++) {
+      map.put("k" + i, i % 2 == 0 ? List.of("a", 1L) : Map.of("x", 1.1D));
+    }
+    List<Object> list = new ArrayList<>();
+    for (int i = 0; i < 70_000; i++) {
+      list.add((long) i);
+    }
+    map.put("list", list);
+    map.put("big", new byte[1000]);
+
+    JsonType<Object> type = jsonb.type(Object.class);
+    byte[] content = type.toJsonBytes(map);
+    assertThat(content[0]).isEqualTo((byte) 0xDE);
+
+    @SuppressWarnings("unchecked")
+    Map<String, Object> read = (Map<String, Object>) type.fromJson(content);
+    assertThat(read).hasSize(22);
+    assertThat(read.get("k0")).isEqualTo(List.of("a", 1L));
+    assertThat(read.get("k19")).isEqualTo(Map.of("x", 1.1D));
+    List<?> readList = (List<?>) read.get("list");
+    assertThat(readList).hasSize(70_000);
+    assertThat(readList.get(69_999)).isEqualTo(69_999L);
+    // bin is read as base64 by the Object adapter
+    assertThat(read.get("big")).isInstanceOf(String.class);
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    type.toJson(map, os);
+    assertThat(os.toByteArray()).isEqualTo(content);
+  }
+
+  @Test
+  void read_timestamp() {
+    // timestamp 32 and timestamp 64 extension types
+    JsonType<List<Instant>> type = jsonb.type(Instant.class).list();
+    List<Instant> instants = type.fromJson(bytes(0x92,
+      0xD6, 0xFF, 0x00, 0x00, 0x00, 0x01,
+      0xD7, 0xFF, 0x00, 0x00, 0x00, 0x04, 0x00, 0x00, 0x00, 0x02));
+    assertThat(instants).containsExactly(Instant.ofEpochSecond(1), Instant.ofEpochSecond(2, 1));
+  }
+
+  @Test
+  void stream_values() {
+    JsonType<Stream<String>> type = jsonb.type(String.class).stream();
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    type.toJson(Stream.of("v0", "v1", "v2"), os);
+    // written one after the other rather than as an array
+    assertThat(os.toByteArray()).isEqualTo(bytes(0xA2, 'v', '0', 0xA2, 'v', '1', 0xA2, 'v', '2'));
+
+    try (Stream<String> stream = type.fromJson(os.toByteArray())) {
+      assertThat(stream.collect(Collectors.toList())).containsExactly("v0", "v1", "v2");
+    }
+  }
+
+  @Test
+  void text_notSupported() {
+    assertThatThrownBy(() -> msgpack.reader("{}")).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(msgpack::bufferedWriter).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> msgpack.asyncReader(false, 1000)).isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -0,0 +1,30 @@
+package io.avaje.jsonb.spring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.avaje.jsonb.Jsonb;
+
+/**
+ * Autoconfigure use of Avaje Jsonb for WebFlux encoding and decoding.
+ */
+@Configuration
+@ConditionalOnClass(name = {"org.springframework.http.codec.HttpMessageEncoder", "reactor.core.publisher.Flux"})
+public class JsonbCodecAutoConfiguration {
+
+  @Bean
+  CodecCustomizer jsonbCodecCustomizer(Jsonb jsonb) {
+    return configurer -> {
+      configurer.customCodecs().register(new JsonbEncoder(jsonb));
+      final var decoder = new JsonbDecoder(jsonb);
+      configurer.customCodecs().registerWithDefaultConfig(decoder, config -> {
+        final Integer maxInMemorySize = config.maxInMemorySize();
+        if (maxInMemorySize != null) {
+          decoder.setMaxInMemorySize(maxInMemorySize);
+        }
+      });
+    };
+  }
+}
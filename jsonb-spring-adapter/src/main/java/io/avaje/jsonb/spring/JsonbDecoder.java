@@ -0,0 +1,154 @@
+package io.avaje.jsonb.spring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.HttpMessageDecoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+import io.avaje.json.JsonDataException;
+import io.avaje.json.JsonReader;
+import io.avaje.json.stream.JsonAsyncReader;
+import io.avaje.jsonb.JsonType;
+import io.avaje.jsonb.Jsonb;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Avaje Jsonb decoder for Spring WebFlux.
+ * <p>
+ * Decoding to a {@code Flux} is incremental. The buffers are fed to a
+ * {@link JsonAsyncReader} which splits the body into the top level values (or the
+ * elements of a top level array) and each value is emitted once it is complete, so
+ * the full body is never aggregated.
+ */
+public class JsonbDecoder implements HttpMessageDecoder<Object> {
+
+  private static final List<MimeType> MIME_TYPES = List.of(
+    new MimeType("application", "json"),
+    new MimeType("application", "*+json"),
+    new MimeType("application", "x-ndjson"));
+
+  private final Jsonb jsonb;
+  private int maxInMemorySize = 256 * 1024;
+
+  public JsonbDecoder(Jsonb jsonb) {
+    this.jsonb = jsonb;
+  }
+
+  /**
+   * Set the max number of bytes that can be buffered for a single value
+   * (or the whole body when decoding to a Mono). Defaults to 256KB, -1 for unlimited.
+   * <p>
+   * Exceeding this fails a Flux with a DecodingException and a Mono with a
+   * DataBufferLimitException.
+   */
+  public void setMaxInMemorySize(int maxInMemorySize) {
+    this.maxInMemorySize = maxInMemorySize;
+  }
+
+  /**
+   * Return the max number of bytes that can be buffered.
+   */
+  public int getMaxInMemorySize() {
+    return maxInMemorySize;
+  }
+
+  @Override
+  public List<MimeType> getDecodableMimeTypes() {
+    return MIME_TYPES;
+  }
+
+  @Override
+  public boolean canDecode(ResolvableType elementType, @Nullable MimeType mimeType) {
+    final Class<?> cls = elementType.toClass();
+    if (CharSequence.class.isAssignableFrom(cls) || DataBuffer.class.isAssignableFrom(cls)) {
+      return false;
+    }
+    return JsonbEncoder.supportsMimeType(mimeType);
+  }
+
+  @Override
+  public Flux<Object> decode(Publisher<DataBuffer> inputStream, ResolvableType elementType,
+                             @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+    final JsonType<Object> jsonType = jsonb.type(elementType.getType());
+    return Flux.defer(() -> {
+      final JsonAsyncReader asyncReader = jsonb.asyncReader(true, maxInMemorySize);
+      return Flux.from(inputStream)
+        .concatMapIterable(buffer -> {
+          try (var iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+              asyncReader.feed(iterator.next());
+            }
+            return read(asyncReader, jsonType);
+          } catch (JsonDataException e) {
+            throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+          } finally {
+            DataBufferUtils.release(buffer);
+          }
+        })
+        .concatWith(Flux.defer(() -> {
+          try {
+            asyncReader.endOfInput();
+          } catch (JsonDataException e) {
+            return Flux.error(new DecodingException("JSON decoding error: " + e.getMessage(), e));
+          }
+          return Flux.fromIterable(read(asyncReader, jsonType));
+        }));
+    });
+  }
+
+  @Override
+  public Mono<Object> decodeToMono(Publisher<DataBuffer> inputStream, ResolvableType elementType,
+                                   @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+    return DataBufferUtils.join(inputStream, maxInMemorySize)
+      .map(buffer -> decode(buffer, elementType, mimeType, hints));
+  }
+
+  @Override
+  public Object decode(DataBuffer buffer, ResolvableType targetType,
+                       @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) throws DecodingException {
+    try {
+      return jsonb.type(targetType.getType()).fromJson(buffer.asInputStream());
+    } catch (RuntimeException e) {
+      throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+    } finally {
+      DataBufferUtils.release(buffer);
+    }
+  }
+
+  /**
+   * Read the values that are complete.
+   */
+  private static List<Object> read(JsonAsyncReader asyncReader, JsonType<Object> jsonType) {
+    if (!asyncReader.hasNext()) {
+      return List.of();
+    }
+    final List<Object> values = new ArrayList<>();
+    while (asyncReader.hasNext()) {
+      try (JsonReader reader = asyncReader.nextReader()) {
+        values.add(jsonType.fromJson(reader));
+      } catch (RuntimeException e) {
+        throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+      }
+    }
+    return values;
+  }
+
+  @Override
+  public Map<String, Object> getDecodeHints(ResolvableType actualType, ResolvableType elementType,
+                                            ServerHttpRequest request, ServerHttpResponse response) {
+    return Map.of();
+  }
+}
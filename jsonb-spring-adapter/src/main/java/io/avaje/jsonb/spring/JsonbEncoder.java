@@ -0,0 +1,151 @@
+package io.avaje.jsonb.spring;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageEncoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+import io.avaje.jsonb.JsonType;
+import io.avaje.jsonb.Jsonb;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Avaje Jsonb encoder for Spring WebFlux.
+ * <p>
+ * A {@code Flux} is written as a JSON array with each element encoded directly into
+ * its own buffer as it is emitted. With {@code application/x-ndjson} each element is written
+ * as a line and flushed to the client.
+ */
+public class JsonbEncoder implements HttpMessageEncoder<Object> {
+
+  private static final int INITIAL_BUFFER_SIZE = 256;
+  private static final byte[] NEWLINE = {'\n'};
+  private static final byte[] COMMA = {','};
+  private static final byte[] START_ARRAY = {'['};
+  private static final byte[] END_ARRAY = {']'};
+
+  private static final List<MimeType> MIME_TYPES = List.of(
+    MediaType.APPLICATION_JSON,
+    new MediaType("application", "*+json"),
+    MediaType.APPLICATION_NDJSON);
+
+  private static final List<MediaType> STREAMING_MEDIA_TYPES = List.of(MediaType.APPLICATION_NDJSON);
+
+  private final Jsonb jsonb;
+
+  public JsonbEncoder(Jsonb jsonb) {
+    this.jsonb = jsonb;
+  }
+
+  @Override
+  public List<MimeType> getEncodableMimeTypes() {
+    return MIME_TYPES;
+  }
+
+  @Override
+  public List<MediaType> getStreamingMediaTypes() {
+    return STREAMING_MEDIA_TYPES;
+  }
+
+  @Override
+  public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
+    final Class<?> cls = elementType.toClass();
+    if (CharSequence.class.isAssignableFrom(cls) || DataBuffer.class.isAssignableFrom(cls)) {
+      return false;
+    }
+    return supportsMimeType(mimeType);
+  }
+
+  static boolean supportsMimeType(@Nullable MimeType mimeType) {
+    if (mimeType == null) {
+      return true;
+    }
+    if (mimeType.getCharset() != null && !StandardCharsets.UTF_8.equals(mimeType.getCharset())) {
+      return false;
+    }
+    for (MimeType supported : MIME_TYPES) {
+      if (supported.isCompatibleWith(mimeType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                 ResolvableType elementType, @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+
+    final JsonType<Object> jsonType = jsonType(elementType);
+    if (inputStream instanceof Mono) {
+      return Mono.from(inputStream)
+        .map(value -> encode(bufferFactory, null, jsonType, value, null))
+        .flux();
+    }
+    if (isStreaming(mimeType)) {
+      return Flux.from(inputStream)
+        .map(value -> encode(bufferFactory, null, jsonType, value, NEWLINE));
+    }
+    return Flux.defer(() -> {
+      final AtomicBoolean first = new AtomicBoolean(true);
+      return Flux.from(inputStream)
+        .map(value -> encode(bufferFactory, first.getAndSet(false) ? START_ARRAY : COMMA, jsonType, value, null))
+        .switchIfEmpty(Mono.fromCallable(() -> bufferFactory.wrap(START_ARRAY)))
+        .concatWith(Mono.fromCallable(() -> bufferFactory.wrap(END_ARRAY)));
+    });
+  }
+
+  @Override
+  public DataBuffer encodeValue(Object value, DataBufferFactory bufferFactory, ResolvableType valueType,
+                                @Nullable MimeType mimeType, @Nullable Map<String, Object> hints) {
+    return encode(bufferFactory, null, jsonType(valueType), value, null);
+  }
+
+  private static DataBuffer encode(DataBufferFactory bufferFactory, @Nullable byte[] prefix,
+                                   JsonType<Object> jsonType, Object value, @Nullable byte[] suffix) {
+    final DataBuffer buffer = bufferFactory.allocateBuffer(INITIAL_BUFFER_SIZE);
+    try {
+      if (prefix != null) {
+        buffer.write(prefix);
+      }
+      try (OutputStream outputStream = buffer.asOutputStream()) {
+        jsonType.toJson(value, outputStream);
+      }
+      if (suffix != null) {
+        buffer.write(suffix);
+      }
+      return buffer;
+    } catch (IOException | RuntimeException e) {
+      DataBufferUtils.release(buffer);
+      throw new EncodingException("JSON encoding error: " + e.getMessage(), e);
+    }
+  }
+
+  private static boolean isStreaming(@Nullable MimeType mimeType) {
+    for (MediaType streaming : STREAMING_MEDIA_TYPES) {
+      if (streaming.isCompatibleWith(mimeType)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private JsonType<Object> jsonType(ResolvableType elementType) {
+    final Type type = elementType.getType();
+    return jsonb.type(type);
+  }
+}
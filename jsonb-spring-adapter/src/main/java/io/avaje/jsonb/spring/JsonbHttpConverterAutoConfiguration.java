@@ -1,5 +1,6 @@
 package io.avaje.jsonb.spring;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,7 +15,10 @@ import io.avaje.jsonb.Jsonb;
 public class JsonbHttpConverterAutoConfiguration {
 
   @Bean
-  JsonbHttpMessageConverter jsonbConverter(Jsonb jsonb) {
-    return new JsonbHttpMessageConverter(jsonb);
+  JsonbHttpMessageConverter jsonbConverter(Jsonb jsonb,
+      @Value("${jsonb.http.contentLengthThreshold:4096}") int contentLengthThreshold) {
+    final var converter = new JsonbHttpMessageConverter(jsonb);
+    converter.setContentLengthThreshold(contentLengthThreshold);
+    return converter;
   }
 }
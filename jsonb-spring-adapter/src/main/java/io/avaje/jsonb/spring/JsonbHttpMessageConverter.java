@@ -15,17 +15,39 @@ import io.avaje.jsonb.Jsonb;
 
 /**
  * Avaje Jsonb message converter.
+ * <p>
+ * When the json content is no larger than the {@link #setContentLengthThreshold(int)
+ * content length threshold} it is written with a Content-Length, otherwise the
+ * content is streamed.
  */
 public class JsonbHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object>
     implements GenericHttpMessageConverter<Object> {
 
   private final Jsonb serializer;
+  private int contentLengthThreshold = 4096;
 
   public JsonbHttpMessageConverter(Jsonb serializer) {
     super(MediaType.APPLICATION_JSON);
     this.serializer = serializer;
   }
 
+  /**
+   * Set the max size of content in bytes that is written with a Content-Length.
+   * <p>
+   * Content up to this size is held in memory before it is written. Larger content
+   * is streamed without a Content-Length. Defaults to 4KB, 0 to always stream.
+   */
+  public void setContentLengthThreshold(int contentLengthThreshold) {
+    this.contentLengthThreshold = contentLengthThreshold;
+  }
+
+  /**
+   * Return the max size of content in bytes that is written with a Content-Length.
+   */
+  public int getContentLengthThreshold() {
+    return contentLengthThreshold;
+  }
+
   @Override
   protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
       throws IOException, HttpMessageNotReadableException {
@@ -41,6 +63,6 @@ public class JsonbHttpMessageConverter extends AbstractGenericHttpMessageConvert
   @Override
   protected void writeInternal(Object instance, Type type, HttpOutputMessage outputMessage)
       throws IOException, HttpMessageNotWritableException {
-    serializer.type(type).toJson(instance, outputMessage.getBody());
+    serializer.type(type != null ? type : instance.getClass()).toJson(instance, new SpringJsonOutput(outputMessage, contentLengthThreshold));
   }
 }
@@ -0,0 +1,101 @@
+package io.avaje.jsonb.spring;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import org.springframework.http.HttpOutputMessage;
+
+import io.avaje.json.stream.JsonOutput;
+
+/**
+ * JsonOutput that sets the Content-Length when the content is no larger than the threshold.
+ * <p>
+ * Content is held until it exceeds the threshold. When the last content arrives
+ * within the threshold the Content-Length is set and the body written, otherwise
+ * the held content is written and the response is streamed (chunked).
+ */
+final class SpringJsonOutput implements JsonOutput {
+
+  private final HttpOutputMessage outputMessage;
+  private final int contentLengthThreshold;
+  private byte[] pending;
+  private int pendingLength;
+  private OutputStream os;
+
+  SpringJsonOutput(HttpOutputMessage outputMessage, int contentLengthThreshold) {
+    this.outputMessage = outputMessage;
+    this.contentLengthThreshold = contentLengthThreshold;
+  }
+
+  private boolean fits(int length) {
+    return os == null && pendingLength + length <= contentLengthThreshold;
+  }
+
+  /**
+   * Return the body stream writing any content being held.
+   */
+  private OutputStream os() throws IOException {
+    if (os == null) {
+      os = outputMessage.getBody();
+      if (pendingLength > 0) {
+        os.write(pending, 0, pendingLength);
+        pending = null;
+        pendingLength = 0;
+      }
+    }
+    return os;
+  }
+
+  @Override
+  public void write(byte[] content, int offset, int length) throws IOException {
+    if (fits(length)) {
+      hold(content, offset, length);
+    } else {
+      os().write(content, offset, length);
+    }
+  }
+
+  private void hold(byte[] content, int offset, int length) {
+    if (pending == null) {
+      pending = new byte[Math.max(length, 256)];
+    } else if (pendingLength + length > pending.length) {
+      pending = Arrays.copyOf(pending, Math.min(contentLengthThreshold, Math.max(pendingLength + length, pending.length * 2)));
+    }
+    System.arraycopy(content, offset, pending, pendingLength, length);
+    pendingLength += length;
+  }
+
+  @Override
+  public void writeLast(byte[] content, int offset, int length) throws IOException {
+    if (fits(length)) {
+      // going to use fixed length content
+      outputMessage.getHeaders().setContentLength(pendingLength + length);
+    }
+    os().write(content, offset, length);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (os != null) {
+      os.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (pendingLength > 0 || os != null) {
+      os().close();
+    }
+  }
+
+  @Override
+  public OutputStream unwrapOutputStream() {
+    try {
+      return os();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
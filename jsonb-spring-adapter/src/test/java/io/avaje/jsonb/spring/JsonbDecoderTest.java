@@ -0,0 +1,107 @@
+package io.avaje.jsonb.spring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+
+import io.avaje.json.JsonDataException;
+import io.avaje.jsonb.Jsonb;
+import reactor.core.publisher.Flux;
+
+class JsonbDecoderTest {
+
+  private static final ResolvableType MAP_TYPE = ResolvableType.forClassWithGenerics(Map.class, String.class, Object.class);
+
+  private final JsonbDecoder decoder = new JsonbDecoder(Jsonb.builder().build());
+
+  /**
+   * Return the content as buffers of the given size.
+   */
+  private static Flux<DataBuffer> buffers(String content, int chunkSize) {
+    final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+    final List<DataBuffer> buffers = new ArrayList<>();
+    for (int i = 0; i < bytes.length; i += chunkSize) {
+      final byte[] chunk = new byte[Math.min(chunkSize, bytes.length - i)];
+      System.arraycopy(bytes, i, chunk, 0, chunk.length);
+      buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+    }
+    return Flux.fromIterable(buffers);
+  }
+
+  private List<Object> decode(String content, int chunkSize, MediaType mediaType) {
+    return decoder.decode(buffers(content, chunkSize), MAP_TYPE, mediaType, null)
+      .collectList()
+      .block();
+  }
+
+  @Test
+  void decode_splitAcrossBuffers() {
+    final String json = "[{\"id\":1,\"name\":\"a\"},{\"id\":2,\"name\":\"b\"},{\"id\":3,\"name\":\"ü\"}]";
+    // every buffer boundary including within a multibyte character
+    for (int chunkSize = 1; chunkSize <= json.length(); chunkSize++) {
+      assertThat(decode(json, chunkSize, MediaType.APPLICATION_JSON))
+        .containsExactly(Map.of("id", 1L, "name", "a"), Map.of("id", 2L, "name", "b"), Map.of("id", 3L, "name", "ü"));
+    }
+  }
+
+  @Test
+  void decode_stringsWithBracesAndEscapedQuotes() {
+    final String json = "[{\"s\":\"}{][,\"},{\"s\":\"a\\\"}\\\\\"},{\"s\":\"\\\\\"}]";
+    for (int chunkSize = 1; chunkSize <= 3; chunkSize++) {
+      assertThat(decode(json, chunkSize, MediaType.APPLICATION_JSON))
+        .containsExactly(Map.of("s", "}{][,"), Map.of("s", "a\"}\\"), Map.of("s", "\\"));
+    }
+  }
+
+  @Test
+  void decode_topLevelArray_elements() {
+    assertThat(decode("[{\"id\":1},{\"id\":2}]", 4, MediaType.APPLICATION_JSON))
+      .containsExactly(Map.of("id", 1L), Map.of("id", 2L));
+    assertThat(decode("[]", 1, MediaType.APPLICATION_JSON)).isEmpty();
+  }
+
+  @Test
+  void decode_ndjson() {
+    assertThat(decode("{\"id\":1}\n{\"id\":2}\r\n\n{\"id\":3}", 5, MediaType.APPLICATION_NDJSON))
+      .containsExactly(Map.of("id", 1L), Map.of("id", 2L), Map.of("id", 3L));
+  }
+
+  @Test
+  void decode_exceedsMaxInMemorySize() {
+    decoder.setMaxInMemorySize(20);
+    assertThat(decode("[{\"id\":1},{\"id\":2}]", 3, MediaType.APPLICATION_JSON)).hasSize(2);
+
+    final String large = "[{\"id\":1},{\"name\":\"more than twenty bytes\"}]";
+    assertThatThrownBy(() -> decode(large, 3, MediaType.APPLICATION_JSON))
+      .isInstanceOf(DecodingException.class)
+      .hasCauseInstanceOf(JsonDataException.class);
+
+    // the whole body when decoding to a Mono
+    assertThatThrownBy(() -> decoder.decodeToMono(buffers(large, 3), MAP_TYPE, MediaType.APPLICATION_JSON, null).block())
+      .isInstanceOf(DataBufferLimitException.class);
+  }
+
+  @Test
+  void decode_incomplete() {
+    assertThatThrownBy(() -> decode("[{\"id\":1},{\"id\"", 3, MediaType.APPLICATION_JSON))
+      .isInstanceOf(DecodingException.class);
+  }
+
+  @Test
+  void decodeToMono() {
+    final Object value = decoder.decodeToMono(buffers("{\"id\":1,\"tags\":[\"a\"]}", 3), MAP_TYPE, MediaType.APPLICATION_JSON, null).block();
+    assertThat(value).isEqualTo(Map.of("id", 1L, "tags", List.of("a")));
+  }
+}
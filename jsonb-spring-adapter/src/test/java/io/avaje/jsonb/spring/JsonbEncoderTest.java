@@ -0,0 +1,61 @@
+package io.avaje.jsonb.spring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+
+import io.avaje.jsonb.Jsonb;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class JsonbEncoderTest {
+
+  private static final ResolvableType MAP_TYPE = ResolvableType.forClassWithGenerics(Map.class, String.class, Object.class);
+
+  private final JsonbEncoder encoder = new JsonbEncoder(Jsonb.builder().build());
+
+  private static String content(Flux<DataBuffer> buffers) {
+    return DataBufferUtils.join(buffers)
+      .map(buffer -> {
+        final String content = buffer.toString(StandardCharsets.UTF_8);
+        DataBufferUtils.release(buffer);
+        return content;
+      })
+      .block();
+  }
+
+  private Flux<DataBuffer> encode(Publisher<?> values, MediaType mediaType) {
+    return encoder.encode(values, DefaultDataBufferFactory.sharedInstance, MAP_TYPE, mediaType, null);
+  }
+
+  @Test
+  void encode_flux_asArray() {
+    final Flux<Map<String, Object>> values = Flux.just(Map.of("id", 1), Map.of("id", 2));
+    assertThat(content(encode(values, MediaType.APPLICATION_JSON))).isEqualTo("[{\"id\":1},{\"id\":2}]");
+    assertThat(content(encode(Flux.empty(), MediaType.APPLICATION_JSON))).isEqualTo("[]");
+  }
+
+  @Test
+  void encode_flux_ndjson() {
+    final Flux<Map<String, Object>> values = Flux.just(Map.of("id", 1), Map.of("id", 2));
+    assertThat(encode(values, MediaType.APPLICATION_NDJSON).count().block()).isEqualTo(2);
+    assertThat(content(encode(values, MediaType.APPLICATION_NDJSON))).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+  }
+
+  @Test
+  void encode_mono_largeValue() {
+    final String text = "x".repeat(100_000);
+    final Flux<DataBuffer> buffers = encode(Mono.just(Map.of("text", text, "list", List.of(1, 2))), MediaType.APPLICATION_JSON);
+    assertThat(content(buffers)).startsWith("{\"").hasSize(100_000 + "{\"text\":\"\",\"list\":[1,2]}".length());
+  }
+}
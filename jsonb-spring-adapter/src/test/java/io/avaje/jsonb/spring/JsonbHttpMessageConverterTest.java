@@ -0,0 +1,101 @@
+package io.avaje.jsonb.spring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+
+import io.avaje.jsonb.Jsonb;
+
+class JsonbHttpMessageConverterTest {
+
+  private final JsonbHttpMessageConverter converter = new JsonbHttpMessageConverter(Jsonb.builder().build());
+
+  static final class OutputMessage implements HttpOutputMessage {
+
+    final HttpHeaders headers = new HttpHeaders();
+    final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    @Override
+    public OutputStream getBody() {
+      return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+  }
+
+  private OutputMessage write(Object value) throws Exception {
+    final OutputMessage message = new OutputMessage();
+    converter.write(value, Map.class, MediaType.APPLICATION_JSON, message);
+    return message;
+  }
+
+  private static Map<String, Object> value(int textLength) {
+    return Map.of("text", "x".repeat(textLength));
+  }
+
+  @Test
+  void write_belowThreshold_contentLength() throws Exception {
+    final OutputMessage message = write(value(100));
+    assertThat(message.body.size()).isEqualTo(100 + 11);
+    assertThat(message.headers.getContentLength()).isEqualTo(message.body.size());
+  }
+
+  @Test
+  void write_aboveThreshold_streamed() throws Exception {
+    converter.setContentLengthThreshold(100);
+    final OutputMessage message = write(value(100));
+    assertThat(message.body.toString(StandardCharsets.UTF_8)).isEqualTo("{\"text\":\"" + "x".repeat(100) + "\"}");
+    assertThat(message.headers.getContentLength()).isEqualTo(-1);
+
+    final OutputMessage atThreshold = write(value(89));
+    assertThat(atThreshold.headers.getContentLength()).isEqualTo(100);
+  }
+
+  @Test
+  void write_thresholdLargerThanGeneratorBuffer() throws Exception {
+    converter.setContentLengthThreshold(64 * 1024);
+    final OutputMessage message = write(value(20_000));
+    assertThat(message.body.size()).isEqualTo(20_000 + 11);
+    assertThat(message.headers.getContentLength()).isEqualTo(message.body.size());
+
+    final OutputMessage large = write(value(100_000));
+    assertThat(large.body.size()).isEqualTo(100_000 + 11);
+    assertThat(large.headers.getContentLength()).isEqualTo(-1);
+  }
+
+  @Test
+  void write_zeroThreshold_alwaysStreamed() throws Exception {
+    converter.setContentLengthThreshold(0);
+    assertThat(write(value(1)).headers.getContentLength()).isEqualTo(-1);
+  }
+
+  @Test
+  void read() throws Exception {
+    final HttpInputMessage input = new HttpInputMessage() {
+      @Override
+      public InputStream getBody() {
+        return new ByteArrayInputStream("{\"id\":42}".getBytes(StandardCharsets.UTF_8));
+      }
+
+      @Override
+      public HttpHeaders getHeaders() {
+        return new HttpHeaders();
+      }
+    };
+    assertThat(converter.read(Map.class, null, input)).isEqualTo(Map.of("id", 42L));
+  }
+}
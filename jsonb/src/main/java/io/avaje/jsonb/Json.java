@@ -265,6 +265,52 @@ public @interface Json {
     SubType[] value();
   }
 
+  /**
+   * Declare a json view that is known at compile time such that a dedicated view
+   * adapter is generated for it.
+   * <p>
+   * The generated view adapter uses direct getter calls rather than the method
+   * handles used by views built at runtime. It is used by {@link JsonType#view(String)}
+   * when the requested view DSL matches the declared DSL (ignoring whitespace and
+   * the optional outer parenthesis).
+   * <p>
+   * Nested properties like {@code address(city)} are written using a view for the
+   * nested type.
+   *
+   * <pre>{@code
+   *
+   *   @Json
+   *   @Json.View("id, name, address(city)")
+   *   @Json.View("id, name, contacts(id, email)")
+   *   public class Customer {
+   *    ...
+   *
+   *   // uses the generated view adapter
+   *   JsonView<Customer> view = jsonb.type(Customer.class).view("(id, name, address(city))");
+   *
+   * }</pre>
+   */
+  @Target(TYPE)
+  @Retention(SOURCE)
+  @Repeatable(Views.class)
+  @interface View {
+
+    /**
+     * The view DSL like {@code "id, name, address(city)"}.
+     */
+    String value();
+  }
+
+  /**
+   * Container of all the View's declared on a type.
+   */
+  @Target(TYPE)
+  @Retention(SOURCE)
+  @interface Views {
+
+    View[] value();
+  }
+
   /**
    * Marks a String field as containing raw JSON content.
    */
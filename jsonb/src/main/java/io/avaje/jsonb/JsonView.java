@@ -1,13 +1,17 @@
 package io.avaje.jsonb;
 
 import io.avaje.json.stream.JsonOutput;
+import io.avaje.json.JsonReader;
 import io.avaje.json.JsonWriter;
 
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 
 /**
- * Represents a subset of properties that can be written as json.
+ * Represents a subset of properties that can be written as json or read from json.
  * <p>
  * We can use a "view DSL" to dynamically define which properties to include in the
  * json view.
@@ -27,6 +31,11 @@ import java.io.Writer;
  *   (id, name, billingAddress(street, suburb), shippingAddress(*), contacts(email,lastName, firstName))
  *
  * }</pre>
+ * <p>
+ * When reading json via a view the properties that are not included in the view are
+ * skipped (without being materialised) and nested views are applied to the nested
+ * objects. This can be used for partial updates or to only read the needed properties
+ * of large payloads.
  *
  * @see JsonType#view(String)
  */
@@ -47,6 +56,47 @@ public interface JsonView<T> {
    */
   byte[] toJsonBytes(T value);
 
+  /**
+   * Write the json content directly into the given array starting at the offset.
+   * <p>
+   * Returns the number of bytes written. When the content does not fit this returns
+   * the negative of the number of bytes required, such that the caller can retry
+   * with a larger array (the content of the array after the offset is then undefined).
+   * <p>
+   * The default implementation copies the content of {@link #toJsonBytes(Object)}.
+   */
+  default int toJson(T value, byte[] dest, int offset) {
+    final byte[] content = toJsonBytes(value);
+    if (content.length > dest.length - offset) {
+      return -content.length;
+    }
+    System.arraycopy(content, 0, dest, offset, content.length);
+    return content.length;
+  }
+
+  /**
+   * Write the json content into the given buffer from its position.
+   * <p>
+   * Returns the number of bytes written and advances the position. When the content
+   * does not fit in the remaining space this returns the negative of the number of
+   * bytes required and the position is unchanged.
+   */
+  default int toJson(T value, ByteBuffer dest) {
+    if (dest.hasArray() && dest.arrayOffset() + dest.limit() == dest.array().length) {
+      final int length = toJson(value, dest.array(), dest.arrayOffset() + dest.position());
+      if (length >= 0) {
+        dest.position(dest.position() + length);
+      }
+      return length;
+    }
+    final byte[] content = toJsonBytes(value);
+    if (content.length > dest.remaining()) {
+      return -content.length;
+    }
+    dest.put(content);
+    return content.length;
+  }
+
   /**
    * Write to the given writer.
    */
@@ -66,4 +116,62 @@ public interface JsonView<T> {
    * Write to the given output.
    */
   void toJson(T value, JsonOutput output);
+
+  /**
+   * Read the value from the reader only reading the properties included in the view.
+   * <p>
+   * The default implementation throws UnsupportedOperationException for views that
+   * only support writing.
+   */
+  default T fromJson(JsonReader reader) {
+    throw new UnsupportedOperationException("fromJson not supported by this view");
+  }
+
+  /**
+   * Read the value from the json content only reading the properties included in the view.
+   * <p>
+   * The default implementation reads via {@link #fromJson(JsonReader)} using a reader
+   * from {@link Jsonb#instance()}.
+   */
+  default T fromJson(String content) {
+    try (JsonReader reader = Jsonb.instance().reader(content)) {
+      return fromJson(reader);
+    }
+  }
+
+  /**
+   * Read the value from the json content only reading the properties included in the view.
+   * <p>
+   * The default implementation reads via {@link #fromJson(JsonReader)} using a reader
+   * from {@link Jsonb#instance()}.
+   */
+  default T fromJson(byte[] content) {
+    try (JsonReader reader = Jsonb.instance().reader(content)) {
+      return fromJson(reader);
+    }
+  }
+
+  /**
+   * Read the value from the reader only reading the properties included in the view.
+   * <p>
+   * The default implementation reads via {@link #fromJson(JsonReader)} using a reader
+   * from {@link Jsonb#instance()}.
+   */
+  default T fromJson(Reader reader) {
+    try (JsonReader jsonReader = Jsonb.instance().reader(reader)) {
+      return fromJson(jsonReader);
+    }
+  }
+
+  /**
+   * Read the value from the inputStream only reading the properties included in the view.
+   * <p>
+   * The default implementation reads via {@link #fromJson(JsonReader)} using a reader
+   * from {@link Jsonb#instance()}.
+   */
+  default T fromJson(InputStream inputStream) {
+    try (JsonReader reader = Jsonb.instance().reader(inputStream)) {
+      return fromJson(reader);
+    }
+  }
 }
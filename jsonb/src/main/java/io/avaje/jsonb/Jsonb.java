@@ -5,6 +5,9 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 import io.avaje.json.JsonAdapter;
@@ -12,6 +15,7 @@ import io.avaje.json.JsonReader;
 import io.avaje.json.JsonWriter;
 import io.avaje.json.PropertyNames;
 import io.avaje.json.stream.BufferRecycleStrategy;
+import io.avaje.json.stream.JsonAsyncReader;
 import io.avaje.json.stream.JsonOutput;
 import io.avaje.json.stream.JsonStream;
 import io.avaje.jsonb.core.DefaultBootstrap;
@@ -317,6 +321,15 @@ public interface Jsonb {
    */
   JsonReader reader(InputStream inputStream);
 
+  /**
+   * Return a non-blocking JsonAsyncReader that is fed json content as it arrives.
+   *
+   * @param arrayElements When true the elements of a top level array are returned as the values
+   * @param maxValueSize  The maximum number of bytes buffered for a single value, -1 for unlimited
+   * @see JsonStream#asyncReader(boolean, int)
+   */
+  JsonAsyncReader asyncReader(boolean arrayElements, int maxValueSize);
+
   /**
    * Return the JsonWriter used to write json to the given writer.
    */
@@ -392,6 +405,33 @@ public interface Jsonb {
    */
   boolean hasAdapter(Type type);
 
+  /**
+   * Return the statistics for the cache of json views.
+   *
+   * @see Builder#viewCacheSize(int)
+   */
+  ViewCacheStats viewCacheStats();
+
+  /**
+   * Return the names of the classes that adapters have been built for (sorted).
+   * <p>
+   * This can be used in a training run to record the types that are used by the
+   * application such that they can be pre-warmed on startup via {@link Builder#prewarm(Collection)}.
+   *
+   * <pre>{@code
+   *
+   *   // at the end of a training run
+   *   Files.write(path, jsonb.adapterClassNames());
+   *
+   *   // on startup
+   *   Jsonb jsonb = Jsonb.builder()
+   *     .prewarm(Files.readAllLines(path))
+   *     .build();
+   *
+   * }</pre>
+   */
+  List<String> adapterClassNames();
+
   /**
    * Build the Jsonb instance adding JsonAdapter, Factory or AdapterBuilder.
    */
@@ -439,6 +479,48 @@ public interface Jsonb {
      */
     Builder bufferRecycling(BufferRecycleStrategy strategy);
 
+    /**
+     * Set the maximum number of json views to cache. Defaults to 1000.
+     * <p>
+     * Views are cached by type and view DSL where the DSL is normalised (whitespace
+     * and the outer parenthesis are ignored). When the view DSL is supplied by clients
+     * (e.g. via a {@code fields} query parameter) the bound protects against unlimited
+     * growth with views that have not been recently used being evicted. Setting this to 0
+     * disables caching of views.
+     *
+     * @param maxViews The maximum number of views to cache
+     */
+    Builder viewCacheSize(int maxViews);
+
+    /**
+     * Build the adapters for the given types in the background when the Jsonb is built.
+     * <p>
+     * This moves the cost of building adapters (and the types they depend on) away from
+     * the first requests that use them.
+     *
+     * @see #prewarmExecutor(Executor)
+     */
+    Builder prewarm(Type... types);
+
+    /**
+     * Build the adapters for the given class names in the background when the Jsonb is built.
+     * <p>
+     * This is expected to be used with the class names recorded by {@link Jsonb#adapterClassNames()}
+     * in a training run. Class names that can not be loaded are ignored.
+     */
+    Builder prewarm(Collection<String> classNames);
+
+    /**
+     * Build the adapters for all the types with generated adapters in the background
+     * when the Jsonb is built.
+     */
+    Builder prewarmAll();
+
+    /**
+     * Set the executor used to pre-warm adapters. Defaults to the common ForkJoinPool.
+     */
+    Builder prewarmExecutor(Executor executor);
+
     /**
      * Explicitly set the adapter to use.
      *
@@ -487,6 +569,37 @@ public interface Jsonb {
     Jsonb build();
   }
 
+  /**
+   * Statistics for the cache of json views.
+   */
+  interface ViewCacheStats {
+
+    /**
+     * Return the maximum number of views that are cached.
+     */
+    int maxSize();
+
+    /**
+     * Return the current number of views in the cache.
+     */
+    int size();
+
+    /**
+     * Return the number of times a view was found in the cache.
+     */
+    long hitCount();
+
+    /**
+     * Return the number of times a view was not in the cache and was built.
+     */
+    long missCount();
+
+    /**
+     * Return the number of views that have been evicted from the cache.
+     */
+    long evictionCount();
+  }
+
   /**
    * Function to build a JsonAdapter that needs Jsonb.
    */
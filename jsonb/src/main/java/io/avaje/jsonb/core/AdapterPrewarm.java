@@ -0,0 +1,59 @@
+package io.avaje.jsonb.core;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.concurrent.Executor;
+
+/**
+ * Builds adapters in the background such that the first use of the types does not
+ * pay the cost of building the adapters.
+ * <p>
+ * Failures are ignored here as they will be reported when the type is actually used.
+ */
+final class AdapterPrewarm {
+
+  private final DJsonb jsonb;
+  private final Executor executor;
+
+  AdapterPrewarm(DJsonb jsonb, Executor executor) {
+    this.jsonb = jsonb;
+    this.executor = executor;
+  }
+
+  /**
+   * Build the adapters for the given types.
+   */
+  void types(Collection<Type> types) {
+    for (Type type : types) {
+      executor.execute(() -> build(type));
+    }
+  }
+
+  /**
+   * Load the classes by name and build their adapters.
+   */
+  void classNames(Collection<String> classNames, ClassLoader classLoader) {
+    for (String className : classNames) {
+      executor.execute(() -> load(className, classLoader));
+    }
+  }
+
+  private void load(String className, ClassLoader classLoader) {
+    final Class<?> cls;
+    try {
+      cls = Class.forName(className, false, classLoader);
+    } catch (ClassNotFoundException | LinkageError e) {
+      // the class was removed or renamed since the class names were recorded
+      return;
+    }
+    build(cls);
+  }
+
+  private void build(Type type) {
+    try {
+      jsonb.type(type);
+    } catch (RuntimeException e) {
+      // reported when the type is used
+    }
+  }
+}
@@ -315,7 +315,21 @@ final class BasicTypeAdapters {
 
   @SuppressWarnings("rawtypes")
   private static final class ObjectJsonAdapter implements JsonAdapter<Object> {
+
+    /** The type used to look up the adapter for the runtime class of a value. */
+    private static final ClassValue<Type> JSON_TYPE = new ClassValue<>() {
+      @Override
+      protected Type computeValue(Class<?> valueClass) {
+        return toJsonType(valueClass);
+      }
+    };
+
+    /** Number of runtime classes cached, must be a power of 2. */
+    private static final int CACHE_SIZE = 8;
+
     private final Jsonb jsonb;
+    /** Inline cache of runtime class to adapter, slots are replaced on collision. */
+    private final CachedAdapter[] cache = new CachedAdapter[CACHE_SIZE];
     private final JsonAdapter<List> listAdapter;
     private final JsonAdapter<Map> mapAdapter;
     private final JsonAdapter<String> stringAdapter;
@@ -359,18 +373,24 @@ final class BasicTypeAdapters {
     @SuppressWarnings("unchecked")
     public void toJson(JsonWriter writer, Object value) {
       final Class<?> valueClass = value.getClass();
-      if (valueClass == Object.class) {
+      final int slot = valueClass.hashCode() & (CACHE_SIZE - 1);
+      final CachedAdapter cached = cache[slot];
+      if (cached != null && cached.valueClass == valueClass) {
+        cached.adapter.toJson(writer, value);
+      } else if (valueClass == Object.class) {
         writer.beginObject();
         writer.endObject();
       } else if (value instanceof Optional) {
         final var op = (Optional<Object>) value;
         op.ifPresentOrElse(v -> toJson(writer, v), writer::nullValue);
       } else {
-        this.jsonb.adapter(toJsonType(valueClass)).toJson(writer, value);
+        final JsonAdapter<Object> adapter = jsonb.adapter(JSON_TYPE.get(valueClass));
+        cache[slot] = new CachedAdapter(valueClass, adapter);
+        adapter.toJson(writer, value);
       }
     }
 
-    private Type toJsonType(Class<?> valueClass) {
+    private static Type toJsonType(Class<?> valueClass) {
       if (Map.class.isAssignableFrom(valueClass)) {
         return Map.class;
       } else {
@@ -382,6 +402,17 @@ final class BasicTypeAdapters {
     public String toString() {
       return "JsonAdapter(Object)";
     }
+
+    private static final class CachedAdapter {
+
+      private final Class<?> valueClass;
+      private final JsonAdapter<Object> adapter;
+
+      CachedAdapter(Class<?> valueClass, JsonAdapter<Object> adapter) {
+        this.valueClass = valueClass;
+        this.adapter = adapter;
+      }
+    }
   }
 
   private static class EnumJsonAdapter<T extends Enum<T>> implements JsonAdapter<T> {
@@ -60,6 +60,20 @@ final class CoreAdapterBuilder {
     return (JsonAdapter<T>) adapterCache.get(cacheKey);
   }
 
+  /**
+   * Return the sorted names of the classes with cached adapters.
+   */
+  List<String> classNames() {
+    final List<String> names = new ArrayList<>();
+    for (Object key : adapterCache.keySet()) {
+      if (key instanceof Class && !((Class<?>) key).isPrimitive()) {
+        names.add(((Class<?>) key).getName());
+      }
+    }
+    Collections.sort(names);
+    return names;
+  }
+
   /**
    * Check if an adapter exists or can be created for the given cache key.
    * If an adapter can be created, it will be cached for subsequent use.
@@ -6,35 +6,47 @@ import io.avaje.json.stream.*;
 import io.avaje.json.view.ViewBuilder;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Reader;
 import java.io.Writer;
 import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles.Lookup;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 final class CoreViewBuilder implements ViewBuilder {
 
   private final Deque<Items> stack = new ArrayDeque<>();
   private final ViewDsl viewDsl;
   private final Names names;
+  /** Compile (or return the already compiled) accessor for the method handles. */
+  private final Map<MethodHandle, Supplier<Function<Object, Object>>> getters;
   private Items current;
   private Element resultElement;
 
   CoreViewBuilder(ViewDsl viewDsl) {
     this.viewDsl = viewDsl;
     this.names = new Names();
+    this.getters = new IdentityHashMap<>();
   }
 
-  private CoreViewBuilder(ViewDsl viewDsl, Names names) {
+  private CoreViewBuilder(ViewDsl viewDsl, Names names, Map<MethodHandle, Supplier<Function<Object, Object>>> getters) {
     this.viewDsl = viewDsl;
     this.names = names;
+    this.getters = getters;
   }
 
   @Override
   public MethodHandle method(Class<?> cls, String methodName, Class<?> returnType) {
     try {
-      return ExtensionLoader.lookupLookup(cls).findVirtual(cls, methodName, MethodType.methodType(returnType));
+      final Lookup lookup = ExtensionLoader.lookupLookup(cls);
+      final MethodHandle handle = lookup.findVirtual(cls, methodName, MethodType.methodType(returnType));
+      getters.put(handle, () -> ViewAccessor.method(lookup, cls, methodName, handle));
+      return handle;
     } catch (Exception e) {
       throw new JsonException(e);
     }
@@ -50,8 +62,19 @@ final class CoreViewBuilder implements ViewBuilder {
     }
   }
 
+  /**
+   * Return the accessor to use for the given method handle of a property included in the view.
+   */
+  private Function<Object, Object> accessor(MethodHandle handle) {
+    if (handle == null) {
+      return null;
+    }
+    final var getter = getters.get(handle);
+    return getter != null ? getter.get() : ViewAccessor.of(handle);
+  }
+
   private void push(String name, MethodHandle mh) {
-    current = new Items(names, name, mh);
+    current = new Items(names, name, accessor(mh));
     stack.push(current);
   }
 
@@ -74,7 +97,7 @@ final class CoreViewBuilder implements ViewBuilder {
         adapter.viewBuild().build(this, name, methodHandle);
         viewDsl.pop();
       } else {
-        current.add(new Scalar(names.add(name), adapter, methodHandle));
+        current.add(new Scalar(names.add(name), adapter, accessor(methodHandle)));
       }
     }
   }
@@ -92,7 +115,7 @@ final class CoreViewBuilder implements ViewBuilder {
   @Override
   public void addArray(String name, JsonAdapter<?> adapter, MethodHandle methodHandle) {
     try {
-      CoreViewBuilder nested = new CoreViewBuilder(viewDsl, names);
+      CoreViewBuilder nested = new CoreViewBuilder(viewDsl, names, getters);
       adapter.viewBuild().build(nested);
       JsonView<Object> nestedView = nested.build();
       if (name == null) {
@@ -101,15 +124,26 @@ final class CoreViewBuilder implements ViewBuilder {
         }
         resultElement = new CollectionElement(nestedView);
       } else {
-        current.add(new NestedCollection(nestedView, names.add(name), methodHandle));
+        current.add(new NestedCollection(nestedView, names.add(name), accessor(methodHandle)));
       }
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
   }
 
-  <T> JsonView<T> build(DJsonb jsonb) {
-    return new DView<>(jsonb, resultElement, jsonb.properties(names.properties()));
+  /**
+   * Build the top level view with the adapter used to read the view.
+   */
+  <T> JsonView<T> build(DJsonb jsonb, JsonAdapter<T> adapter) {
+    names.properties = jsonb.properties(names.keys());
+    return new DView<>(jsonb, resultElement, adapter, viewDsl.top());
+  }
+
+  /**
+   * Return a view that uses a pre-built (generated) view adapter.
+   */
+  static <T> JsonView<T> adapterView(DJsonb jsonb, JsonAdapter<T> viewAdapter, JsonAdapter<T> adapter, ViewDsl viewDsl) {
+    return new DView<>(jsonb, new AdapterElement(viewAdapter), adapter, viewDsl.top());
   }
 
   /**
@@ -128,13 +162,15 @@ final class CoreViewBuilder implements ViewBuilder {
 
     private final List<String> names = new ArrayList<>();
     private int namePosition = -1;
+    /** The names used by all the objects of the view, set when the view is built. */
+    private PropertyNames properties;
 
     int add(String name) {
       names.add(name);
       return ++namePosition;
     }
 
-    String[] properties() {
+    String[] keys() {
       return names.toArray(new String[0]);
     }
   }
@@ -142,13 +178,13 @@ final class CoreViewBuilder implements ViewBuilder {
   static final class Items {
     private final Names names;
     private final String name;
-    private final MethodHandle methodHandle;
+    private final Function<Object, Object> accessor;
     private final List<Element> items = new ArrayList<>();
 
-    Items(Names names, String name, MethodHandle mh) {
+    Items(Names names, String name, Function<Object, Object> accessor) {
       this.names = names;
       this.name = name;
-      this.methodHandle = mh;
+      this.accessor = accessor;
     }
 
     void add(Element element) {
@@ -157,9 +193,9 @@ final class CoreViewBuilder implements ViewBuilder {
 
     Element build() {
       if (name == null) {
-        return new ObjectElement(items);
+        return new ObjectElement(items, names);
       } else {
-        return new NestedObject(items, names.add(name), methodHandle);
+        return new NestedObject(items, names, names.add(name), accessor);
       }
     }
   }
@@ -167,16 +203,18 @@ final class CoreViewBuilder implements ViewBuilder {
   private static final class DView<T> implements JsonView<T> {
 
     private final DJsonb jsonb;
-    private final PropertyNames properties;
     private final Element element;
+    private final JsonAdapter<T> adapter;
+    private final ViewDsl.Entry readView;
 
     /**
      * Create top level view.
      */
-    DView(DJsonb jsonb, Element element, PropertyNames properties) {
+    DView(DJsonb jsonb, Element element, JsonAdapter<T> adapter, ViewDsl.Entry readView) {
       this.jsonb = jsonb;
       this.element = element;
-      this.properties = properties;
+      this.adapter = adapter;
+      this.readView = readView;
     }
 
     /**
@@ -185,7 +223,41 @@ final class CoreViewBuilder implements ViewBuilder {
     DView(Element element) {
       this.element = element;
       this.jsonb = null;
-      this.properties = null;
+      this.adapter = null;
+      this.readView = null;
+    }
+
+    @Override
+    public T fromJson(JsonReader reader) {
+      return adapter.fromJson(new ViewJsonReader(reader, readView));
+    }
+
+    @Override
+    public T fromJson(String content) {
+      try (JsonReader reader = jsonb.reader(content)) {
+        return fromJson(reader);
+      }
+    }
+
+    @Override
+    public T fromJson(byte[] content) {
+      try (JsonReader reader = jsonb.reader(content)) {
+        return fromJson(reader);
+      }
+    }
+
+    @Override
+    public T fromJson(Reader content) {
+      try (JsonReader reader = jsonb.reader(content)) {
+        return fromJson(reader);
+      }
+    }
+
+    @Override
+    public T fromJson(InputStream inputStream) {
+      try (JsonReader reader = jsonb.reader(inputStream)) {
+        return fromJson(reader);
+      }
     }
 
     @Override
@@ -214,10 +286,15 @@ final class CoreViewBuilder implements ViewBuilder {
     }
 
     @Override
-    public void toJson(T value, JsonWriter writer) {
-      if (properties != null) {
-        writer.allNames(properties);
+    public int toJson(T value, byte[] dest, int offset) {
+      try (ArrayJsonWriter writer = jsonb.writer(dest, offset)) {
+        toJson(value, writer);
+        return writer.result();
       }
+    }
+
+    @Override
+    public void toJson(T value, JsonWriter writer) {
       try {
         element.write(writer, value);
       } catch (IOException e) {
@@ -252,37 +329,50 @@ final class CoreViewBuilder implements ViewBuilder {
 
     private final int namePosition;
     private final JsonAdapter adapter;
-    private final MethodHandle methodHandle;
+    private final Function<Object, Object> accessor;
 
-    Scalar(int namePosition, JsonAdapter adapter, MethodHandle methodHandle) {
+    Scalar(int namePosition, JsonAdapter adapter, Function<Object, Object> accessor) {
       this.namePosition = namePosition;
       this.adapter = adapter;
-      this.methodHandle = methodHandle;
+      this.accessor = accessor;
     }
 
     @Override
     public void write(JsonWriter writer, Object object) {
-      try {
-        writer.name(namePosition);
-        adapter.toJson(writer, methodHandle.invoke(object));
-      } catch (Throwable e) {
-        throw JsonException.of(e);
-      }
+      writer.name(namePosition);
+      adapter.toJson(writer, accessor.apply(object));
+    }
+  }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static final class AdapterElement implements Element {
+
+    private final JsonAdapter adapter;
+
+    AdapterElement(JsonAdapter adapter) {
+      this.adapter = adapter;
+    }
+
+    @Override
+    public void write(JsonWriter writer, Object object) {
+      adapter.toJson(writer, object);
     }
   }
 
   private static final class ObjectElement implements Element {
 
+    private final Names names;
     private final Element[] elements;
 
-    ObjectElement(List<Element> elements) {
+    ObjectElement(List<Element> elements, Names names) {
+      this.names = names;
       this.elements = elements.toArray(new Element[0]);
     }
 
     @Override
     public void write(JsonWriter writer, Object object) {
       try {
-        writer.beginObject();
+        writer.beginObject(names.properties);
         for (final Element element : elements) {
           element.write(writer, object);
         }
@@ -295,13 +385,15 @@ final class CoreViewBuilder implements ViewBuilder {
 
   private static final class NestedObject implements Element {
 
+    private final Names names;
     private final int namePosition;
-    private final MethodHandle methodHandle;
+    private final Function<Object, Object> accessor;
     private final Element[] elements;
 
-    NestedObject(List<Element> elements, int namePosition, MethodHandle methodHandle) {
+    NestedObject(List<Element> elements, Names names, int namePosition, Function<Object, Object> accessor) {
+      this.names = names;
       this.namePosition = namePosition;
-      this.methodHandle = methodHandle;
+      this.accessor = accessor;
       this.elements = elements.toArray(new Element[0]);
     }
 
@@ -309,8 +401,8 @@ final class CoreViewBuilder implements ViewBuilder {
     public void write(JsonWriter writer, Object object) {
       try {
         writer.name(namePosition);
-        writer.beginObject();
-        final Object nested = methodHandle.invoke(object);
+        writer.beginObject(names.properties);
+        final Object nested = accessor.apply(object);
         for (final Element element : elements) {
           element.write(writer, nested);
         }
@@ -350,19 +442,19 @@ final class CoreViewBuilder implements ViewBuilder {
 
     private final JsonView child;
     private final int namePosition;
-    private final MethodHandle methodHandle;
+    private final Function<Object, Object> accessor;
 
-    NestedCollection(JsonView child, int namePosition, MethodHandle methodHandle) {
+    NestedCollection(JsonView child, int namePosition, Function<Object, Object> accessor) {
       this.child = child;
       this.namePosition = namePosition;
-      this.methodHandle = methodHandle;
+      this.accessor = accessor;
     }
 
     @Override
     public void write(JsonWriter writer, Object object) {
       try {
         writer.name(namePosition);
-        final Collection<?> collection = (Collection<?>) methodHandle.invoke(object);
+        final Collection<?> collection = (Collection<?>) accessor.apply(object);
         if (collection.isEmpty()) {
           writer.emptyArray();
         } else {
@@ -91,6 +91,14 @@ class DJsonType<T> implements JsonType<T> {
     }
   }
 
+  @Override
+  public final int toJson(T value, byte[] dest, int offset) {
+    try (ArrayJsonWriter writer = jsonb.writer(dest, offset)) {
+      toJson(value, writer);
+      return writer.result();
+    }
+  }
+
   @Override
   public final void toJson(T value, JsonWriter writer) {
     try {
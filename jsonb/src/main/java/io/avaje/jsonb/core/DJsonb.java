@@ -11,22 +11,29 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 
 import io.avaje.json.JsonAdapter;
 import io.avaje.json.JsonReader;
 import io.avaje.json.JsonWriter;
 import io.avaje.json.PropertyNames;
+import io.avaje.json.stream.ArrayJsonWriter;
+import io.avaje.json.stream.JsonAsyncReader;
 import io.avaje.json.stream.BufferRecycleStrategy;
 import io.avaje.json.stream.BufferedJsonWriter;
 import io.avaje.json.stream.BytesJsonWriter;
 import io.avaje.json.stream.JsonOutput;
 import io.avaje.json.stream.JsonStream;
+import io.avaje.json.view.ViewBuilderAware;
 import io.avaje.jsonb.AdapterFactory;
 import io.avaje.jsonb.JsonType;
 import io.avaje.jsonb.JsonView;
@@ -42,7 +49,7 @@ final class DJsonb implements Jsonb {
   private final CoreAdapterBuilder builder;
   private final JsonStream io;
   private final Map<Type, DJsonType<?>> typeCache = new ConcurrentHashMap<>();
-  private final ConcurrentHashMap<ViewKey, JsonView<?>> viewCache = new ConcurrentHashMap<>();
+  private final ViewCache viewCache;
   private final JsonType<Object> anyType;
 
   DJsonb(
@@ -54,8 +61,10 @@ final class DJsonb implements Jsonb {
       boolean failOnNullPrimitives,
       boolean mathAsString,
       boolean calendarAsString,
-      BufferRecycleStrategy strategy) {
+      BufferRecycleStrategy strategy,
+      int viewCacheSize) {
 
+    this.viewCache = new ViewCache(viewCacheSize);
     this.builder = new CoreAdapterBuilder(this, factories, mathAsString, calendarAsString);
     if (adapter != null) {
       this.io = adapter;
@@ -124,6 +133,10 @@ final class DJsonb implements Jsonb {
     return io.bufferedWriterAsBytes();
   }
 
+  ArrayJsonWriter writer(byte[] dest, int offset) {
+    return io.writer(dest, offset);
+  }
+
   @Override
   public JsonWriter writer(Writer writer) {
     return io.writer(writer);
@@ -159,6 +172,11 @@ final class DJsonb implements Jsonb {
     return io.reader(json);
   }
 
+  @Override
+  public JsonAsyncReader asyncReader(boolean arrayElements, int maxValueSize) {
+    return io.asyncReader(arrayElements, maxValueSize);
+  }
+
   @Override
   public <T> JsonType<T> type(Class<T> cls) {
     return typeWithCache(cls);
@@ -177,7 +195,14 @@ final class DJsonb implements Jsonb {
 
   @SuppressWarnings("unchecked")
   private <T> JsonType<T> typeWithCache(Type type) {
-    return (JsonType<T>) typeCache.computeIfAbsent(type, _type -> new DJsonType<>(this, _type, adapter(_type)));
+    final DJsonType<?> jsonType = typeCache.get(type);
+    if (jsonType != null) {
+      return (JsonType<T>) jsonType;
+    }
+    // build outside the map as building the adapter can request other types
+    final DJsonType<?> newType = new DJsonType<>(this, type, adapter(type));
+    final DJsonType<?> existing = typeCache.putIfAbsent(type, newType);
+    return (JsonType<T>) (existing != null ? existing : newType);
   }
 
   @Override
@@ -188,8 +213,12 @@ final class DJsonb implements Jsonb {
 
   @Override
   public <T> JsonAdapter<T> adapter(Class<T> cls) {
+    JsonAdapter<T> result = builder.get(cls);
+    if (result != null) {
+      return result;
+    }
     Type cacheKey = canonicalizeClass(requireNonNull(cls));
-    JsonAdapter<T> result = builder.get(cacheKey);
+    result = builder.get(cacheKey);
     if (result != null) {
       return result;
     }
@@ -198,6 +227,13 @@ final class DJsonb implements Jsonb {
 
   @Override
   public <T> JsonAdapter<T> adapter(Type type) {
+    if (!(type instanceof WildcardType)) {
+      // fast path without canonicalize, the keys compare equal to non-canonical types
+      JsonAdapter<T> result = builder.get(requireNonNull(type));
+      if (result != null) {
+        return result;
+      }
+    }
     type = removeSubtypeWildcard(canonicalize(requireNonNull(type)));
     Object cacheKey = type;
     JsonAdapter<T> result = builder.get(cacheKey);
@@ -228,14 +264,30 @@ final class DJsonb implements Jsonb {
     return new ObjectJsonReader(value);
   }
 
+  @Override
+  public ViewCacheStats viewCacheStats() {
+    return viewCache;
+  }
+
+  @Override
+  public List<String> adapterClassNames() {
+    return builder.classNames();
+  }
+
   @SuppressWarnings("unchecked")
   <T> JsonView<T> buildView(final String dsl, final JsonAdapter<T> adapter, final Type type) {
-    final ViewKey key = new ViewKey(dsl, type);
-    return (JsonView<T>) viewCache.computeIfAbsent(key, o -> {
+    final ViewKey key = new ViewKey(ViewBuilderAware.normalise(dsl), type);
+    return (JsonView<T>) viewCache.get(key, o -> {
       try {
-        CoreViewBuilder viewBuilder = new CoreViewBuilder(ViewDsl.parse(dsl));
-        adapter.viewBuild().build(viewBuilder);
-        return viewBuilder.build(this);
+        final var viewBuild = adapter.viewBuild();
+        final var viewDsl = ViewDsl.parse(dsl);
+        final var viewAdapter = (JsonAdapter<T>) viewBuild.viewAdapter(key.dsl);
+        if (viewAdapter != null) {
+          return CoreViewBuilder.adapterView(this, viewAdapter, adapter, viewDsl);
+        }
+        CoreViewBuilder viewBuilder = new CoreViewBuilder(viewDsl);
+        viewBuild.build(viewBuilder);
+        return viewBuilder.build(this, adapter);
       } catch (Exception e) {
         throw new IllegalStateException(e);
       }
@@ -245,10 +297,12 @@ final class DJsonb implements Jsonb {
   static final class ViewKey {
     private final String dsl;
     private final Type type;
+    private final int hash;
 
     ViewKey(String dsl, Type type) {
       this.dsl = dsl;
       this.type = type;
+      this.hash = 31 * dsl.hashCode() + type.hashCode();
     }
 
     @Override
@@ -261,7 +315,7 @@ final class DJsonb implements Jsonb {
 
     @Override
     public int hashCode() {
-      return Objects.hash(dsl, type);
+      return hash;
     }
   }
 
@@ -270,6 +324,7 @@ final class DJsonb implements Jsonb {
    */
   static final class DBuilder implements Jsonb.Builder {
 
+    static final int DEFAULT_VIEW_CACHE_SIZE = 1000;
     static final Jsonb DEFAULT = Jsonb.builder().build();
 
     private final List<AdapterFactory> factories = new ArrayList<>();
@@ -281,6 +336,11 @@ final class DJsonb implements Jsonb {
     private boolean serializeEmpty = true;
     private JsonStream adapter;
     private BufferRecycleStrategy strategy = HYBRID_POOL;
+    private int viewCacheSize = DEFAULT_VIEW_CACHE_SIZE;
+    private final List<Type> prewarmTypes = new ArrayList<>();
+    private final List<String> prewarmClassNames = new ArrayList<>();
+    private boolean prewarmAll;
+    private Executor prewarmExecutor = ForkJoinPool.commonPool();
     private ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
 
     @Override
@@ -325,6 +385,36 @@ final class DJsonb implements Jsonb {
       return this;
     }
 
+    @Override
+    public Builder viewCacheSize(int maxViews) {
+      this.viewCacheSize = maxViews;
+      return this;
+    }
+
+    @Override
+    public Builder prewarm(Type... types) {
+      Collections.addAll(prewarmTypes, types);
+      return this;
+    }
+
+    @Override
+    public Builder prewarm(Collection<String> classNames) {
+      prewarmClassNames.addAll(classNames);
+      return this;
+    }
+
+    @Override
+    public Builder prewarmAll() {
+      this.prewarmAll = true;
+      return this;
+    }
+
+    @Override
+    public Builder prewarmExecutor(Executor executor) {
+      this.prewarmExecutor = requireNonNull(executor);
+      return this;
+    }
+
     @Override
     public Builder adapter(JsonStream streamAdapter) {
       this.adapter = streamAdapter;
@@ -381,7 +471,22 @@ final class DJsonb implements Jsonb {
         return DEFAULT;
       }
       registerComponents();
-      return new DJsonb(adapter, factories, serializeNulls, serializeEmpty, failOnUnknown, failOnNullPrimitives, mathTypesAsString, calendarAsString, strategy);
+      final var jsonb = new DJsonb(adapter, factories, serializeNulls, serializeEmpty, failOnUnknown, failOnNullPrimitives, mathTypesAsString, calendarAsString, strategy, viewCacheSize);
+      prewarm(jsonb);
+      return jsonb;
+    }
+
+    private void prewarm(DJsonb jsonb) {
+      final var prewarm = new AdapterPrewarm(jsonb, prewarmExecutor);
+      if (prewarmAll) {
+        for (GeneratedComponent component : ExtensionLoader.generatedComponents()) {
+          prewarm.classNames(component.typeNames(), component.getClass().getClassLoader());
+        }
+      }
+      if (!prewarmClassNames.isEmpty()) {
+        prewarm.classNames(prewarmClassNames, classLoader != null ? classLoader : DJsonb.class.getClassLoader());
+      }
+      prewarm.types(prewarmTypes);
     }
 
     private boolean hasCustomizations() {
@@ -394,7 +499,11 @@ final class DJsonb implements Jsonb {
         || calendarAsString
         || serializeNulls
         || !serializeEmpty
-        || HYBRID_POOL != strategy;
+        || HYBRID_POOL != strategy
+        || viewCacheSize != DEFAULT_VIEW_CACHE_SIZE
+        || prewarmAll
+        || !prewarmTypes.isEmpty()
+        || !prewarmClassNames.isEmpty();
     }
 
   static <T> AdapterFactory newAdapterFactory(Type type, JsonAdapter<T> jsonAdapter) {
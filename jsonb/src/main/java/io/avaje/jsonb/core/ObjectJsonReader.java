@@ -2,6 +2,7 @@ package io.avaje.jsonb.core;
 
 import io.avaje.json.JsonReader;
 import io.avaje.json.PropertyNames;
+import io.avaje.json.core.JsonNumbers;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -137,6 +138,17 @@ final class ObjectJsonReader implements JsonReader {
     return readString();
   }
 
+  @Override
+  public Number readNumber() {
+    if (currentValue instanceof Number) {
+      return (Number) currentValue;
+    }
+    if (currentValue instanceof String) {
+      return JsonNumbers.of((String) currentValue);
+    }
+    return JsonReader.super.readNumber();
+  }
+
   @Override
   public BigDecimal readDecimal() {
     if (currentValue instanceof BigDecimal) {
@@ -32,9 +32,9 @@ final class StreamAdapter<T> implements DJsonClosable<Stream<T>>, JsonAdapter<St
         });
         writer.writeNewLine();
       } else {
-        writer.beginArray();
+        writer.beginStream();
         stream.forEach(bean -> elementAdapter.toJson(writer, bean));
-        writer.endArray();
+        writer.endStream();
       }
     }
   }
@@ -283,6 +283,8 @@ public final class Util {
     private final Type ownerType;
     private final Type rawType;
     public final Type[] typeArguments;
+    /** Precomputed as these are used as cache keys. */
+    private final int hash;
 
     ParameterizedTypeImpl(Type ownerType, Type rawType, Type... typeArguments) {
       // Require an owner type if the raw type needs it.
@@ -298,6 +300,7 @@ public final class Util {
         checkNotPrimitive(this.typeArguments[t]);
         this.typeArguments[t] = canonicalize(this.typeArguments[t]);
       }
+      this.hash = Arrays.hashCode(this.typeArguments) ^ this.rawType.hashCode() ^ hashCodeOrZero(this.ownerType);
     }
 
     @Override
@@ -317,12 +320,18 @@ public final class Util {
 
     @Override
     public boolean equals(Object other) {
+      if (other == this) {
+        return true;
+      }
+      if (other instanceof ParameterizedTypeImpl && hash != other.hashCode()) {
+        return false;
+      }
       return other instanceof ParameterizedType && Util.equals(this, (ParameterizedType) other);
     }
 
     @Override
     public int hashCode() {
-      return Arrays.hashCode(typeArguments) ^ rawType.hashCode() ^ hashCodeOrZero(ownerType);
+      return hash;
     }
 
     @Override
@@ -0,0 +1,85 @@
+package io.avaje.jsonb.core;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.avaje.json.JsonException;
+
+/**
+ * Creates the accessors used by views built at runtime.
+ * <p>
+ * Getter methods are compiled via LambdaMetafactory which spins a hidden class
+ * per accessor that invokes the getter directly. The call sites that invoke the
+ * accessors are shared by all the properties of all views, so they are megamorphic
+ * and the accessor is not inlined into them. Each call is an interface dispatch to
+ * a class that calls the getter directly, which is cheaper than invoking a
+ * non-constant MethodHandle. When the getter can not be compiled (field access, or
+ * the lookup does not have the required access) the accessor falls back to
+ * invoking the MethodHandle.
+ * <p>
+ * Compiled accessors are cached by class and method name, such that each getter is
+ * compiled once no matter how many views include it.
+ */
+final class ViewAccessor {
+
+  private static final MethodType FACTORY_TYPE = MethodType.methodType(Function.class);
+  private static final MethodType APPLY_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private static final ClassValue<Map<String, Function<Object, Object>>> COMPILED = new ClassValue<>() {
+    @Override
+    protected Map<String, Function<Object, Object>> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  private ViewAccessor() {
+  }
+
+  /**
+   * Return the compiled accessor for the getter method of the class, compiling it on first use.
+   */
+  static Function<Object, Object> method(Lookup lookup, Class<?> cls, String methodName, MethodHandle getter) {
+    return COMPILED.get(cls).computeIfAbsent(methodName, name -> compile(lookup, getter));
+  }
+
+  /**
+   * Compile the getter method handle into a Function falling back to the method handle.
+   */
+  static Function<Object, Object> compile(Lookup lookup, MethodHandle getter) {
+    final CallSite site;
+    try {
+      site = LambdaMetafactory.metafactory(lookup, "apply", FACTORY_TYPE, APPLY_TYPE, getter, getter.type().wrap());
+    } catch (LambdaConversionException | IllegalArgumentException e) {
+      // not a method (like a field getter) or not accessible via the lookup
+      return of(getter);
+    }
+    try {
+      @SuppressWarnings("unchecked")
+      final var function = (Function<Object, Object>) site.getTarget().invokeExact();
+      return function;
+    } catch (Throwable e) {
+      throw JsonException.of(e);
+    }
+  }
+
+  /**
+   * Return an accessor that invokes the method handle.
+   */
+  static Function<Object, Object> of(MethodHandle getter) {
+    final MethodHandle handle = getter.asType(APPLY_TYPE);
+    return bean -> {
+      try {
+        return (Object) handle.invokeExact(bean);
+      } catch (Throwable e) {
+        throw JsonException.of(e);
+      }
+    };
+  }
+}
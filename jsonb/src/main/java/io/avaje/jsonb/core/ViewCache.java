@@ -0,0 +1,131 @@
+package io.avaje.jsonb.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import io.avaje.jsonb.JsonView;
+import io.avaje.jsonb.Jsonb;
+
+/**
+ * Bounded cache of json views keyed by type and normalised view DSL.
+ * <p>
+ * Lookups are lock free. When the cache is full a view that has not been used
+ * recently is evicted using the CLOCK algorithm. A hit only sets a referenced
+ * flag (when not already set) and a miss advances the clock hand past recently
+ * referenced views, clearing their flag, such that eviction is amortised O(1).
+ * <p>
+ * Views are built outside of the map and lock such that building a view can use
+ * the cache (to build views for nested types).
+ */
+final class ViewCache implements Jsonb.ViewCacheStats {
+
+  private final int maxSize;
+  private final ConcurrentHashMap<DJsonb.ViewKey, Entry> map = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  /** The cached entries in clock order (guarded by this). */
+  private final Entry[] clock;
+  private int count;
+  private int hand;
+
+  ViewCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.clock = new Entry[Math.max(maxSize, 0)];
+  }
+
+  /**
+   * Return the view from the cache building it if necessary.
+   */
+  JsonView<?> get(DJsonb.ViewKey key, Function<DJsonb.ViewKey, JsonView<?>> builder) {
+    final Entry entry = map.get(key);
+    if (entry != null) {
+      hits.increment();
+      entry.reference();
+      return entry.view;
+    }
+    misses.increment();
+    final JsonView<?> view = builder.apply(key);
+    if (maxSize <= 0) {
+      return view;
+    }
+    return add(key, view);
+  }
+
+  private synchronized JsonView<?> add(DJsonb.ViewKey key, JsonView<?> view) {
+    final Entry existing = map.get(key);
+    if (existing != null) {
+      // built concurrently by another thread
+      return existing.view;
+    }
+    final Entry entry = new Entry(key, view);
+    if (count < maxSize) {
+      clock[count++] = entry;
+    } else {
+      while (clock[hand].referenced) {
+        clock[hand].referenced = false;
+        hand = (hand + 1) % maxSize;
+      }
+      map.remove(clock[hand].key);
+      evictions.increment();
+      clock[hand] = entry;
+      hand = (hand + 1) % maxSize;
+    }
+    map.put(key, entry);
+    return view;
+  }
+
+  @Override
+  public int maxSize() {
+    return maxSize;
+  }
+
+  @Override
+  public int size() {
+    return map.size();
+  }
+
+  @Override
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  @Override
+  public long missCount() {
+    return misses.sum();
+  }
+
+  @Override
+  public long evictionCount() {
+    return evictions.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "ViewCache{size=" + size() + ", maxSize=" + maxSize + ", hits=" + hitCount()
+      + ", misses=" + missCount() + ", evictions=" + evictionCount() + '}';
+  }
+
+  private static final class Entry {
+
+    private final DJsonb.ViewKey key;
+    private final JsonView<?> view;
+    /**
+     * Set on a hit and cleared by the clock hand. This is deliberately not volatile
+     * as a lost update only affects which view is evicted.
+     */
+    private boolean referenced;
+
+    Entry(DJsonb.ViewKey key, JsonView<?> view) {
+      this.key = key;
+      this.view = view;
+    }
+
+    void reference() {
+      if (!referenced) {
+        referenced = true;
+      }
+    }
+  }
+}
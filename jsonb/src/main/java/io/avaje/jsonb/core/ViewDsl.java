@@ -8,6 +8,7 @@ import java.util.Set;
 final class ViewDsl {
 
   private final Deque<Entry> stack = new ArrayDeque<>();
+  private final Entry top;
   private Entry current;
 
   static ViewDsl parse(String dsl) {
@@ -15,9 +16,17 @@ final class ViewDsl {
   }
 
   ViewDsl(Entry top) {
+    this.top = top;
     this.current = top;
   }
 
+  /**
+   * Return the top level entry of the view.
+   */
+  Entry top() {
+    return top;
+  }
+
   boolean contains(String id) {
     return current.contains(id);
   }
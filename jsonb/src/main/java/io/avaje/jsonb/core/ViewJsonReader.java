@@ -0,0 +1,227 @@
+package io.avaje.jsonb.core;
+
+import io.avaje.json.JsonReader;
+import io.avaje.json.PropertyNames;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * JsonReader that only exposes the properties included in a view.
+ * <p>
+ * Properties outside the view are skipped via the underlying reader such that they
+ * are never seen (or materialised) by the adapters reading the content. A nested
+ * view applies to the object (or the elements of the array) of the property.
+ */
+final class ViewJsonReader implements JsonReader {
+
+  private final JsonReader delegate;
+  /** The view for each open object or array, null meaning include all properties. */
+  private ViewDsl.Entry[] views = new ViewDsl.Entry[8];
+  private boolean[] arrays = new boolean[8];
+  private int depth;
+  /** The view to apply to the next object or array that is started. */
+  private ViewDsl.Entry pending;
+  /** The field name that was read by hasNextField(). */
+  private String nextField;
+
+  ViewJsonReader(JsonReader delegate, ViewDsl.Entry view) {
+    this.delegate = delegate;
+    this.pending = view;
+  }
+
+  private void push(boolean array) {
+    if (depth == views.length) {
+      views = Arrays.copyOf(views, depth * 2);
+      arrays = Arrays.copyOf(arrays, depth * 2);
+    }
+    // the elements of an array use the view of the array
+    final ViewDsl.Entry view = depth > 0 && arrays[depth - 1] ? views[depth - 1] : pending;
+    views[depth] = view;
+    arrays[depth++] = array;
+    pending = null;
+  }
+
+  private void pop() {
+    views[--depth] = null;
+  }
+
+  private ViewDsl.Entry currentView() {
+    return depth == 0 ? null : views[depth - 1];
+  }
+
+  @Override
+  public void beginObject(PropertyNames names) {
+    push(false);
+    delegate.beginObject(names);
+  }
+
+  @Override
+  public void beginObject() {
+    push(false);
+    delegate.beginObject();
+  }
+
+  @Override
+  public void endObject() {
+    pop();
+    delegate.endObject();
+  }
+
+  @Override
+  public void beginArray() {
+    push(true);
+    delegate.beginArray();
+  }
+
+  @Override
+  public void endArray() {
+    pop();
+    delegate.endArray();
+  }
+
+  @Override
+  public boolean hasNextField() {
+    if (nextField != null) {
+      return true;
+    }
+    final ViewDsl.Entry view = currentView();
+    if (view == null) {
+      return delegate.hasNextField();
+    }
+    while (delegate.hasNextField()) {
+      final String name = delegate.nextField();
+      if (view.contains(name)) {
+        nextField = name;
+        return true;
+      }
+      delegate.skipValue();
+    }
+    return false;
+  }
+
+  @Override
+  public String nextField() {
+    final ViewDsl.Entry view = currentView();
+    String name = nextField;
+    if (name == null) {
+      name = delegate.nextField();
+    } else {
+      nextField = null;
+    }
+    pending = view == null ? null : view.nested(name);
+    return name;
+  }
+
+  @Override
+  public void beginStream() {
+    delegate.beginStream();
+  }
+
+  @Override
+  public void endStream() {
+    delegate.endStream();
+  }
+
+  @Override
+  public boolean hasNextStreamElement() {
+    return delegate.hasNextStreamElement();
+  }
+
+  @Override
+  public boolean hasNextElement() {
+    return delegate.hasNextElement();
+  }
+
+  @Override
+  public boolean isNullValue() {
+    return delegate.isNullValue();
+  }
+
+  @Override
+  public boolean readBoolean() {
+    return delegate.readBoolean();
+  }
+
+  @Override
+  public int readInt() {
+    return delegate.readInt();
+  }
+
+  @Override
+  public long readLong() {
+    return delegate.readLong();
+  }
+
+  @Override
+  public double readDouble() {
+    return delegate.readDouble();
+  }
+
+  @Override
+  public BigDecimal readDecimal() {
+    return delegate.readDecimal();
+  }
+
+  @Override
+  public Number readNumber() {
+    return delegate.readNumber();
+  }
+
+  @Override
+  public BigInteger readBigInteger() {
+    return delegate.readBigInteger();
+  }
+
+  @Override
+  public String readString() {
+    return delegate.readString();
+  }
+
+  @Override
+  public byte[] readBinary() {
+    return delegate.readBinary();
+  }
+
+  @Override
+  public String readRaw() {
+    return delegate.readRaw();
+  }
+
+  @Override
+  public String location() {
+    return delegate.location();
+  }
+
+  @Override
+  public Token currentToken() {
+    return delegate.currentToken();
+  }
+
+  @Override
+  public void close() {
+    delegate.close();
+  }
+
+  @Override
+  public void skipValue() {
+    delegate.skipValue();
+  }
+
+  @Override
+  public void unmappedField(String fieldName) {
+    delegate.unmappedField(fieldName);
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> type) {
+    return delegate.unwrap(type);
+  }
+
+  @Override
+  public JsonReader streamArray(boolean streamArray) {
+    delegate.streamArray(streamArray);
+    return this;
+  }
+}
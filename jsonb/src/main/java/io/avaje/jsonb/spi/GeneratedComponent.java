@@ -2,6 +2,7 @@ package io.avaje.jsonb.spi;
 
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodHandles.Lookup;
+import java.util.List;
 
 /** Component interface registers generated JsonAdapters to the Jsonb.Builder */
 @FunctionalInterface
@@ -11,4 +12,9 @@ public interface GeneratedComponent extends JsonbComponent, JsonbExtension {
   default Lookup lookup() {
     return MethodHandles.lookup();
   }
+
+  /** The names of the types with adapters registered by this component, used to pre-warm adapters. */
+  default List<String> typeNames() {
+    return List.of();
+  }
 }
@@ -0,0 +1,78 @@
+package io.avaje.jsonb.core;
+
+import io.avaje.json.JsonReader;
+import io.avaje.json.JsonWriter;
+import io.avaje.json.stream.JsonOutput;
+import io.avaje.jsonb.JsonType;
+import io.avaje.jsonb.JsonView;
+import io.avaje.jsonb.Jsonb;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonViewFromJsonTest {
+
+  private static final String JSON = "{\"id\":42,\"name\":\"hello\"}";
+
+  private final Jsonb jsonb = Jsonb.builder().build();
+  private final JsonType<Object> type = jsonb.type(Object.class);
+
+  /**
+   * A view implementing only the abstract methods.
+   */
+  private final class WriteOnlyView implements JsonView<Object> {
+
+    @Override
+    public String toJson(Object value) {
+      return type.toJson(value);
+    }
+
+    @Override
+    public String toJsonPretty(Object value) {
+      return type.toJsonPretty(value);
+    }
+
+    @Override
+    public byte[] toJsonBytes(Object value) {
+      return type.toJsonBytes(value);
+    }
+
+    @Override
+    public void toJson(Object value, JsonWriter writer) {
+      type.toJson(value, writer);
+    }
+
+    @Override
+    public void toJson(Object value, Writer writer) {
+      type.toJson(value, writer);
+    }
+
+    @Override
+    public void toJson(Object value, OutputStream outputStream) {
+      type.toJson(value, outputStream);
+    }
+
+    @Override
+    public void toJson(Object value, JsonOutput output) {
+      type.toJson(value, output);
+    }
+  }
+
+  @Test
+  void fromJson_writeOnlyView_notSupported() {
+    JsonView<Object> view = new WriteOnlyView();
+    try (JsonReader reader = jsonb.reader(JSON)) {
+      assertThatThrownBy(() -> view.fromJson(reader)).isInstanceOf(UnsupportedOperationException.class);
+    }
+    assertThatThrownBy(() -> view.fromJson(JSON)).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> view.fromJson(JSON.getBytes(StandardCharsets.UTF_8))).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> view.fromJson(new StringReader(JSON))).isInstanceOf(UnsupportedOperationException.class);
+    assertThatThrownBy(() -> view.fromJson(new ByteArrayInputStream(JSON.getBytes(StandardCharsets.UTF_8)))).isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -0,0 +1,62 @@
+package io.avaje.jsonb.core;
+
+import io.avaje.jsonb.Jsonb;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ObjectJsonAdapterTest {
+
+  private final Jsonb jsonb = Jsonb.builder().build();
+
+  @Test
+  void toJson_heterogeneous() {
+    Map<String, Object> nested = new TreeMap<>();
+    nested.put("b", 2L);
+    nested.put("a", "x");
+
+    List<Object> values = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      values.add("s" + i);
+      values.add(i);
+      values.add(new BigDecimal("1.5"));
+      values.add(true);
+      values.add(nested);
+      values.add(new LinkedHashSet<>(List.of(1, 2)));
+      values.add(Optional.of("o"));
+      values.add(new Object());
+    }
+    String expected = "\"s%d\",%d,1.5,true,{\"a\":\"x\",\"b\":2},[1,2],\"o\",{}";
+    StringBuilder sb = new StringBuilder("[");
+    for (int i = 0; i < 3; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(String.format(expected, i, i));
+    }
+    sb.append(']');
+
+    // repeated such that the cached adapters are used
+    assertThat(jsonb.toJson(values)).isEqualTo(sb.toString());
+    assertThat(jsonb.toJson(values)).isEqualTo(sb.toString());
+  }
+
+  @Test
+  void toJson_mapSubtypes() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("tree", new TreeMap<>(Map.of("k", 1)));
+    map.put("list", List.of("a"));
+    map.put("empty", Optional.empty());
+    map.put("nested", List.of(List.of(1), List.of(2)));
+    assertThat(jsonb.toJson(map)).isEqualTo("{\"tree\":{\"k\":1},\"list\":[\"a\"],\"nested\":[[1],[2]]}");
+  }
+}
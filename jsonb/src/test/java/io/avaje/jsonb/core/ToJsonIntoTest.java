@@ -0,0 +1,137 @@
+package io.avaje.jsonb.core;
+
+import io.avaje.json.JsonWriter;
+import io.avaje.json.stream.JsonOutput;
+import io.avaje.jsonb.JsonType;
+import io.avaje.jsonb.JsonView;
+import io.avaje.jsonb.Jsonb;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ToJsonIntoTest {
+
+  private final Jsonb jsonb = Jsonb.builder().build();
+  private final JsonType<Object> type = jsonb.type(Object.class);
+
+  private Map<String, Object> value() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("id", 42);
+    map.put("name", "hello");
+    return map;
+  }
+
+  private static final String JSON = "{\"id\":42,\"name\":\"hello\"}";
+
+  @Test
+  void toJson_array_withOffset() {
+    byte[] dest = new byte[100];
+    dest[0] = 'X';
+    int length = type.toJson(value(), dest, 1);
+
+    assertThat(length).isEqualTo(JSON.length());
+    assertThat(new String(dest, 1, length, StandardCharsets.UTF_8)).isEqualTo(JSON);
+    assertThat(dest[0]).isEqualTo((byte) 'X');
+  }
+
+  @Test
+  void toJson_array_overflow() {
+    byte[] dest = new byte[10];
+    int length = type.toJson(value(), dest, 2);
+    assertThat(length).isEqualTo(-JSON.length());
+
+    // retry with the required size
+    byte[] larger = new byte[2 - length];
+    assertThat(type.toJson(value(), larger, 2)).isEqualTo(JSON.length());
+    assertThat(new String(larger, 2, JSON.length(), StandardCharsets.UTF_8)).isEqualTo(JSON);
+
+    // generator buffer is restored after writing into the array
+    assertThat(type.toJson(value())).isEqualTo(JSON);
+  }
+
+  @Test
+  void toJson_heapByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocate(100);
+    buffer.put((byte) 'X');
+    assertThat(type.toJson(value(), buffer)).isEqualTo(JSON.length());
+    assertThat(buffer.position()).isEqualTo(1 + JSON.length());
+    assertThat(new String(buffer.array(), 1, JSON.length(), StandardCharsets.UTF_8)).isEqualTo(JSON);
+  }
+
+  @Test
+  void toJson_directByteBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(100);
+    assertThat(type.toJson(value(), buffer)).isEqualTo(JSON.length());
+    buffer.flip();
+    byte[] content = new byte[buffer.remaining()];
+    buffer.get(content);
+    assertThat(new String(content, StandardCharsets.UTF_8)).isEqualTo(JSON);
+  }
+
+  @Test
+  void toJson_byteBuffer_overflow() {
+    ByteBuffer buffer = ByteBuffer.allocate(100).limit(10);
+    assertThat(type.toJson(value(), buffer)).isEqualTo(-JSON.length());
+    assertThat(buffer.position()).isZero();
+  }
+
+  /**
+   * A view implementing only the abstract methods.
+   */
+  private final class WriteOnlyView implements JsonView<Object> {
+
+    @Override
+    public String toJson(Object value) {
+      return type.toJson(value);
+    }
+
+    @Override
+    public String toJsonPretty(Object value) {
+      return type.toJsonPretty(value);
+    }
+
+    @Override
+    public byte[] toJsonBytes(Object value) {
+      return type.toJsonBytes(value);
+    }
+
+    @Override
+    public void toJson(Object value, JsonWriter writer) {
+      type.toJson(value, writer);
+    }
+
+    @Override
+    public void toJson(Object value, Writer writer) {
+      type.toJson(value, writer);
+    }
+
+    @Override
+    public void toJson(Object value, OutputStream outputStream) {
+      type.toJson(value, outputStream);
+    }
+
+    @Override
+    public void toJson(Object value, JsonOutput output) {
+      type.toJson(value, output);
+    }
+  }
+
+  @Test
+  void jsonView_defaultMethods() {
+    JsonView<Object> view = new WriteOnlyView();
+    byte[] dest = new byte[100];
+    assertThat(view.toJson(value(), dest, 1)).isEqualTo(JSON.length());
+    assertThat(new String(dest, 1, JSON.length(), StandardCharsets.UTF_8)).isEqualTo(JSON);
+    assertThat(view.toJson(value(), new byte[10], 2)).isEqualTo(-JSON.length());
+
+    ByteBuffer buffer = ByteBuffer.allocate(100);
+    assertThat(view.toJson(value(), buffer)).isEqualTo(JSON.length());
+  }
+}
@@ -0,0 +1,51 @@
+package io.avaje.jsonb.core;
+
+import io.avaje.jsonb.JsonType;
+import io.avaje.jsonb.Jsonb;
+import io.avaje.jsonb.Types;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeCacheTest {
+
+  private final Jsonb jsonb = Jsonb.builder().build();
+
+  @SuppressWarnings("unused")
+  private List<String> listOfString;
+  @SuppressWarnings("unused")
+  private Map<String, Long> mapOfLong;
+
+  private Type fieldType(String name) throws NoSuchFieldException {
+    return TypeCacheTest.class.getDeclaredField(name).getGenericType();
+  }
+
+  @Test
+  void parameterizedType_hashMatchesReflection() throws Exception {
+    Type reflected = fieldType("listOfString");
+    Type canonical = Types.listOf(String.class);
+    assertThat(canonical.hashCode()).isEqualTo(reflected.hashCode());
+    assertThat(canonical).isEqualTo(reflected);
+    assertThat(Types.mapOf(Long.class)).isEqualTo(fieldType("mapOfLong"));
+    assertThat(Types.mapOf(Long.class)).isNotEqualTo(canonical);
+  }
+
+  @Test
+  void type_sharedForEqualTypes() throws Exception {
+    JsonType<Object> fromTypes = jsonb.type(Types.listOf(String.class));
+    JsonType<Object> fromReflection = jsonb.type(fieldType("listOfString"));
+    assertThat(fromReflection).isSameAs(fromTypes);
+    assertThat(jsonb.type(Types.listOf(String.class))).isSameAs(fromTypes);
+  }
+
+  @Test
+  void adapter_sharedForEqualTypes() throws Exception {
+    assertThat(jsonb.adapter(fieldType("mapOfLong"))).isSameAs(jsonb.adapter(Types.mapOf(Long.class)));
+    assertThat(jsonb.adapter(String[].class)).isSameAs(jsonb.adapter(String[].class));
+    assertThat(jsonb.adapter(String.class)).isSameAs(jsonb.adapter((Type) String.class));
+  }
+}
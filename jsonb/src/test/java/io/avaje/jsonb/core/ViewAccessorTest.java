@@ -0,0 +1,90 @@
+package io.avaje.jsonb.core;
+
+import io.avaje.json.JsonException;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ViewAccessorTest {
+
+  public static class Bean {
+    int count = 42;
+    public String name() {
+      return "foo";
+    }
+    public int count() {
+      return count;
+    }
+    public String fail() {
+      throw new IllegalStateException("fail");
+    }
+  }
+
+  @Test
+  void compile_method() throws Exception {
+    var lookup = MethodHandles.lookup();
+    MethodHandle handle = lookup.findVirtual(Bean.class, "name", MethodType.methodType(String.class));
+    Function<Object, Object> accessor = ViewAccessor.compile(lookup, handle);
+    assertThat(accessor.apply(new Bean())).isEqualTo("foo");
+  }
+
+  @Test
+  void compile_method_invokesGetterDirectly() throws Exception {
+    var lookup = MethodHandles.lookup();
+    MethodHandle handle = lookup.findVirtual(Bean.class, "fail", MethodType.methodType(String.class));
+    Function<Object, Object> accessor = ViewAccessor.compile(lookup, handle);
+    // the exception is not wrapped as it is with the MethodHandle fallback
+    assertThatThrownBy(() -> accessor.apply(new Bean()))
+      .isExactlyInstanceOf(IllegalStateException.class)
+      .hasMessage("fail");
+  }
+
+  @Test
+  void compile_notDirect_fallsBackToHandle() throws Exception {
+    var lookup = MethodHandles.lookup();
+    MethodHandle handle = lookup.findVirtual(Bean.class, "fail", MethodType.methodType(String.class))
+      .asType(MethodType.methodType(Object.class, Bean.class));
+    Function<Object, Object> accessor = ViewAccessor.compile(lookup, handle);
+    assertThatThrownBy(() -> accessor.apply(new Bean()))
+      .isInstanceOf(JsonException.class)
+      .hasCauseInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void compile_primitiveReturn() throws Exception {
+    var lookup = MethodHandles.lookup();
+    MethodHandle handle = lookup.findVirtual(Bean.class, "count", MethodType.methodType(int.class));
+    Function<Object, Object> accessor = ViewAccessor.compile(lookup, handle);
+    assertThat(accessor.apply(new Bean())).isEqualTo(42);
+  }
+
+  @Test
+  void compile_field_fallsBackToHandle() throws Exception {
+    var lookup = MethodHandles.lookup();
+    MethodHandle handle = lookup.findGetter(Bean.class, "count", int.class);
+    Function<Object, Object> accessor = ViewAccessor.compile(lookup, handle);
+    assertThat(accessor.apply(new Bean())).isEqualTo(42);
+    Bean bean = new Bean();
+    bean.count = 7;
+    assertThat(accessor.apply(bean)).isEqualTo(7);
+  }
+
+  @Test
+  void method_compiledOncePerClassAndMethod() throws Exception {
+    var lookup = MethodHandles.lookup();
+    MethodHandle handle = lookup.findVirtual(Bean.class, "name", MethodType.methodType(String.class));
+    Function<Object, Object> accessor = ViewAccessor.method(lookup, Bean.class, "name", handle);
+    assertThat(accessor.apply(new Bean())).isEqualTo("foo");
+
+    MethodHandle other = lookup.findVirtual(Bean.class, "name", MethodType.methodType(String.class));
+    assertThat(ViewAccessor.method(lookup, Bean.class, "name", other)).isSameAs(accessor);
+    assertThat(ViewAccessor.method(lookup, Bean.class, "count", lookup.findVirtual(Bean.class, "count", MethodType.methodType(int.class))))
+      .isNotSameAs(accessor);
+  }
+}
@@ -0,0 +1,99 @@
+package io.avaje.jsonb.core;
+
+import io.avaje.json.view.ViewBuilderAware;
+import io.avaje.jsonb.JsonView;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ViewCacheTest {
+
+  private final AtomicInteger builds = new AtomicInteger();
+
+  private JsonView<?> build(DJsonb.ViewKey key) {
+    builds.incrementAndGet();
+    return (JsonView<?>) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{JsonView.class}, (proxy, method, args) -> null);
+  }
+
+  private static DJsonb.ViewKey key(String dsl) {
+    return new DJsonb.ViewKey(dsl, String.class);
+  }
+
+  @Test
+  void hitAndMiss() {
+    ViewCache cache = new ViewCache(10);
+    JsonView<?> v0 = cache.get(key("id,name"), this::build);
+    JsonView<?> v1 = cache.get(key("id,name"), this::build);
+
+    assertThat(v1).isSameAs(v0);
+    assertThat(builds.get()).isEqualTo(1);
+    assertThat(cache.hitCount()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(1);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void evictsNotRecentlyUsed() {
+    ViewCache cache = new ViewCache(2);
+    JsonView<?> a = cache.get(key("a"), this::build);
+    cache.get(key("b"), this::build);
+    // reference a such that b is evicted
+    assertThat(cache.get(key("a"), this::build)).isSameAs(a);
+    cache.get(key("c"), this::build);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.evictionCount()).isEqualTo(1);
+    assertThat(cache.get(key("a"), this::build)).isSameAs(a);
+    assertThat(builds.get()).isEqualTo(3);
+
+    // b was evicted so is built again
+    cache.get(key("b"), this::build);
+    assertThat(builds.get()).isEqualTo(4);
+  }
+
+  @Test
+  void nestedBuild_usesCache() {
+    ViewCache cache = new ViewCache(10);
+    // like a generated view adapter building the view of a nested type
+    JsonView<?> outer = cache.get(key("id,address(city)"), k -> {
+      cache.get(key("city"), this::build);
+      return build(k);
+    });
+
+    assertThat(cache.get(key("id,address(city)"), this::build)).isSameAs(outer);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(builds.get()).isEqualTo(2);
+  }
+
+  @Test
+  void evicts_manyMisses() {
+    ViewCache cache = new ViewCache(100);
+    JsonView<?> hot = cache.get(key("hot"), this::build);
+    for (int i = 0; i < 10_000; i++) {
+      cache.get(key("k" + i), this::build);
+      assertThat(cache.get(key("hot"), this::build)).isSameAs(hot);
+    }
+    assertThat(cache.size()).isEqualTo(100);
+    assertThat(cache.evictionCount()).isEqualTo(10_001 - 100);
+    assertThat(builds.get()).isEqualTo(10_001);
+  }
+
+  @Test
+  void zeroSize_noCaching() {
+    ViewCache cache = new ViewCache(0);
+    cache.get(key("a"), this::build);
+    cache.get(key("a"), this::build);
+    assertThat(builds.get()).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  void normalise() {
+    assertThat(ViewBuilderAware.normalise("(id, name, address( city ))")).isEqualTo("id,name,address(city)");
+    assertThat(ViewBuilderAware.normalise("id,name")).isEqualTo("id,name");
+    assertThat(ViewBuilderAware.normalise(" ( * ) ")).isEqualTo("*");
+  }
+}